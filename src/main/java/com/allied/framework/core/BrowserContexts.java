@@ -0,0 +1,434 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.edge.EdgeOptions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Isolated sessions as CDP browser contexts inside a few shared Chrome/Edge processes.
+ *
+ * <p>Each local session normally owns a whole browser (150-300 MB RSS). With
+ * BROWSER_ISOLATION=context, DriverFactory keeps up to BROWSER_CONTEXT_HOSTS "host" browsers
+ * per DriverConfig running and gives every session its own browser context instead - an
+ * incognito-like profile with separate cookies, storage and cache, created with
+ * {@code Target.createBrowserContext}:</p>
+ * <ol>
+ *   <li>the host with the fewest open contexts is picked (a new host is launched while there
+ *       are fewer than BROWSER_CONTEXT_HOSTS and all of them are in use)</li>
+ *   <li>a context and a window in it are created through the host's CDP connection</li>
+ *   <li>a new WebDriver session is attached to the host browser ({@code debuggerAddress})
+ *       and switched to that window, so each test has its own session and current window and
+ *       tests can run concurrently</li>
+ *   <li>on quit the attached session is ended (which leaves the host running) and the context
+ *       is disposed, closing all of its windows</li>
+ * </ol>
+ *
+ * <p>Attached sessions are opened against a shared driver service (see {@link DriverServices}),
+ * whatever DRIVER_SERVICE_SCOPE is. Hosts are quit at JVM shutdown; a host that stops answering
+ * is replaced.</p>
+ *
+ * <p><b>Limitations:</b> all sessions of a host see each other's windows in
+ * {@code getWindowHandles()}, so tests must switch windows by handles they opened themselves.
+ * Code that tidies up a reused session closes windows through
+ * {@link #closeOtherWindows(WebDriver, String)}, which leaves other contexts' windows open.
+ * Browser-wide state (downloads directory, permissions granted via CDP, extensions) is shared.
+ * Remote sessions and Firefox always use one browser per session.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>BROWSER_ISOLATION = "process" | "context" (default: "process", one browser per session)</li>
+ *   <li>BROWSER_CONTEXT_HOSTS = integer - host browsers per DriverConfig (default: 2)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * // BROWSER_ISOLATION=context BROWSER_CONTEXT_HOSTS=2
+ * WebDriver driver = DriverFactory.createDriver();   // a fresh context in a running Chrome
+ * driver.get(OrangeHrmLogin.URL);
+ * DriverFactory.quitCurrent();                       // disposes the context, Chrome keeps running
+ * }</pre>
+ *
+ * @see DriverFactory
+ */
+public class BrowserContexts {
+    private static final org.slf4j.Logger logger = Logger.getLogger(BrowserContexts.class);
+
+    /** Supported values of BROWSER_ISOLATION. */
+    public static final List<String> ISOLATIONS = List.of("process", "context");
+
+    /** Running host browsers per config. */
+    private static final Map<DriverConfig, List<Host>> HOSTS = new ConcurrentHashMap<>();
+
+    /** Host launches in progress per config, guarded by the HOSTS monitor. */
+    private static final Map<DriverConfig, Integer> LAUNCHING = new HashMap<>();
+
+    /** Context owned by each attached session. */
+    private static final Map<WebDriver, Context> CONTEXTS = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the configured isolation mode (BROWSER_ISOLATION).
+     *
+     * @return "process" or "context"
+     */
+    public static String getIsolation() {
+        String isolation = OptionalEnv.get("BROWSER_ISOLATION", "process").trim().toLowerCase();
+        if (!ISOLATIONS.contains(isolation)) {
+            logger.warn("Unsupported BROWSER_ISOLATION='{}'; falling back to 'process'.", isolation);
+            return "process";
+        }
+        return isolation;
+    }
+
+    /**
+     * Checks whether sessions for a config are created as browser contexts.
+     *
+     * @param config The driver configuration
+     * @return true for local Chrome/Edge with BROWSER_ISOLATION=context
+     */
+    public static boolean isEnabled(DriverConfig config) {
+        boolean remote = config.getRemoteUrl() != null && !config.getRemoteUrl().trim().isEmpty();
+        boolean chromium = config.getBrowser().equals("chrome") || config.getBrowser().equals("edge");
+        return !remote && chromium && getIsolation().equals("context");
+    }
+
+    /**
+     * Gets the number of host browsers kept per config (BROWSER_CONTEXT_HOSTS).
+     *
+     * @return At least 1
+     */
+    public static int getHostCount() {
+        return Math.max(1, DriverFactory.envInt("BROWSER_CONTEXT_HOSTS", 2));
+    }
+
+    /**
+     * Opens a session in a new browser context of a host browser.
+     *
+     * @param config The driver configuration (must be local Chrome/Edge)
+     * @param timing Receives the host launch as the service phase and the context/attach
+     *               as the session phase
+     * @return A session switched to the context's window
+     */
+    static WebDriver newSession(DriverConfig config, DriverMetrics.Timing timing) {
+        Host host = timing.time("service", () -> acquireHost(config));
+        try {
+            return timing.time("session", () -> open(config, host));
+        } catch (WebDriverException e) {
+            // The host may have died; replace it once
+            if (!host.isAlive()) {
+                logger.warn("Host browser {} stopped answering; launching a new one", host);
+                removeHost(config, host);
+                Host replacement = timing.time("service", () -> acquireHost(config));
+                return timing.time("session", () -> open(config, replacement));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Disposes the context of an attached session (called when the driver is quit).
+     *
+     * @param driver The driver that was quit
+     */
+    public static void release(WebDriver driver) {
+        Context context = CONTEXTS.remove(driver);
+        if (context != null) {
+            context.host.dispose(context.browserContextId);
+        }
+    }
+
+    /**
+     * Closes the windows a session opened besides its home window and switches back to it.
+     *
+     * <p>Only windows in the home window's browser context are closed. For an attached session
+     * the windows of other sessions on the same host, and the host's own window, are left open;
+     * a session with its own browser has a single context, so every other window is closed. If
+     * the contexts cannot be read over CDP, an attached session closes nothing and any other
+     * session closes every other window.</p>
+     *
+     * @param driver The session
+     * @param home   The handle to keep, or null for the context's first window of an attached
+     *               session and the first handle otherwise
+     */
+    public static void closeOtherWindows(WebDriver driver, String home) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        Context context = CONTEXTS.get(driver);
+        String keep = home != null ? home : context != null ? context.home : handles.get(0);
+        Set<String> own = ownHandles(driver, context, handles, keep);
+        for (String handle : handles) {
+            if (!handle.equals(keep) && own.contains(handle)) {
+                driver.switchTo().window(handle).close();
+            }
+        }
+        driver.switchTo().window(keep);
+    }
+
+    /**
+     * Gets the handles that are in the same browser context as {@code home}.
+     */
+    @SuppressWarnings("unchecked")
+    private static Set<String> ownHandles(WebDriver driver, Context context, List<String> handles, String home) {
+        try {
+            Map<String, Object> result;
+            if (context != null) {
+                result = context.host.cdp("Target.getTargets", Map.of());
+            } else if (driver instanceof HasCdp) {
+                result = ((HasCdp) driver).executeCdpCommand("Target.getTargets", Map.of());
+            } else {
+                return new HashSet<>(handles);
+            }
+            Map<String, String> targets = new HashMap<>();
+            for (Map<String, Object> info : (List<Map<String, Object>>) result.get("targetInfos")) {
+                targets.put((String) info.get("targetId"), (String) info.get("browserContextId"));
+            }
+            String homeContext = contextOf(targets, home);
+            if (homeContext == null) {
+                throw new WebDriverException("Window " + home + " is not a CDP target");
+            }
+            Set<String> own = new HashSet<>();
+            for (String handle : handles) {
+                if (homeContext.equals(contextOf(targets, handle))) {
+                    own.add(handle);
+                }
+            }
+            return own;
+        } catch (RuntimeException e) {
+            logger.debug("Could not read the browser contexts of {}: {}", driver, e.getMessage());
+            return context != null ? Set.of(home) : new HashSet<>(handles);
+        }
+    }
+
+    /**
+     * Looks up the browser context of a window; chromedriver uses target ids as window handles.
+     */
+    private static String contextOf(Map<String, String> targets, String handle) {
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            if (handle.equals(target.getKey()) || handle.endsWith(target.getKey())) {
+                return target.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quits every host browser. Called by DriverFactory's shutdown hook.
+     */
+    static void shutdown() {
+        List<Host> hosts = new ArrayList<>();
+        HOSTS.values().forEach(hosts::addAll);
+        HOSTS.clear();
+        if (!hosts.isEmpty()) {
+            logger.info("Quitting {} browser context host(s)", hosts.size());
+        }
+        hosts.forEach(host -> DriverFactory.quit(host.driver));
+    }
+
+    private static WebDriver open(DriverConfig config, Host host) {
+        String browserContextId = null;
+        try {
+            browserContextId = host.createContext();
+            String targetId = host.createWindow(browserContextId);
+
+            ChromiumOptions<?> attach = config.getBrowser().equals("edge") ? new EdgeOptions() : new ChromeOptions();
+            attach.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+            attach.setPageLoadStrategy(PageLoadStrategy.fromString(config.getPageLoadStrategy()));
+            WebDriver driver = DriverServices.newSession(config.getBrowser(), attach);
+            try {
+                switchToTarget(driver, targetId);
+            } catch (RuntimeException e) {
+                driver.quit();
+                throw e;
+            }
+            CONTEXTS.put(driver, new Context(host, browserContextId, driver.getWindowHandle()));
+            logger.debug("Opened browser context {} in {}", browserContextId, host);
+            return driver;
+        } catch (RuntimeException e) {
+            host.dispose(browserContextId);
+            throw e;
+        }
+    }
+
+    /**
+     * Switches to the window of a CDP target; chromedriver uses target ids as window handles.
+     */
+    private static void switchToTarget(WebDriver driver, String targetId) {
+        try {
+            driver.switchTo().window(targetId);
+        } catch (NoSuchWindowException e) {
+            for (String handle : driver.getWindowHandles()) {
+                if (handle.endsWith(targetId)) {
+                    driver.switchTo().window(handle);
+                    return;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Picks the least busy host for a config, launching one if all are in use and the host
+     * limit has not been reached.
+     *
+     * <p>A launch reserves its slot under the lock but starts the browser outside it, so
+     * sessions on running hosts are not blocked while a host starts. Threads that find no host
+     * and every slot reserved wait for a launch to finish.</p>
+     */
+    private static Host acquireHost(DriverConfig config) {
+        synchronized (HOSTS) {
+            while (true) {
+                List<Host> hosts = HOSTS.computeIfAbsent(config, c -> new ArrayList<>());
+                Host host = hosts.stream().min(Comparator.comparingInt(h -> h.contexts.get())).orElse(null);
+                boolean full = hosts.size() + LAUNCHING.getOrDefault(config, 0) >= getHostCount();
+                if (host != null && (host.contexts.get() == 0 || full)) {
+                    host.contexts.incrementAndGet();
+                    return host;
+                }
+                if (!full) {
+                    LAUNCHING.merge(config, 1, Integer::sum);
+                    break;
+                }
+                try {
+                    HOSTS.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a browser context host", e);
+                }
+            }
+        }
+
+        Host launched = null;
+        try {
+            launched = launchHost(config);
+        } finally {
+            synchronized (HOSTS) {
+                LAUNCHING.merge(config, -1, Integer::sum);
+                if (launched != null) {
+                    HOSTS.computeIfAbsent(config, c -> new ArrayList<>()).add(launched);
+                    launched.contexts.incrementAndGet();
+                }
+                HOSTS.notifyAll();
+            }
+        }
+        return launched;
+    }
+
+    private static void removeHost(DriverConfig config, Host host) {
+        synchronized (HOSTS) {
+            List<Host> hosts = HOSTS.get(config);
+            if (hosts != null) {
+                hosts.remove(host);
+            }
+        }
+        DriverFactory.quit(host.driver);
+    }
+
+    private static Host launchHost(DriverConfig config) {
+        WebDriver driver = DriverFactory.createLocalDriver(config, DriverMetrics.untimed());
+        DriverReaper.track(driver);
+        String vendor = config.getBrowser().equals("edge") ? "ms:edgeOptions" : "goog:chromeOptions";
+        Object options = ((HasCapabilities) driver).getCapabilities().getCapability(vendor);
+        Object address = options instanceof Map ? ((Map<?, ?>) options).get("debuggerAddress") : null;
+        if (address == null) {
+            DriverFactory.quit(driver);
+            throw new WebDriverException("Host browser did not report a debuggerAddress in " + vendor);
+        }
+        Host host = new Host(driver, address.toString());
+        logger.info("Launched browser context host {}", host);
+        return host;
+    }
+
+    /**
+     * A running browser that hosts contexts.
+     */
+    private static final class Host {
+        private final WebDriver driver;
+        private final String debuggerAddress;
+        private final AtomicInteger contexts = new AtomicInteger();
+
+        private Host(WebDriver driver, String debuggerAddress) {
+            this.driver = driver;
+            this.debuggerAddress = debuggerAddress;
+        }
+
+        private String createContext() {
+            return (String) cdp("Target.createBrowserContext", Map.of("disposeOnDetach", false))
+                    .get("browserContextId");
+        }
+
+        private String createWindow(String browserContextId) {
+            return (String) cdp("Target.createTarget", Map.of(
+                    "url", "about:blank",
+                    "browserContextId", browserContextId,
+                    "newWindow", true)).get("targetId");
+        }
+
+        /**
+         * Frees a context slot and disposes the context, if it was created.
+         */
+        private void dispose(String browserContextId) {
+            contexts.decrementAndGet();
+            if (browserContextId == null) {
+                return;
+            }
+            try {
+                cdp("Target.disposeBrowserContext", Map.of("browserContextId", browserContextId));
+            } catch (RuntimeException e) {
+                logger.debug("Could not dispose browser context {}: {}", browserContextId, e.getMessage());
+            }
+        }
+
+        private boolean isAlive() {
+            return DriverRecycler.isAlive(driver);
+        }
+
+        /**
+         * Runs a CDP command on the host session; one command at a time per host.
+         */
+        private synchronized Map<String, Object> cdp(String command, Map<String, Object> parameters) {
+            return ((HasCdp) driver).executeCdpCommand(command, parameters);
+        }
+
+        @Override
+        public String toString() {
+            return "Host{" +
+                    "debuggerAddress='" + debuggerAddress + '\'' +
+                    ", contexts=" + contexts.get() +
+                    '}';
+        }
+    }
+
+    /**
+     * The context owned by one attached session and the window it was opened on.
+     */
+    private static final class Context {
+        private final Host host;
+        private final String browserContextId;
+        private final String home;
+
+        private Context(Host host, String browserContextId, String home) {
+            this.host = host;
+            this.browserContextId = browserContextId;
+            this.home = home;
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private BrowserContexts() {
+        throw new AssertionError("BrowserContexts should not be instantiated");
+    }
+}
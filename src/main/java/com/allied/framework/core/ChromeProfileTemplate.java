@@ -0,0 +1,200 @@
+package com.allied.framework.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Helpers for pre-seeded Chrome/Edge user-data-dir templates.
+ *
+ * <p>A fresh profile makes Chrome create its profile database, run first-run work and fetch
+ * the application's JS/CSS bundles with a cold HTTP cache. A template is a user-data-dir that
+ * was populated once by a warm-up run (see {@link DriverFactory#buildProfileTemplate}); every
+ * session then starts from a private clone of it, which is deleted when the driver is quit.</p>
+ *
+ * <p><b>Cloning:</b> on Linux the template is cloned with {@code cp -a --reflink=auto}, which
+ * makes a copy-on-write clone on filesystems that support it and a plain copy otherwise.
+ * Clones go to {@code /dev/shm} (tmpfs) when it is available, so a plain copy is a memory copy.
+ * Files are never hard-linked: Chrome updates its SQLite databases in place, which would
+ * write through to the shared template.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>CHROME_PROFILE_TEMPLATE = path - template user-data-dir (default: none, fresh profiles)</li>
+ *   <li>CHROME_PROFILE_CLONE_DIR = path - where per-session clones are created
+ *       (default: /dev/shm if writable, else java.io.tmpdir)</li>
+ * </ul>
+ *
+ * @see DriverConfig#getProfileTemplateDir()
+ * @see DriverFactory
+ */
+public class ChromeProfileTemplate {
+    private static final org.slf4j.Logger logger = Logger.getLogger(ChromeProfileTemplate.class);
+
+    /** Written by Chrome when a user-data-dir has been initialised. */
+    private static final String LOCAL_STATE = "Local State";
+
+    /** Per-process lock files that must not be copied into a clone. */
+    private static final String[] LOCK_FILES = {"SingletonLock", "SingletonCookie", "SingletonSocket", "lockfile"};
+
+    /**
+     * Checks whether a template directory has been built.
+     *
+     * @param template The template directory
+     * @return true if the directory holds an initialised user-data-dir
+     */
+    public static boolean isBuilt(Path template) {
+        return Files.isRegularFile(template.resolve(LOCAL_STATE));
+    }
+
+    /**
+     * Clones a template into a new private user-data-dir.
+     *
+     * @param template The template directory
+     * @return The clone, or null if the template has not been built yet
+     * @throws UncheckedIOException if the clone cannot be created
+     */
+    public static Path cloneForSession(Path template) {
+        if (!isBuilt(template)) {
+            logger.warn("Chrome profile template {} has not been built; using a fresh profile", template);
+            return null;
+        }
+        try {
+            Path clone = Files.createTempDirectory(cloneBaseDir(), "chrome-profile-");
+            long start = System.nanoTime();
+            if (!reflinkCopy(template, clone)) {
+                copyTree(template, clone);
+            }
+            removeLocks(clone);
+            logger.debug("Cloned Chrome profile template to {} in {} ms",
+                    clone, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return clone;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clone Chrome profile template " + template, e);
+        }
+    }
+
+    /**
+     * Publishes a freshly built profile as the template.
+     *
+     * <p>The staging directory is moved into place atomically, so concurrent builders (e.g.
+     * several surefire forks) cannot leave a half-written template behind. If another builder
+     * won the race, the staging directory is discarded.</p>
+     *
+     * @param staging  The directory the warm-up browser used as its user-data-dir
+     * @param template The final template directory
+     */
+    public static void publish(Path staging, Path template) {
+        removeLocks(staging);
+        try {
+            Files.move(staging, template, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Chrome profile template ready at {}", template);
+        } catch (FileAlreadyExistsException e) {
+            logger.info("Chrome profile template {} was built concurrently; discarding {}", template, staging);
+            delete(staging);
+        } catch (AtomicMoveNotSupportedException e) {
+            throw new IllegalStateException("Template " + template + " must be on the same filesystem as " + staging, e);
+        } catch (IOException e) {
+            delete(staging);
+            if (isBuilt(template)) {
+                return;
+            }
+            throw new UncheckedIOException("Could not publish Chrome profile template " + template, e);
+        }
+    }
+
+    /**
+     * Deletes a per-session clone (best effort).
+     *
+     * @param dir The directory to delete
+     */
+    public static void delete(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException e) {
+            logger.debug("Could not delete {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the directory per-session clones are created in.
+     *
+     * @return CHROME_PROFILE_CLONE_DIR, /dev/shm, or java.io.tmpdir
+     * @throws IOException if the configured directory cannot be created
+     */
+    private static Path cloneBaseDir() throws IOException {
+        String configured = OptionalEnv.get("CHROME_PROFILE_CLONE_DIR", null);
+        if (configured != null) {
+            return Files.createDirectories(Paths.get(configured.trim()));
+        }
+        Path shm = Paths.get("/dev/shm");
+        if (Files.isDirectory(shm) && Files.isWritable(shm)) {
+            return shm;
+        }
+        return Paths.get(System.getProperty("java.io.tmpdir"));
+    }
+
+    /**
+     * Clones with {@code cp -a --reflink=auto} (Linux only).
+     *
+     * @return true if cp succeeded
+     */
+    private static boolean reflinkCopy(Path source, Path target) {
+        if (!System.getProperty("os.name").toLowerCase().contains("linux")) {
+            return false;
+        }
+        try {
+            Process process = new ProcessBuilder("cp", "-a", "--reflink=auto",
+                    source.toAbsolutePath() + "/.", target.toAbsolutePath().toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            return process.waitFor() == 0;
+        } catch (IOException e) {
+            logger.debug("cp --reflink not available: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void copyTree(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Path dest = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(dest);
+                } else if (!Files.isSymbolicLink(path)) {
+                    Files.copy(path, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+            }
+        }
+    }
+
+    private static void removeLocks(Path dir) {
+        for (String name : LOCK_FILES) {
+            try {
+                Files.deleteIfExists(dir.resolve(name));
+            } catch (IOException e) {
+                logger.debug("Could not remove {}: {}", dir.resolve(name), e.getMessage());
+            }
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ChromeProfileTemplate() {
+        throw new AssertionError("ChromeProfileTemplate should not be instantiated");
+    }
+}
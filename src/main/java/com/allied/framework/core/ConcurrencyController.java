@@ -0,0 +1,286 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive limit on the number of browsers running at the same time.
+ *
+ * <p>A fixed TestNG thread-count either leaves cores idle on large runners or makes small ones
+ * thrash once the browsers no longer fit into memory. With CONCURRENCY_CONTROL enabled every
+ * {@code DriverFactory.createDriver} call first takes a permit; the permit is returned when the
+ * driver has been quit. The number of permits is adjusted AIMD-style every
+ * CONCURRENCY_SAMPLE_SECONDS from host statistics in {@code /proc} (see {@link ProcessStats}):</p>
+ * <ul>
+ *   <li>decrease (halve, not below CONCURRENCY_MIN) when MemAvailable drops below
+ *       CONCURRENCY_MIN_FREE_MB, or when the one-minute load average per core exceeds
+ *       CONCURRENCY_MAX_LOAD (at most once per CONCURRENCY_COOLDOWN_SECONDS, since the load
+ *       average lags)</li>
+ *   <li>increase (by one, not above CONCURRENCY_MAX) when all permits are in use and there is
+ *       room for one more browser - estimated from the measured resident memory of the running
+ *       browsers - on top of the reserve</li>
+ *   <li>hold otherwise</li>
+ * </ul>
+ *
+ * <p>Every change is logged with its reason, and {@link #getLimit()} / {@link #getReason()}
+ * expose the current state. Without {@code /proc} the limit stays at its initial value.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>CONCURRENCY_CONTROL = "true" | "false" (default: "false")</li>
+ *   <li>CONCURRENCY_MIN = integer - floor (default: 1)</li>
+ *   <li>CONCURRENCY_MAX = integer - ceiling (default: number of cores)</li>
+ *   <li>CONCURRENCY_INITIAL = integer - starting limit (default: half the ceiling)</li>
+ *   <li>CONCURRENCY_MAX_LOAD = decimal - load average per core to stay below (default: 1.0)</li>
+ *   <li>CONCURRENCY_MIN_FREE_MB = integer - memory kept free for the OS and JVM (default: 1024)</li>
+ *   <li>CONCURRENCY_SESSION_MB = integer - assumed memory per browser until one has been
+ *       measured (default: 400)</li>
+ *   <li>CONCURRENCY_SAMPLE_SECONDS = integer (default: 2)</li>
+ *   <li>CONCURRENCY_COOLDOWN_SECONDS = integer (default: 30)</li>
+ *   <li>CONCURRENCY_WAIT_TIMEOUT = integer seconds a test waits for a permit before it starts
+ *       its browser anyway (default: 600)</li>
+ * </ul>
+ *
+ * <p>Set the TestNG thread-count to CONCURRENCY_MAX; threads beyond the current limit wait in
+ * {@code createDriver}.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * // CONCURRENCY_CONTROL=true CONCURRENCY_MIN=2 CONCURRENCY_MAX=16
+ * WebDriver driver = DriverFactory.createDriver();   // waits for a permit
+ * logger.info("{} browsers allowed: {}", ConcurrencyController.getLimit(), ConcurrencyController.getReason());
+ * DriverFactory.quitCurrent();                       // returns the permit
+ * }</pre>
+ *
+ * @see DriverFactory#createDriver(DriverConfig)
+ */
+public class ConcurrencyController {
+    private static final org.slf4j.Logger logger = Logger.getLogger(ConcurrencyController.class);
+
+    private static final Object LOCK = new Object();
+
+    /** Drivers currently holding a permit. */
+    private static final Set<WebDriver> HOLDERS = ConcurrentHashMap.newKeySet();
+
+    private static int limit;
+    private static int inUse;
+    private static int waiting;
+    private static String reason = "not started";
+    private static long lastDecrease;
+    private static boolean started;
+
+    /**
+     * Checks whether adaptive concurrency control is enabled (CONCURRENCY_CONTROL).
+     *
+     * @return true if browser launches are gated by the controller
+     */
+    public static boolean isEnabled() {
+        return DriverFactory.envBool("CONCURRENCY_CONTROL", false);
+    }
+
+    /**
+     * Launches a browser once a permit is available.
+     *
+     * <p>The permit is held until {@link #release(WebDriver)} is called for the returned driver.
+     * If no permit frees up within CONCURRENCY_WAIT_TIMEOUT the browser is launched anyway.</p>
+     *
+     * @param launcher Creates the driver
+     * @return The created driver
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public static WebDriver launch(Supplier<WebDriver> launcher) {
+        acquire();
+        try {
+            WebDriver driver = launcher.get();
+            HOLDERS.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            releasePermit();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the permit held by a driver (called once it has been quit).
+     *
+     * @param driver The driver that was quit
+     */
+    public static void release(WebDriver driver) {
+        if (HOLDERS.remove(driver)) {
+            releasePermit();
+        }
+    }
+
+    /**
+     * @return The current number of permits
+     */
+    public static int getLimit() {
+        synchronized (LOCK) {
+            return limit;
+        }
+    }
+
+    /**
+     * @return Why the limit has its current value
+     */
+    public static String getReason() {
+        synchronized (LOCK) {
+            return reason;
+        }
+    }
+
+    /**
+     * @return Number of browsers currently holding a permit
+     */
+    public static int getInUse() {
+        synchronized (LOCK) {
+            return inUse;
+        }
+    }
+
+    private static void acquire() {
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(DriverFactory.envInt("CONCURRENCY_WAIT_TIMEOUT", 600));
+        synchronized (LOCK) {
+            start();
+            long deadline = System.nanoTime() + timeoutNanos;
+            waiting++;
+            try {
+                while (inUse >= limit) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        logger.warn("No browser permit within {} s (limit {}: {}); launching anyway",
+                                TimeUnit.NANOSECONDS.toSeconds(timeoutNanos), limit, reason);
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(LOCK, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a browser permit", e);
+            } finally {
+                waiting--;
+            }
+            inUse++;
+        }
+    }
+
+    private static void releasePermit() {
+        synchronized (LOCK) {
+            inUse = Math.max(0, inUse - 1);
+            LOCK.notifyAll();
+        }
+    }
+
+    /**
+     * Sets the initial limit and starts the sampler, once.
+     */
+    private static void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        int floor = getFloor();
+        int ceiling = getCeiling(floor);
+        limit = clamp(DriverFactory.envInt("CONCURRENCY_INITIAL", Math.max(1, ceiling / 2)), floor, ceiling);
+        if (ProcessStats.isSupported()) {
+            reason = "initial";
+            int period = Math.max(1, DriverFactory.envInt("CONCURRENCY_SAMPLE_SECONDS", 2));
+            ScheduledExecutorService sampler =
+                    Executors.newSingleThreadScheduledExecutor(DriverFactory.daemonThreads("concurrency-sampler"));
+            sampler.scheduleWithFixedDelay(ConcurrencyController::adjust, period, period, TimeUnit.SECONDS);
+        } else {
+            reason = "no /proc statistics; fixed";
+        }
+        logger.info("Concurrency limit {} (floor {}, ceiling {}): {}", limit, floor, ceiling, reason);
+    }
+
+    /**
+     * Samples the host and moves the limit (additive increase, multiplicative decrease).
+     */
+    private static void adjust() {
+        try {
+            double load = ProcessStats.loadAverage();
+            long availableKb = ProcessStats.memAvailableKb();
+            if (load < 0 || availableKb < 0) {
+                return;
+            }
+            int cores = Runtime.getRuntime().availableProcessors();
+            double loadPerCore = load / cores;
+            double maxLoad = DriverFactory.envDouble("CONCURRENCY_MAX_LOAD", 1.0);
+            long reserveKb = DriverFactory.envInt("CONCURRENCY_MIN_FREE_MB", 1024) * 1024L;
+            long cooldownNanos = TimeUnit.SECONDS.toNanos(DriverFactory.envInt("CONCURRENCY_COOLDOWN_SECONDS", 30));
+            int floor = getFloor();
+            int ceiling = getCeiling(floor);
+            long sessionKb = sessionRssKb();
+
+            synchronized (LOCK) {
+                int previous = limit;
+                if (availableKb < reserveKb) {
+                    limit = clamp(limit / 2, floor, ceiling);
+                    reason = String.format("%d MB free < %d MB reserve", availableKb / 1024, reserveKb / 1024);
+                    lastDecrease = System.nanoTime();
+                } else if (loadPerCore > maxLoad) {
+                    if (System.nanoTime() - lastDecrease >= cooldownNanos) {
+                        limit = clamp(limit / 2, floor, ceiling);
+                        reason = String.format("load %.2f per core > %.2f", loadPerCore, maxLoad);
+                        lastDecrease = System.nanoTime();
+                    }
+                } else if (inUse >= limit && limit < ceiling) {
+                    if (availableKb - sessionKb >= reserveKb) {
+                        limit = clamp(limit + 1, floor, ceiling);
+                        reason = String.format("headroom: load %.2f per core, %d MB free, ~%d MB per browser",
+                                loadPerCore, availableKb / 1024, sessionKb / 1024);
+                    } else {
+                        reason = String.format("no memory for another browser (~%d MB, %d MB free)",
+                                sessionKb / 1024, availableKb / 1024);
+                    }
+                }
+                if (limit != previous) {
+                    logger.info("Concurrency limit {} -> {} ({} in use, {} waiting): {}",
+                            previous, limit, inUse, waiting, reason);
+                    LOCK.notifyAll();
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Concurrency sample failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Average resident memory per running browser (driver service plus browser tree), or
+     * CONCURRENCY_SESSION_MB while none is running.
+     */
+    private static long sessionRssKb() {
+        long fallbackKb = DriverFactory.envInt("CONCURRENCY_SESSION_MB", 400) * 1024L;
+        int browsers = HOLDERS.size();
+        if (browsers == 0) {
+            return fallbackKb;
+        }
+        ProcessHandle self = ProcessHandle.current();
+        long childrenKb = ProcessStats.treeRssKb(self) - Math.max(0, ProcessStats.rssKb(self.pid()));
+        return childrenKb > 0 ? childrenKb / browsers : fallbackKb;
+    }
+
+    private static int getFloor() {
+        return Math.max(1, DriverFactory.envInt("CONCURRENCY_MIN", 1));
+    }
+
+    private static int getCeiling(int floor) {
+        return Math.max(floor, DriverFactory.envInt("CONCURRENCY_MAX", Runtime.getRuntime().availableProcessors()));
+    }
+
+    private static int clamp(int value, int floor, int ceiling) {
+        return Math.max(floor, Math.min(ceiling, value));
+    }
+
+    // Private constructor to prevent instantiation
+    private ConcurrencyController() {
+        throw new AssertionError("ConcurrencyController should not be instantiated");
+    }
+}
@@ -0,0 +1,387 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Persistent cache of the driver and browser binaries Selenium Manager resolves.
+ *
+ * <p>Without it, every local session runs Selenium Manager, which checks online for driver
+ * and browser versions and can stall for a long time on a network-restricted CI runner.
+ * With the cache enabled, binaries are resolved once per browser and OS, written to a
+ * properties file, and later sessions and surefire forks read them back:</p>
+ * <ul>
+ *   <li>the driver path is set as the {@code webdriver.*.driver} system property, which
+ *       Selenium checks before invoking Selenium Manager</li>
+ *   <li>the browser path is set as the options' binary</li>
+ * </ul>
+ *
+ * <p>A cached entry is only used while both files still exist; otherwise it is resolved
+ * again. With DRIVER_CACHE_DIR the cache is <i>pinned</i>: binaries are read from
+ * {@code binaries.properties} in that directory (relative paths are resolved against it),
+ * Selenium Manager is never run, and a missing entry is an error.</p>
+ *
+ * <p><b>Cache file format</b> (keys are {@code <browser>.<os>-<arch>.<field>}):</p>
+ * <pre>
+ * chrome.linux-amd64.driverPath=chromedriver-131/chromedriver
+ * chrome.linux-amd64.driverVersion=ChromeDriver 131.0.6778.85
+ * chrome.linux-amd64.browserPath=chrome-131/chrome
+ * chrome.linux-amd64.browserVersion=Google Chrome for Testing 131.0.6778.85
+ * </pre>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>DRIVER_CACHE = "true" | "false" - cache Selenium Manager results (default: "false")</li>
+ *   <li>DRIVER_CACHE_FILE = path - cache file
+ *       (default: ~/.cache/allied-selenium/binaries.properties)</li>
+ *   <li>DRIVER_CACHE_DIR = path - pinned, pre-populated directory; implies DRIVER_CACHE and
+ *       works fully offline (optional)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * ChromeOptions options = new ChromeOptions();
+ * DriverBinaryCache.apply("chrome", options);   // sets webdriver.chrome.driver and the binary
+ * WebDriver driver = new ChromeDriver(options);  // Selenium Manager is skipped
+ * }</pre>
+ *
+ * @see DriverFactory
+ * @see DriverServices
+ */
+public class DriverBinaryCache {
+    private static final org.slf4j.Logger logger = Logger.getLogger(DriverBinaryCache.class);
+
+    /** Name of the cache file inside a pinned DRIVER_CACHE_DIR. */
+    public static final String PINNED_FILE = "binaries.properties";
+
+    /** Binaries resolved (or loaded) by this JVM, per cache key. */
+    private static final Map<String, Binaries> RESOLVED = new ConcurrentHashMap<>();
+
+    /**
+     * Checks whether resolved binaries are cached (DRIVER_CACHE or DRIVER_CACHE_DIR).
+     *
+     * @return true if the cache is enabled
+     */
+    public static boolean isEnabled() {
+        return getPinnedDir() != null || DriverFactory.envBool("DRIVER_CACHE", false);
+    }
+
+    /**
+     * Resolves the binaries for a browser and points Selenium at them.
+     *
+     * <p>Sets the driver system property and, if a browser binary is known, the options'
+     * binary. Does nothing if the cache is disabled.</p>
+     *
+     * @param browser The browser: "chrome", "edge" or "firefox"
+     * @param options The browser options to update
+     * @throws IllegalStateException if the cache is pinned and has no entry for the browser
+     */
+    public static void apply(String browser, Capabilities options) {
+        if (!isEnabled()) {
+            return;
+        }
+        Binaries binaries = resolve(browser, options);
+        System.setProperty(newService(browser).getDriverProperty(), binaries.getDriverPath());
+        if (binaries.getBrowserPath() != null) {
+            if (options instanceof ChromiumOptions) {
+                ((ChromiumOptions<?>) options).setBinary(binaries.getBrowserPath());
+            } else if (options instanceof FirefoxOptions) {
+                ((FirefoxOptions) options).setBinary(binaries.getBrowserPath());
+            }
+        }
+    }
+
+    /**
+     * Gets the binaries for a browser on this OS: from this JVM, the cache file, or Selenium Manager.
+     *
+     * <p>Works whether or not the persistent cache is enabled; when it is disabled the result
+     * is only kept in memory.</p>
+     *
+     * @param browser The browser: "chrome", "edge" or "firefox"
+     * @param options The browser options passed to Selenium Manager on a cache miss
+     * @return The resolved binaries
+     * @throws IllegalStateException if the cache is pinned and has no usable entry for the browser
+     */
+    public static Binaries resolve(String browser, Capabilities options) {
+        String key = browser + "." + platform();
+        return RESOLVED.computeIfAbsent(key, k -> {
+            Path pinned = getPinnedDir();
+            if (pinned != null) {
+                Binaries binaries = read(pinned.resolve(PINNED_FILE), k, pinned);
+                if (binaries == null) {
+                    throw new IllegalStateException("No usable pinned binaries for " + k + " in " + pinned);
+                }
+                logger.info("Using pinned {} binaries: {}", browser, binaries);
+                return binaries;
+            }
+
+            Path cacheFile = isEnabled() ? getCacheFile() : null;
+            if (cacheFile != null) {
+                Binaries cached = read(cacheFile, k, cacheFile.getParent());
+                if (cached != null) {
+                    logger.info("Using cached {} binaries: {}", browser, cached);
+                    return cached;
+                }
+            }
+
+            long start = System.nanoTime();
+            DriverFinder finder = new DriverFinder(newService(browser), options);
+            String browserPath = finder.hasBrowserPath() ? finder.getBrowserPath() : null;
+            Binaries binaries = new Binaries(finder.getDriverPath(), version(finder.getDriverPath()),
+                    browserPath, browserPath != null && !platform().startsWith("windows") ? version(browserPath) : null);
+            logger.info("Selenium Manager resolved {} binaries in {} ms: {}", browser,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), binaries);
+            if (cacheFile != null) {
+                write(cacheFile, k, binaries);
+            }
+            return binaries;
+        });
+    }
+
+    /**
+     * Forgets the binaries of a browser, e.g. after the browser was updated underneath the cache.
+     *
+     * <p>Has no effect on a pinned cache.</p>
+     *
+     * @param browser The browser: "chrome", "edge" or "firefox"
+     */
+    public static void invalidate(String browser) {
+        String key = browser + "." + platform();
+        RESOLVED.remove(key);
+        if (getPinnedDir() != null || !isEnabled()) {
+            return;
+        }
+        update(getCacheFile(), properties -> properties.keySet().removeIf(k -> k.toString().startsWith(key + ".")));
+    }
+
+    /**
+     * Gets the cache key suffix of this machine, e.g. {@code linux-amd64}.
+     *
+     * @return Normalised OS name and architecture
+     */
+    public static String platform() {
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("win")) {
+            os = "windows";
+        } else if (os.contains("mac")) {
+            os = "mac";
+        } else if (os.contains("linux")) {
+            os = "linux";
+        } else {
+            os = os.replaceAll("[^a-z0-9]", "");
+        }
+        return os + "-" + System.getProperty("os.arch").toLowerCase();
+    }
+
+    private static Path getPinnedDir() {
+        String dir = OptionalEnv.get("DRIVER_CACHE_DIR", null);
+        return dir == null || dir.trim().isEmpty() ? null : Paths.get(dir.trim()).toAbsolutePath();
+    }
+
+    private static Path getCacheFile() {
+        String file = OptionalEnv.get("DRIVER_CACHE_FILE", null);
+        if (file != null && !file.trim().isEmpty()) {
+            return Paths.get(file.trim()).toAbsolutePath();
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "allied-selenium", "binaries.properties");
+    }
+
+    private static DriverService newService(String browser) {
+        switch (browser) {
+            case "chrome":
+                return new ChromeDriverService.Builder().build();
+            case "edge":
+                return new EdgeDriverService.Builder().build();
+            case "firefox":
+                return new GeckoDriverService.Builder().build();
+            default:
+                throw new IllegalArgumentException("Unsupported browser for driver cache: " + browser);
+        }
+    }
+
+    /**
+     * Reads an entry, returning null if it is missing or its files no longer exist.
+     */
+    private static Binaries read(Path file, String key, Path baseDir) {
+        Properties properties = load(file);
+        String driverPath = absolute(properties.getProperty(key + ".driverPath"), baseDir);
+        String browserPath = absolute(properties.getProperty(key + ".browserPath"), baseDir);
+        if (driverPath == null || !Files.isExecutable(Paths.get(driverPath))) {
+            return null;
+        }
+        if (browserPath != null && !Files.exists(Paths.get(browserPath))) {
+            logger.info("Cached browser {} no longer exists; resolving again", browserPath);
+            return null;
+        }
+        return new Binaries(driverPath, properties.getProperty(key + ".driverVersion"),
+                browserPath, properties.getProperty(key + ".browserVersion"));
+    }
+
+    private static void write(Path file, String key, Binaries binaries) {
+        update(file, properties -> {
+            properties.setProperty(key + ".driverPath", binaries.getDriverPath());
+            setIfPresent(properties, key + ".driverVersion", binaries.getDriverVersion());
+            setIfPresent(properties, key + ".browserPath", binaries.getBrowserPath());
+            setIfPresent(properties, key + ".browserVersion", binaries.getBrowserVersion());
+        });
+    }
+
+    /**
+     * Re-reads, modifies and atomically replaces the cache file, so concurrent forks never
+     * see a partially written file.
+     */
+    private static void update(Path file, Consumer<Properties> change) {
+        try {
+            Files.createDirectories(file.getParent());
+            Properties properties = load(file);
+            change.accept(properties);
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(out, "Selenium Manager resolution cache");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not update driver cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Properties load(Path file) {
+        Properties properties = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read driver cache " + file, e);
+            }
+        }
+        return properties;
+    }
+
+    private static void setIfPresent(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    private static String absolute(String path, Path baseDir) {
+        if (path == null || path.trim().isEmpty()) {
+            return null;
+        }
+        return baseDir.resolve(path.trim()).toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Runs {@code <binary> --version} (once, on a cache miss) to record what was resolved.
+     * Not used for browsers on Windows, where {@code --version} starts the browser instead.
+     *
+     * @return The first line of output, or null if it could not be determined
+     */
+    private static String version(String binary) {
+        try {
+            Process process = new ProcessBuilder(binary, "--version").redirectErrorStream(true).start();
+            String line;
+            try (BufferedReader out = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                line = out.readLine();
+            }
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+            return line == null ? null : line.trim();
+        } catch (IOException e) {
+            logger.debug("Could not read version of {}: {}", binary, e.getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Driver and browser binaries for one browser on one platform.
+     */
+    public static final class Binaries {
+        private final String driverPath;
+        private final String driverVersion;
+        private final String browserPath;
+        private final String browserVersion;
+
+        private Binaries(String driverPath, String driverVersion, String browserPath, String browserVersion) {
+            this.driverPath = driverPath;
+            this.driverVersion = driverVersion;
+            this.browserPath = browserPath;
+            this.browserVersion = browserVersion;
+        }
+
+        /**
+         * @return Absolute path of the driver executable
+         */
+        public String getDriverPath() {
+            return driverPath;
+        }
+
+        /**
+         * @return Output of {@code driver --version}, or null if unknown
+         */
+        public String getDriverVersion() {
+            return driverVersion;
+        }
+
+        /**
+         * @return Absolute path of the browser executable, or null to use the installed default
+         */
+        public String getBrowserPath() {
+            return browserPath;
+        }
+
+        /**
+         * @return Output of {@code browser --version}, or null if unknown
+         */
+        public String getBrowserVersion() {
+            return browserVersion;
+        }
+
+        @Override
+        public String toString() {
+            return "Binaries{" +
+                    "driverPath='" + driverPath + '\'' +
+                    ", driverVersion='" + driverVersion + '\'' +
+                    ", browserPath='" + browserPath + '\'' +
+                    ", browserVersion='" + browserVersion + '\'' +
+                    '}';
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private DriverBinaryCache() {
+        throw new AssertionError("DriverBinaryCache should not be instantiated");
+    }
+}
@@ -1,7 +1,10 @@
 package com.allied.framework.core;
 
+import java.util.List;
+import java.util.Objects;
+
 /**
- * Configuration for creating a WebDriver instance.
+ * Immutable configuration for creating a WebDriver instance.
  *
  * <p>This class holds all the configuration settings needed to create a Selenium WebDriver.
  * It supports both local and remote (Selenium Grid) execution.</p>
@@ -10,44 +13,98 @@ package com.allied.framework.core;
  * <ul>
  *   <li>browser: "chrome", "firefox", or "edge" (default: "chrome")</li>
  *   <li>headless: Run browser in headless mode (default: true)</li>
- *   <li>remoteUrl: Selenium Grid URL for remote execution (default: null for local)</li>
+ *   <li>remoteUrl: Selenium Grid URL, or comma-separated URLs to balance across, for remote
+ *       execution (default: null for local)</li>
  *   <li>windowWidth: Browser window width in pixels (default: 1920)</li>
  *   <li>windowHeight: Browser window height in pixels (default: 1080)</li>
  *   <li>pageLoadTimeout: Page load timeout in seconds (default: 60)</li>
+ *   <li>pageLoadStrategy: "normal", "eager" or "none" (default: "normal")</li>
  *   <li>implicitWait: Implicit wait timeout in seconds (default: 0)</li>
+ *   <li>profileTemplateDir: Chrome/Edge user-data-dir template cloned per session (default: null)</li>
+ *   <li>performanceProfile: "default", "fast" or "lean-memory" launch flags (default: "default")</li>
+ *   <li>remoteConnectTimeout: Remote HTTP connect timeout in seconds (default: 10)</li>
+ *   <li>remoteReadTimeout: Remote HTTP read timeout in seconds (default: 180)</li>
+ *   <li>remoteKeepAlive: Idle time in seconds a remote connection is kept open for reuse (default: 300)</li>
+ *   <li>remoteMaxConnections: Maximum pooled remote connections, 0 = unbounded (default: 0)</li>
  * </ul>
  *
  * <p><b>Usage Example:</b></p>
  * <pre>{@code
  * // Use default configuration
- * DriverConfig config = new DriverConfig();
+ * DriverConfig config = DriverConfig.builder().build();
  *
  * // Customize configuration
- * DriverConfig config = new DriverConfig();
- * config.setBrowser("firefox");
- * config.setHeadless(false);
- * config.setWindowWidth(1366);
- * config.setWindowHeight(768);
+ * DriverConfig config = DriverConfig.builder()
+ *         .browser("firefox")
+ *         .headless(false)
+ *         .windowWidth(1366)
+ *         .windowHeight(768)
+ *         .build();
+ *
+ * // Override a few values of the environment configuration for one test
+ * DriverConfig mobile = DriverFactory.getDriverConfigFromEnv().toBuilder()
+ *         .windowWidth(390)
+ *         .windowHeight(844)
+ *         .build();
  *
  * // Use with DriverFactory
  * WebDriver driver = DriverFactory.createDriver(config);
  * }</pre>
  *
+ * <p>Configs cannot change once built, so one instance can be shared by any number of threads
+ * and used as a map key (e.g. by {@link DriverPool} and DriverFactory's options cache). Two
+ * configs with the same values are {@link #equals(Object) equal}.</p>
+ *
  * <p>This is the Java equivalent of Python's DriverConfig dataclass.</p>
  *
  * @see DriverFactory
  */
-public class DriverConfig {
-    private String browser;
-    private boolean headless;
-    private String remoteUrl;
-    private int windowWidth;
-    private int windowHeight;
-    private int pageLoadTimeout;
-    private int implicitWait;
+public final class DriverConfig {
+
+    /** Supported values of {@link #getPerformanceProfile()}. */
+    public static final List<String> PERFORMANCE_PROFILES = List.of("default", "fast", "lean-memory");
+
+    /** Supported values of {@link #getPageLoadStrategy()}. */
+    public static final List<String> PAGE_LOAD_STRATEGIES = List.of("normal", "eager", "none");
+
+    private final String browser;
+    private final boolean headless;
+    private final String remoteUrl;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final int pageLoadTimeout;
+    private final String pageLoadStrategy;
+    private final int implicitWait;
+    private final String profileTemplateDir;
+    private final String performanceProfile;
+    private final int remoteConnectTimeout;
+    private final int remoteReadTimeout;
+    private final int remoteKeepAlive;
+    private final int remoteMaxConnections;
+    private final int hash;
+
+    private DriverConfig(Builder builder) {
+        this.browser = builder.browser;
+        this.headless = builder.headless;
+        this.remoteUrl = builder.remoteUrl;
+        this.windowWidth = builder.windowWidth;
+        this.windowHeight = builder.windowHeight;
+        this.pageLoadTimeout = builder.pageLoadTimeout;
+        this.pageLoadStrategy = builder.pageLoadStrategy;
+        this.implicitWait = builder.implicitWait;
+        this.profileTemplateDir = builder.profileTemplateDir;
+        this.performanceProfile = builder.performanceProfile;
+        this.remoteConnectTimeout = builder.remoteConnectTimeout;
+        this.remoteReadTimeout = builder.remoteReadTimeout;
+        this.remoteKeepAlive = builder.remoteKeepAlive;
+        this.remoteMaxConnections = builder.remoteMaxConnections;
+        this.hash = Objects.hash(browser, headless, remoteUrl, windowWidth, windowHeight, pageLoadTimeout,
+                implicitWait, profileTemplateDir, performanceProfile, pageLoadStrategy,
+                remoteConnectTimeout, remoteReadTimeout);
+    }
 
     /**
-     * Creates a new DriverConfig with default values.
+     * Creates a builder with default values.
      *
      * <p><b>Defaults:</b></p>
      * <ul>
@@ -57,35 +114,52 @@ public class DriverConfig {
      *   <li>windowWidth = 1920</li>
      *   <li>windowHeight = 1080</li>
      *   <li>pageLoadTimeout = 60 seconds</li>
+     *   <li>pageLoadStrategy = "normal"</li>
      *   <li>implicitWait = 0 seconds</li>
+     *   <li>profileTemplateDir = null (fresh profile per session)</li>
+     *   <li>performanceProfile = "default"</li>
+     *   <li>remoteConnectTimeout = 10 seconds</li>
+     *   <li>remoteReadTimeout = 180 seconds</li>
+     *   <li>remoteKeepAlive = 300 seconds</li>
+     *   <li>remoteMaxConnections = 0 (unbounded)</li>
      * </ul>
+     *
+     * @return A new builder
      */
-    public DriverConfig() {
-        this.browser = "chrome";
-        this.headless = true;
-        this.remoteUrl = null;
-        this.windowWidth = 1920;
-        this.windowHeight = 1080;
-        this.pageLoadTimeout = 60;
-        this.implicitWait = 0;
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
-     * Gets the browser name.
+     * Creates a builder pre-filled with this configuration's values.
      *
-     * @return Browser name ("chrome", "firefox", or "edge")
+     * @return A new builder; changing it does not affect this config
      */
-    public String getBrowser() {
-        return browser;
+    public Builder toBuilder() {
+        return new Builder()
+                .browser(browser)
+                .headless(headless)
+                .remoteUrl(remoteUrl)
+                .windowWidth(windowWidth)
+                .windowHeight(windowHeight)
+                .pageLoadTimeout(pageLoadTimeout)
+                .pageLoadStrategy(pageLoadStrategy)
+                .implicitWait(implicitWait)
+                .profileTemplateDir(profileTemplateDir)
+                .performanceProfile(performanceProfile)
+                .remoteConnectTimeout(remoteConnectTimeout)
+                .remoteReadTimeout(remoteReadTimeout)
+                .remoteKeepAlive(remoteKeepAlive)
+                .remoteMaxConnections(remoteMaxConnections);
     }
 
     /**
-     * Sets the browser name.
+     * Gets the browser name.
      *
-     * @param browser Browser name ("chrome", "firefox", or "edge")
+     * @return Browser name ("chrome", "firefox", or "edge")
      */
-    public void setBrowser(String browser) {
-        this.browser = browser;
+    public String getBrowser() {
+        return browser;
     }
 
     /**
@@ -97,15 +171,6 @@ public class DriverConfig {
         return headless;
     }
 
-    /**
-     * Sets headless mode.
-     *
-     * @param headless true to run browser in headless mode, false otherwise
-     */
-    public void setHeadless(boolean headless) {
-        this.headless = headless;
-    }
-
     /**
      * Gets the remote Selenium Grid URL.
      *
@@ -116,13 +181,13 @@ public class DriverConfig {
     }
 
     /**
-     * Sets the remote Selenium Grid URL.
+     * Gets the remote endpoints listed in {@link #getRemoteUrl()}.
      *
-     * @param remoteUrl Selenium Grid URL (e.g., "http://localhost:4444/wd/hub"),
-     *                  or null for local execution
+     * @return The comma-separated endpoints, trimmed; empty for local execution
+     * @see GridBalancer
      */
-    public void setRemoteUrl(String remoteUrl) {
-        this.remoteUrl = remoteUrl;
+    public List<String> getRemoteUrls() {
+        return GridBalancer.parseUrls(remoteUrl);
     }
 
     /**
@@ -134,15 +199,6 @@ public class DriverConfig {
         return windowWidth;
     }
 
-    /**
-     * Sets the browser window width.
-     *
-     * @param windowWidth Window width in pixels
-     */
-    public void setWindowWidth(int windowWidth) {
-        this.windowWidth = windowWidth;
-    }
-
     /**
      * Gets the browser window height.
      *
@@ -152,15 +208,6 @@ public class DriverConfig {
         return windowHeight;
     }
 
-    /**
-     * Sets the browser window height.
-     *
-     * @param windowHeight Window height in pixels
-     */
-    public void setWindowHeight(int windowHeight) {
-        this.windowHeight = windowHeight;
-    }
-
     /**
      * Gets the page load timeout.
      *
@@ -171,12 +218,12 @@ public class DriverConfig {
     }
 
     /**
-     * Sets the page load timeout.
+     * Gets the page load strategy.
      *
-     * @param pageLoadTimeout Page load timeout in seconds
+     * @return "normal", "eager" or "none"
      */
-    public void setPageLoadTimeout(int pageLoadTimeout) {
-        this.pageLoadTimeout = pageLoadTimeout;
+    public String getPageLoadStrategy() {
+        return pageLoadStrategy;
     }
 
     /**
@@ -189,12 +236,103 @@ public class DriverConfig {
     }
 
     /**
-     * Sets the implicit wait timeout.
+     * Gets the Chrome/Edge profile template directory.
+     *
+     * @return Template user-data-dir path, or null to start every session with a fresh profile
+     * @see ChromeProfileTemplate
+     */
+    public String getProfileTemplateDir() {
+        return profileTemplateDir;
+    }
+
+    /**
+     * Gets the performance launch profile.
+     *
+     * @return "default", "fast" or "lean-memory"
+     */
+    public String getPerformanceProfile() {
+        return performanceProfile;
+    }
+
+    /**
+     * Gets the remote HTTP connect timeout.
+     *
+     * @return Connect timeout in seconds
+     */
+    public int getRemoteConnectTimeout() {
+        return remoteConnectTimeout;
+    }
+
+    /**
+     * Gets the remote HTTP read timeout.
+     *
+     * @return Read timeout in seconds
+     */
+    public int getRemoteReadTimeout() {
+        return remoteReadTimeout;
+    }
+
+    /**
+     * Gets the keep-alive time of idle remote connections.
+     *
+     * @return Keep-alive time in seconds
+     */
+    public int getRemoteKeepAlive() {
+        return remoteKeepAlive;
+    }
+
+    /**
+     * Gets the maximum number of pooled remote connections.
      *
-     * @param implicitWait Implicit wait timeout in seconds
+     * @return Maximum pooled connections, 0 for unbounded
      */
-    public void setImplicitWait(int implicitWait) {
-        this.implicitWait = implicitWait;
+    public int getRemoteMaxConnections() {
+        return remoteMaxConnections;
+    }
+
+    /**
+     * Compares all configuration values except remoteKeepAlive and remoteMaxConnections.
+     *
+     * <p>Those two configure the JVM-wide connection pool, which is set up once for all
+     * configs, so they do not make sessions different. Leaving them out keeps configs that
+     * only differ in them on the same pool, host and prefetch keys.</p>
+     *
+     * @param o The object to compare with
+     * @return true if {@code o} is a DriverConfig with identical session values
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DriverConfig)) {
+            return false;
+        }
+        DriverConfig that = (DriverConfig) o;
+        return hash == that.hash &&
+                headless == that.headless &&
+                windowWidth == that.windowWidth &&
+                windowHeight == that.windowHeight &&
+                pageLoadTimeout == that.pageLoadTimeout &&
+                implicitWait == that.implicitWait &&
+                remoteConnectTimeout == that.remoteConnectTimeout &&
+                remoteReadTimeout == that.remoteReadTimeout &&
+                Objects.equals(browser, that.browser) &&
+                Objects.equals(remoteUrl, that.remoteUrl) &&
+                Objects.equals(profileTemplateDir, that.profileTemplateDir) &&
+                Objects.equals(performanceProfile, that.performanceProfile) &&
+                Objects.equals(pageLoadStrategy, that.pageLoadStrategy);
+    }
+
+    /**
+     * Returns the hash code of the values compared by {@link #equals(Object)}, computed once
+     * when the config is built.
+     *
+     * @return Hash code consistent with {@link #equals(Object)}
+     */
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     /**
@@ -211,7 +349,234 @@ public class DriverConfig {
                 ", windowWidth=" + windowWidth +
                 ", windowHeight=" + windowHeight +
                 ", pageLoadTimeout=" + pageLoadTimeout +
+                ", pageLoadStrategy='" + pageLoadStrategy + '\'' +
                 ", implicitWait=" + implicitWait +
+                ", profileTemplateDir='" + profileTemplateDir + '\'' +
+                ", performanceProfile='" + performanceProfile + '\'' +
+                ", remoteConnectTimeout=" + remoteConnectTimeout +
+                ", remoteReadTimeout=" + remoteReadTimeout +
+                ", remoteKeepAlive=" + remoteKeepAlive +
+                ", remoteMaxConnections=" + remoteMaxConnections +
                 '}';
     }
+
+    /**
+     * Builder for {@link DriverConfig}. Not thread-safe; build one config per builder use.
+     */
+    public static final class Builder {
+        private String browser = "chrome";
+        private boolean headless = true;
+        private String remoteUrl;
+        private int windowWidth = 1920;
+        private int windowHeight = 1080;
+        private int pageLoadTimeout = 60;
+        private String pageLoadStrategy = "normal";
+        private int implicitWait;
+        private String profileTemplateDir;
+        private String performanceProfile = "default";
+        private int remoteConnectTimeout = 10;
+        private int remoteReadTimeout = 180;
+        private int remoteKeepAlive = 300;
+        private int remoteMaxConnections;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the browser name.
+         *
+         * @param browser Browser name ("chrome", "firefox", or "edge")
+         * @return This builder
+         */
+        public Builder browser(String browser) {
+            this.browser = browser;
+            return this;
+        }
+
+        /**
+         * Sets headless mode.
+         *
+         * @param headless true to run browser in headless mode, false otherwise
+         * @return This builder
+         */
+        public Builder headless(boolean headless) {
+            this.headless = headless;
+            return this;
+        }
+
+        /**
+         * Sets the remote Selenium Grid URL.
+         *
+         * @param remoteUrl Selenium Grid URL (e.g., "http://localhost:4444/wd/hub"),
+         *                  or null for local execution
+         * @return This builder
+         */
+        public Builder remoteUrl(String remoteUrl) {
+            this.remoteUrl = remoteUrl;
+            return this;
+        }
+
+        /**
+         * Sets the browser window width.
+         *
+         * @param windowWidth Window width in pixels
+         * @return This builder
+         */
+        public Builder windowWidth(int windowWidth) {
+            this.windowWidth = windowWidth;
+            return this;
+        }
+
+        /**
+         * Sets the browser window height.
+         *
+         * @param windowHeight Window height in pixels
+         * @return This builder
+         */
+        public Builder windowHeight(int windowHeight) {
+            this.windowHeight = windowHeight;
+            return this;
+        }
+
+        /**
+         * Sets the page load timeout.
+         *
+         * @param pageLoadTimeout Page load timeout in seconds
+         * @return This builder
+         */
+        public Builder pageLoadTimeout(int pageLoadTimeout) {
+            this.pageLoadTimeout = pageLoadTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the page load strategy used by navigation commands.
+         *
+         * <ul>
+         *   <li>"normal" - wait for the {@code load} event (all subresources)</li>
+         *   <li>"eager" - wait for {@code DOMContentLoaded} only</li>
+         *   <li>"none" - return as soon as the navigation has started</li>
+         * </ul>
+         *
+         * <p>With "eager" or "none", wait for the page object's READY locator (see
+         * {@code SeleniumUtils.navigateTo}) before interacting.</p>
+         *
+         * @param pageLoadStrategy One of {@link #PAGE_LOAD_STRATEGIES}
+         * @return This builder
+         * @throws IllegalArgumentException if the strategy is not supported
+         */
+        public Builder pageLoadStrategy(String pageLoadStrategy) {
+            if (!PAGE_LOAD_STRATEGIES.contains(pageLoadStrategy)) {
+                throw new IllegalArgumentException("Unsupported page load strategy: " + pageLoadStrategy);
+            }
+            this.pageLoadStrategy = pageLoadStrategy;
+            return this;
+        }
+
+        /**
+         * Sets the implicit wait timeout.
+         *
+         * @param implicitWait Implicit wait timeout in seconds
+         * @return This builder
+         */
+        public Builder implicitWait(int implicitWait) {
+            this.implicitWait = implicitWait;
+            return this;
+        }
+
+        /**
+         * Sets the Chrome/Edge profile template directory.
+         *
+         * <p>When set, each local Chrome/Edge session starts from a private clone of this
+         * user-data-dir, which is deleted when the driver is quit.</p>
+         *
+         * @param profileTemplateDir Template user-data-dir path, or null for fresh profiles
+         * @return This builder
+         */
+        public Builder profileTemplateDir(String profileTemplateDir) {
+            this.profileTemplateDir = profileTemplateDir;
+            return this;
+        }
+
+        /**
+         * Sets the performance launch profile.
+         *
+         * <ul>
+         *   <li>"default" - only the essential flags</li>
+         *   <li>"fast" - also disables background networking, updates, telemetry and first-run work</li>
+         *   <li>"lean-memory" - "fast" plus fewer renderer/content processes and a smaller disk cache</li>
+         * </ul>
+         *
+         * @param performanceProfile One of {@link #PERFORMANCE_PROFILES}
+         * @return This builder
+         * @throws IllegalArgumentException if the profile is not supported
+         */
+        public Builder performanceProfile(String performanceProfile) {
+            if (!PERFORMANCE_PROFILES.contains(performanceProfile)) {
+                throw new IllegalArgumentException("Unsupported performance profile: " + performanceProfile);
+            }
+            this.performanceProfile = performanceProfile;
+            return this;
+        }
+
+        /**
+         * Sets the timeout for opening a connection to the remote WebDriver endpoint.
+         *
+         * @param remoteConnectTimeout Connect timeout in seconds
+         * @return This builder
+         */
+        public Builder remoteConnectTimeout(int remoteConnectTimeout) {
+            this.remoteConnectTimeout = remoteConnectTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time to wait for a remote command response.
+         *
+         * <p>Must exceed the longest single command, including session creation while the grid
+         * queues the request.</p>
+         *
+         * @param remoteReadTimeout Read timeout in seconds
+         * @return This builder
+         */
+        public Builder remoteReadTimeout(int remoteReadTimeout) {
+            this.remoteReadTimeout = remoteReadTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how long an idle remote connection is kept open for reuse by the next command.
+         *
+         * <p>Applies to the JDK HTTP client pool and is JVM-wide: the first remote driver fixes it.</p>
+         *
+         * @param remoteKeepAlive Keep-alive time in seconds
+         * @return This builder
+         */
+        public Builder remoteKeepAlive(int remoteKeepAlive) {
+            this.remoteKeepAlive = remoteKeepAlive;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of idle connections kept in the remote HTTP connection pool.
+         *
+         * <p>Applies to the JDK HTTP client pool and is JVM-wide: the first remote driver fixes it.</p>
+         *
+         * @param remoteMaxConnections Maximum pooled connections, 0 for unbounded
+         * @return This builder
+         */
+        public Builder remoteMaxConnections(int remoteMaxConnections) {
+            this.remoteMaxConnections = remoteMaxConnections;
+            return this;
+        }
+
+        /**
+         * Builds the immutable config.
+         *
+         * @return A new DriverConfig with this builder's values
+         */
+        public DriverConfig build() {
+            return new DriverConfig(this);
+        }
+    }
 }
@@ -1,17 +1,46 @@
 package com.allied.framework.core;
 
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Driver factory for Selenium tests.
@@ -23,11 +52,33 @@ import java.time.Duration;
  * <ul>
  *   <li>BROWSER = "chrome" | "firefox" | "edge" (default: "chrome")</li>
  *   <li>HEADLESS = "true" | "false" (default: "false")</li>
- *   <li>SELENIUM_REMOTE_URL = "http://grid-url:4444/wd/hub" (if set → use Remote WebDriver)</li>
+ *   <li>SELENIUM_REMOTE_URL = "http://grid-url:4444/wd/hub" (if set → use Remote WebDriver);
+ *       several comma-separated URLs are load balanced by {@link GridBalancer}</li>
+ *   <li>REMOTE_CONNECT_TIMEOUT / REMOTE_READ_TIMEOUT = integer seconds (default: 10 / 180)</li>
+ *   <li>REMOTE_KEEP_ALIVE = integer seconds idle remote connections are kept (default: 300)</li>
+ *   <li>REMOTE_MAX_CONNECTIONS = integer, pooled remote connections, 0 = unbounded (default: 0)</li>
  *   <li>WINDOW_WIDTH = integer (default: 1920)</li>
  *   <li>WINDOW_HEIGHT = integer (default: 1080)</li>
  *   <li>PAGE_LOAD_TIMEOUT = integer seconds (default: 60)</li>
+ *   <li>PAGE_LOAD_STRATEGY = "normal" | "eager" | "none" (default: "normal")</li>
  *   <li>IMPLICIT_WAIT = integer seconds (default: 0)</li>
+ *   <li>DRIVER_PREFETCH = "true" | "false" - launch the next browser in the background (default: "false")</li>
+ *   <li>CHROME_PROFILE_TEMPLATE = path - Chrome/Edge user-data-dir template cloned per session (optional)</li>
+ *   <li>PERFORMANCE_PROFILE = "default" | "fast" | "lean-memory" - curated launch flags (default: "default")</li>
+ *   <li>DRIVER_CACHE / DRIVER_CACHE_FILE / DRIVER_CACHE_DIR - cache Selenium Manager resolution
+ *       on disk or use pinned offline binaries (see {@link DriverBinaryCache})</li>
+ *   <li>DRIVER_SERVICE_SCOPE = "session" | "jvm" | "thread" - share chromedriver/geckodriver processes
+ *       between sessions (default: "session", see {@link DriverServices})</li>
+ *   <li>ASYNC_QUIT = "true" | "false" - quitCurrent() quits in the background (default: "false")</li>
+ *   <li>DRIVER_METRICS_FILE = path - CSV summary of per-phase startup timings written at JVM exit
+ *       (optional, see {@link DriverMetrics})</li>
+ *   <li>CONCURRENCY_CONTROL = "true" | "false" - limit concurrent browsers adaptively to host load
+ *       and free memory (default: "false", see {@link ConcurrencyController})</li>
+ *   <li>QUIT_TIMEOUT = integer seconds - kill the session's processes if quit hangs (default: 15,
+ *       see {@link DriverReaper})</li>
+ *   <li>BROWSER_ISOLATION = "process" | "context" - one browser per session, or a fresh browser
+ *       context per session inside a few shared Chrome/Edge hosts (default: "process", see
+ *       {@link BrowserContexts})</li>
  * </ul>
  *
  * <p><b>Usage Example:</b></p>
@@ -36,25 +87,45 @@ import java.time.Duration;
  * WebDriver driver = DriverFactory.createDriver();
  *
  * // Create driver with custom configuration
- * DriverConfig config = new DriverConfig();
- * config.setBrowser("firefox");
- * config.setHeadless(false);
+ * DriverConfig config = DriverConfig.builder()
+ *         .browser("firefox")
+ *         .headless(false)
+ *         .build();
  * WebDriver driver = DriverFactory.createDriver(config);
  *
- * // Use in TestNG @BeforeMethod
+ * // Use in TestNG @BeforeMethod / @AfterMethod (safe with parallel="methods")
  * @BeforeMethod
  * public void setUp() {
- *     driver = DriverFactory.createDriver();
+ *     DriverFactory.createDriver();
+ * }
+ *
+ * @Test
+ * public void testSomething() {
+ *     DriverFactory.current().get(OrangeHrmLogin.URL);
  * }
  *
  * @AfterMethod
  * public void tearDown() {
- *     if (driver != null) {
- *         driver.quit();
- *     }
+ *     DriverFactory.quitCurrent();
  * }
  * }</pre>
  *
+ * <p><b>Thread registry:</b> every driver returned by {@code createDriver} is bound to the
+ * calling thread and can be fetched again with {@link #current()}. Creating a second driver
+ * on a thread that still owns one logs a leak warning, and any driver that was never quit is
+ * reported and quit by a JVM shutdown hook.</p>
+ *
+ * <p><b>Prefetch:</b> with DRIVER_PREFETCH enabled, every {@code createDriver(config)} call
+ * also starts launching a browser for the same config on a background executor. The next
+ * call for that config takes the prefetched browser (waiting for it if it is still starting)
+ * instead of launching one on the test's critical path. A prefetched browser that is never
+ * claimed is quit at JVM shutdown.</p>
+ *
+ * <p><b>Quit:</b> every quit runs on a background executor with a QUIT_TIMEOUT deadline, after
+ * which only that session's browser and driver processes are killed (see {@link DriverReaper}).
+ * {@link #quitCurrent()} waits for it unless ASYNC_QUIT is enabled; {@link #quitAsync(WebDriver)}
+ * never does.</p>
+ *
  * <p><b>Note:</b> This uses Selenium Manager (built into Selenium 4+) for automatic
  * driver management. No need for external driver manager tools.</p>
  *
@@ -65,6 +136,91 @@ import java.time.Duration;
 public class DriverFactory {
     private static final org.slf4j.Logger logger = Logger.getLogger(DriverFactory.class);
 
+    /** Chrome/Edge switches for the "fast" performance profile. */
+    private static final List<String> CHROMIUM_FAST_ARGS = List.of(
+        "--disable-background-networking",
+        "--disable-component-update",
+        "--disable-features=Translate,OptimizationHints,MediaRouter",
+        "--disable-sync",
+        "--disable-default-apps",
+        "--no-first-run",
+        "--no-default-browser-check",
+        "--disable-client-side-phishing-detection",
+        "--disable-background-timer-throttling",
+        "--disable-backgrounding-occluded-windows",
+        "--disable-renderer-backgrounding",
+        "--metrics-recording-only",
+        "--password-store=basic"
+    );
+
+    /** Additional Chrome/Edge switches for the "lean-memory" performance profile. */
+    private static final List<String> CHROMIUM_LEAN_MEMORY_ARGS = List.of(
+        "--renderer-process-limit=2",
+        "--disable-site-isolation-trials",
+        "--disk-cache-size=33554432"
+    );
+
+    /** Firefox preferences for the "fast" performance profile. */
+    private static final Map<String, Object> FIREFOX_FAST_PREFS = Map.ofEntries(
+        Map.entry("toolkit.telemetry.enabled", false),
+        Map.entry("toolkit.telemetry.unified", false),
+        Map.entry("datareporting.healthreport.uploadEnabled", false),
+        Map.entry("datareporting.policy.dataSubmissionEnabled", false),
+        Map.entry("browser.safebrowsing.malware.enabled", false),
+        Map.entry("browser.safebrowsing.phishing.enabled", false),
+        Map.entry("browser.safebrowsing.downloads.enabled", false),
+        Map.entry("app.update.auto", false),
+        Map.entry("extensions.update.enabled", false),
+        Map.entry("browser.search.update", false),
+        Map.entry("browser.shell.checkDefaultBrowser", false),
+        Map.entry("network.captive-portal-service.enabled", false)
+    );
+
+    /** Additional Firefox preferences for the "lean-memory" performance profile. */
+    private static final Map<String, Object> FIREFOX_LEAN_MEMORY_PREFS = Map.of(
+        "dom.ipc.processCount", 1,
+        "browser.sessionhistory.max_total_viewers", 0,
+        "browser.cache.disk.capacity", 32768
+    );
+
+    /** Driver bound to each test thread (see {@link #current()}). */
+    private static final ThreadLocal<WebDriver> CURRENT = new ThreadLocal<>();
+
+    /** Every registered driver mapped to the name of the thread that created it. */
+    private static final Map<WebDriver, String> ACTIVE = new ConcurrentHashMap<>();
+
+    /** Per-session clones of the profile template, deleted when the driver is quit. */
+    private static final Map<WebDriver, Path> SESSION_PROFILES = new ConcurrentHashMap<>();
+
+    /** Browsers launched ahead of time for DRIVER_PREFETCH, per config. */
+    private static final Map<DriverConfig, Queue<Future<WebDriver>>> PREFETCHED = new ConcurrentHashMap<>();
+
+    /** Config parsed from the environment, see {@link #getDriverConfigFromEnv()}. */
+    private static volatile DriverConfig envConfig;
+
+    /** Browser options built per config; callers get a copy (see {@link #options(DriverConfig, Function)}). */
+    private static final Map<DriverConfig, MutableCapabilities> OPTIONS = new ConcurrentHashMap<>();
+
+    /** Whether a config's connection pool settings were applied, see {@link #configureConnectionPool(DriverConfig)}. */
+    private static volatile boolean poolConfigured;
+
+    /** Connection pool values already warned about, see {@link #configureConnectionPool(DriverConfig)}. */
+    private static final Set<String> POOL_WARNINGS = ConcurrentHashMap.newKeySet();
+
+    /** Background executor for DRIVER_PREFETCH launches. */
+    private static final ExecutorService PREFETCHER = Executors.newCachedThreadPool(daemonThreads("driver-prefetch"));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            discardPrefetched();
+            quitLeakedDrivers();
+            BrowserContexts.shutdown();
+            DriverReaper.awaitPending();
+            DriverServices.stopAll();
+            DriverMetrics.report();
+        }, "driver-leak-detector"));
+    }
+
     /**
      * Creates a WebDriver instance using environment variable configuration.
      *
@@ -81,47 +237,313 @@ public class DriverFactory {
     /**
      * Creates a WebDriver instance using the provided configuration.
      *
-     * <p>This method creates either a local or remote WebDriver based on the config.</p>
+     * <p>This method creates either a local or remote WebDriver based on the config
+     * and binds it to the calling thread, so it is also available via {@link #current()}.</p>
      *
      * @param config The driver configuration to use
      * @return A configured WebDriver instance
      */
     public static WebDriver createDriver(DriverConfig config) {
+        boolean prefetch = isPrefetchEnabled();
+        WebDriver driver = prefetch ? takePrefetched(config) : null;
+        if (prefetch) {
+            schedulePrefetch(config);
+        }
+        if (driver == null) {
+            driver = launchDriver(config);
+        }
+        register(driver);
+        return driver;
+    }
+
+    /**
+     * Launches a browser, taking a concurrency permit first when CONCURRENCY_CONTROL is on.
+     *
+     * <p>Prefetched browsers and {@link TabPool}'s shared browsers are launched through here
+     * too, so they count against the limit and carry their permit until they are quit.</p>
+     *
+     * @param config The driver configuration
+     * @return The new driver
+     */
+    static WebDriver launchDriver(DriverConfig config) {
+        return ConcurrencyController.isEnabled()
+                ? ConcurrencyController.launch(() -> newDriver(config))
+                : newDriver(config);
+    }
+
+    /**
+     * Checks whether background prefetch of the next browser is enabled (DRIVER_PREFETCH).
+     *
+     * @return true if prefetch is enabled
+     */
+    public static boolean isPrefetchEnabled() {
+        return envBool("DRIVER_PREFETCH", false);
+    }
+
+    /**
+     * Starts launching a browser for the given config on the prefetch executor.
+     *
+     * <p>With CONCURRENCY_CONTROL the launch waits for a permit on the executor thread, not in
+     * the test thread.</p>
+     *
+     * @param config The driver configuration to prefetch
+     */
+    private static void schedulePrefetch(DriverConfig config) {
+        PREFETCHED.computeIfAbsent(config, c -> new ConcurrentLinkedQueue<>())
+                .add(PREFETCHER.submit(() -> launchDriver(config)));
+    }
+
+    /**
+     * Takes a prefetched browser for the given config, waiting for it if it is still starting.
+     *
+     * @param config The driver configuration
+     * @return The prefetched driver, or null if none is pending or the launch failed
+     */
+    private static WebDriver takePrefetched(DriverConfig config) {
+        Queue<Future<WebDriver>> pending = PREFETCHED.get(config);
+        Future<WebDriver> future = pending != null ? pending.poll() : null;
+        if (future == null) {
+            return null;
+        }
+        try {
+            if (!future.isDone()) {
+                logger.debug("Prefetched WebDriver still starting; waiting for it");
+            }
+            WebDriver driver = future.get();
+            logger.info("Using prefetched WebDriver: {}", driver);
+            return driver;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("Prefetched WebDriver failed to start; launching one now: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Shutdown hook: quits prefetched browsers that were never claimed.
+     */
+    private static void discardPrefetched() {
+        PREFETCHER.shutdownNow();
+        for (Queue<Future<WebDriver>> pending : PREFETCHED.values()) {
+            Future<WebDriver> future;
+            while ((future = pending.poll()) != null) {
+                try {
+                    quit(future.get());
+                } catch (Exception e) {
+                    logger.debug("Discarding failed prefetch: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a thread factory for daemon background threads.
+     *
+     * @param name Thread name
+     * @return Thread factory producing daemon threads with the given name
+     */
+    static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Returns the WebDriver bound to the calling thread.
+     *
+     * @return The current thread's WebDriver
+     * @throws IllegalStateException if no driver has been created on this thread
+     */
+    public static WebDriver current() {
+        WebDriver driver = CURRENT.get();
+        if (driver == null) {
+            throw new IllegalStateException(
+                "No WebDriver is bound to thread '" + Thread.currentThread().getName() +
+                "'. Call DriverFactory.createDriver() first."
+            );
+        }
+        return driver;
+    }
+
+    /**
+     * Checks whether a WebDriver is bound to the calling thread.
+     *
+     * @return true if {@link #current()} would return a driver
+     */
+    public static boolean hasCurrent() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Quits the WebDriver bound to the calling thread and unbinds it.
+     *
+     * <p>Does nothing if no driver is bound. Errors raised by {@code quit()} are logged,
+     * not rethrown, so this is safe to call from {@code @AfterMethod(alwaysRun = true)}.
+     * With ASYNC_QUIT enabled it returns as soon as the quit has been started.</p>
+     */
+    public static void quitCurrent() {
+        WebDriver driver = CURRENT.get();
+        if (driver == null) {
+            return;
+        }
+        unregister(driver);
+        if (DriverReaper.isAsyncQuitEnabled()) {
+            quitAsync(driver);
+        } else {
+            quit(driver);
+        }
+    }
+
+    /**
+     * Quits a driver on a background thread.
+     *
+     * <p>The driver must already be unbound (see {@link #quitCurrent()}). If the quit has not
+     * returned after QUIT_TIMEOUT, the session's browser and driver processes are killed.</p>
+     *
+     * @param driver The driver to quit
+     * @return Completes when the quit has finished; it never completes exceptionally
+     */
+    public static Future<?> quitAsync(WebDriver driver) {
+        DriverRecycler.untrack(driver);
+        return DriverReaper.quit(driver, () -> {
+            try {
+                driver.quit();
+            } catch (Exception e) {
+                logger.warn("Error while quitting WebDriver {}: {}", driver, e.getMessage());
+            } finally {
+                ChromeProfileTemplate.delete(SESSION_PROFILES.remove(driver));
+                WaitEngine.release(driver);
+                BrowserContexts.release(driver);
+                DriverServices.release(driver);
+                GridBalancer.release(driver);
+                ConcurrencyController.release(driver);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of drivers created through the registry that have not been quit yet.
+     *
+     * @return Count of active registered drivers across all threads
+     */
+    public static int activeDriverCount() {
+        return ACTIVE.size();
+    }
+
+    /**
+     * Binds a driver to the calling thread, warning if the thread already owns one.
+     *
+     * @param driver The driver to bind
+     */
+    static void register(WebDriver driver) {
+        WebDriver previous = CURRENT.get();
+        if (previous != null && previous != driver && ACTIVE.containsKey(previous)) {
+            logger.warn("Thread '{}' already owns WebDriver {} which was never quit; possible driver leak.",
+                    Thread.currentThread().getName(), previous);
+        }
+        CURRENT.set(driver);
+        ACTIVE.put(driver, Thread.currentThread().getName());
+    }
+
+    /**
+     * Removes a driver from the registry without quitting it.
+     *
+     * @param driver The driver to unbind
+     */
+    static void unregister(WebDriver driver) {
+        ACTIVE.remove(driver);
+        if (CURRENT.get() == driver) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Quits a driver, logging instead of throwing on failure.
+     *
+     * <p>Waits for the quit, but not much longer than QUIT_TIMEOUT.</p>
+     *
+     * @param driver The driver to quit
+     */
+    static void quit(WebDriver driver) {
+        DriverReaper.await(quitAsync(driver));
+    }
+
+    /**
+     * Shutdown hook: reports and quits every registered driver that was never quit.
+     */
+    private static void quitLeakedDrivers() {
+        if (ACTIVE.isEmpty()) {
+            return;
+        }
+        logger.warn("{} WebDriver(s) were never quit; quitting them at JVM shutdown", ACTIVE.size());
+        for (Map.Entry<WebDriver, String> entry : ACTIVE.entrySet()) {
+            logger.warn("Leaked WebDriver {} created by thread '{}'", entry.getKey(), entry.getValue());
+            quit(entry.getKey());
+        }
+        ACTIVE.clear();
+    }
+
+    /**
+     * Creates and configures a WebDriver without binding it to any thread.
+     *
+     * @param config The driver configuration to use
+     * @return A configured WebDriver instance
+     */
+    static WebDriver newDriver(DriverConfig config) {
         logger.info("Creating WebDriver with config: {}", config);
 
+        DriverMetrics.Timing timing = DriverMetrics.start(config);
         WebDriver driver;
         if (config.getRemoteUrl() != null && !config.getRemoteUrl().trim().isEmpty()) {
-            driver = createRemoteDriver(config);
+            driver = createRemoteDriver(config, timing);
+        } else if (BrowserContexts.isEnabled(config)) {
+            driver = BrowserContexts.newSession(config, timing);
         } else {
-            driver = createLocalDriver(config);
+            driver = createLocalDriver(config, timing);
+            DriverReaper.track(driver);
         }
 
         // Set window size
-        try {
-            driver.manage().window().setSize(
-                new org.openqa.selenium.Dimension(config.getWindowWidth(), config.getWindowHeight())
-            );
-        } catch (Exception e) {
-            logger.debug("Could not set window size; continuing anyway.", e);
-        }
+        timing.time("window", () -> {
+            try {
+                driver.manage().window().setSize(
+                    new org.openqa.selenium.Dimension(config.getWindowWidth(), config.getWindowHeight())
+                );
+            } catch (Exception e) {
+                logger.debug("Could not set window size; continuing anyway.", e);
+            }
+        });
 
         // Set timeouts
-        try {
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
-        } catch (Exception e) {
-            logger.debug("Could not set page load timeout; continuing anyway.", e);
-        }
+        timing.time("timeouts", () -> {
+            try {
+                driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(config.getPageLoadTimeout()));
+            } catch (Exception e) {
+                logger.debug("Could not set page load timeout; continuing anyway.", e);
+            }
 
-        if (config.getImplicitWait() > 0) {
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
-        }
+            if (config.getImplicitWait() > 0) {
+                driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(config.getImplicitWait()));
+            }
+        });
 
-        logger.info("WebDriver created successfully: {}", driver);
+        DriverRecycler.track(driver);
+        long totalMs = timing.finish();
+        logger.info("WebDriver created successfully in {} ms ({}): {}", totalMs, timing, driver);
         return driver;
     }
 
     /**
-     * Builds a DriverConfig from environment variables.
+     * Gets the DriverConfig described by environment variables.
+     *
+     * <p>The variables are read and parsed once per JVM; every later call returns the same
+     * immutable instance, which can be shared between threads. Use
+     * {@code toBuilder()} for per-test overrides and {@link #reloadDriverConfigFromEnv()}
+     * after changing a variable (or its system property) at runtime.</p>
      *
      * <p>Reads the following environment variables:</p>
      * <ul>
@@ -131,38 +553,95 @@ public class DriverFactory {
      *   <li>WINDOW_WIDTH (default: 1920)</li>
      *   <li>WINDOW_HEIGHT (default: 1080)</li>
      *   <li>PAGE_LOAD_TIMEOUT (default: 60)</li>
+     *   <li>PAGE_LOAD_STRATEGY (default: "normal")</li>
      *   <li>IMPLICIT_WAIT (default: 0)</li>
+     *   <li>REMOTE_CONNECT_TIMEOUT (default: 10)</li>
+     *   <li>REMOTE_READ_TIMEOUT (default: 180)</li>
+     *   <li>REMOTE_KEEP_ALIVE (default: 300)</li>
+     *   <li>REMOTE_MAX_CONNECTIONS (default: 0)</li>
+     *   <li>CHROME_PROFILE_TEMPLATE (optional)</li>
+     *   <li>PERFORMANCE_PROFILE (default: "default")</li>
      * </ul>
      *
-     * @return A DriverConfig populated from environment variables
+     * @return The DriverConfig populated from environment variables
      */
     public static DriverConfig getDriverConfigFromEnv() {
-        DriverConfig config = new DriverConfig();
+        DriverConfig config = envConfig;
+        if (config == null) {
+            synchronized (DriverFactory.class) {
+                config = envConfig;
+                if (config == null) {
+                    config = parseDriverConfigFromEnv();
+                    envConfig = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Re-reads the environment variables and replaces the config returned by
+     * {@link #getDriverConfigFromEnv()}.
+     *
+     * @return The new DriverConfig
+     */
+    public static synchronized DriverConfig reloadDriverConfigFromEnv() {
+        envConfig = parseDriverConfigFromEnv();
+        return envConfig;
+    }
+
+    private static DriverConfig parseDriverConfigFromEnv() {
+        DriverConfig.Builder config = DriverConfig.builder();
 
         // Browser
-        String browser = Env.getOptionalEnv("BROWSER", "chrome").trim().toLowerCase();
+        String browser = OptionalEnv.get("BROWSER", "chrome").trim().toLowerCase();
         if (!browser.equals("chrome") && !browser.equals("firefox") && !browser.equals("edge")) {
             logger.warn("Unsupported BROWSER='{}'; falling back to 'chrome'.", browser);
             browser = "chrome";
         }
-        config.setBrowser(browser);
+        config.browser(browser);
 
         // Headless
-        config.setHeadless(envBool("HEADLESS", false));
+        config.headless(envBool("HEADLESS", false));
 
         // Remote URL
-        config.setRemoteUrl(Env.getOptionalEnv("SELENIUM_REMOTE_URL", null));
+        config.remoteUrl(OptionalEnv.get("SELENIUM_REMOTE_URL", null));
 
         // Window size
-        config.setWindowWidth(envInt("WINDOW_WIDTH", 1920));
-        config.setWindowHeight(envInt("WINDOW_HEIGHT", 1080));
+        config.windowWidth(envInt("WINDOW_WIDTH", 1920));
+        config.windowHeight(envInt("WINDOW_HEIGHT", 1080));
 
         // Timeouts
-        config.setPageLoadTimeout(envInt("PAGE_LOAD_TIMEOUT", 60));
-        config.setImplicitWait(envInt("IMPLICIT_WAIT", 0));
+        config.pageLoadTimeout(envInt("PAGE_LOAD_TIMEOUT", 60));
+        config.implicitWait(envInt("IMPLICIT_WAIT", 0));
 
-        logger.info("Using DriverConfig from environment: {}", config);
-        return config;
+        String strategy = OptionalEnv.get("PAGE_LOAD_STRATEGY", "normal").trim().toLowerCase();
+        if (!DriverConfig.PAGE_LOAD_STRATEGIES.contains(strategy)) {
+            logger.warn("Unsupported PAGE_LOAD_STRATEGY='{}'; falling back to 'normal'.", strategy);
+            strategy = "normal";
+        }
+        config.pageLoadStrategy(strategy);
+
+        // Remote HTTP client
+        config.remoteConnectTimeout(envInt("REMOTE_CONNECT_TIMEOUT", 10));
+        config.remoteReadTimeout(envInt("REMOTE_READ_TIMEOUT", 180));
+        config.remoteKeepAlive(envInt("REMOTE_KEEP_ALIVE", 300));
+        config.remoteMaxConnections(envInt("REMOTE_MAX_CONNECTIONS", 0));
+
+        // Profile template
+        config.profileTemplateDir(OptionalEnv.get("CHROME_PROFILE_TEMPLATE", null));
+
+        // Performance profile
+        String profile = OptionalEnv.get("PERFORMANCE_PROFILE", "default").trim().toLowerCase();
+        if (!DriverConfig.PERFORMANCE_PROFILES.contains(profile)) {
+            logger.warn("Unsupported PERFORMANCE_PROFILE='{}'; falling back to 'default'.", profile);
+            profile = "default";
+        }
+        config.performanceProfile(profile);
+
+        DriverConfig built = config.build();
+        logger.info("Using DriverConfig from environment: {}", built);
+        return built;
     }
 
     /**
@@ -171,36 +650,208 @@ public class DriverFactory {
      * <p>Selenium Manager (built into Selenium 4+) automatically downloads and manages
      * browser drivers, so no external driver manager is needed.</p>
      *
+     * <p>With DRIVER_CACHE (or a pinned DRIVER_CACHE_DIR) the Selenium Manager result is
+     * cached on disk and reused, see {@link DriverBinaryCache}.</p>
+     *
+     * <p>With a shared DRIVER_SERVICE_SCOPE the session is opened against a long-lived driver
+     * service from {@link DriverServices} instead of spawning a new one.</p>
+     *
+     * <p>Otherwise the driver service is resolved and started here rather than inside the
+     * driver constructor, so that binary resolution, service start and the session handshake
+     * are timed as separate phases.</p>
+     *
      * @param config The driver configuration
+     * @param timing Receives the resolve/service/session phases
      * @return A local WebDriver instance
      */
-    private static WebDriver createLocalDriver(DriverConfig config) {
+    static WebDriver createLocalDriver(DriverConfig config, DriverMetrics.Timing timing) {
         String browser = config.getBrowser();
         logger.info("Creating local WebDriver for browser={}", browser);
+        boolean shared = DriverServices.isShared();
 
         switch (browser) {
             case "chrome":
-                return new ChromeDriver(getChromeOptions(config));
+                ChromeOptions chromeOptions = getChromeOptions(config);
+                if (shared) {
+                    return launchWithProfile(config, chromeOptions,
+                            () -> DriverServices.newSession(browser, chromeOptions, timing));
+                }
+                ChromeDriverService chromeService =
+                        startService(browser, ChromeDriverService.createDefaultService(), chromeOptions, timing);
+                return launchWithProfile(config, chromeOptions, () -> openSession(chromeService, timing,
+                        () -> new ChromeDriver(chromeService, chromeOptions)));
             case "firefox":
-                return new FirefoxDriver(getFirefoxOptions(config));
+                if (config.getProfileTemplateDir() != null) {
+                    logger.debug("Profile templates are only supported for Chrome/Edge; ignoring for firefox");
+                }
+                FirefoxOptions firefoxOptions = getFirefoxOptions(config);
+                if (shared) {
+                    return DriverServices.newSession(browser, firefoxOptions, timing);
+                }
+                GeckoDriverService geckoService =
+                        startService(browser, GeckoDriverService.createDefaultService(), firefoxOptions, timing);
+                return openSession(geckoService, timing, () -> new FirefoxDriver(geckoService, firefoxOptions));
             case "edge":
-                return new EdgeDriver(getEdgeOptions(config));
+                EdgeOptions edgeOptions = getEdgeOptions(config);
+                if (shared) {
+                    return launchWithProfile(config, edgeOptions,
+                            () -> DriverServices.newSession(browser, edgeOptions, timing));
+                }
+                EdgeDriverService edgeService =
+                        startService(browser, EdgeDriverService.createDefaultService(), edgeOptions, timing);
+                return launchWithProfile(config, edgeOptions, () -> openSession(edgeService, timing,
+                        () -> new EdgeDriver(edgeService, edgeOptions)));
             default:
                 throw new IllegalArgumentException("Unsupported browser for local driver: " + browser);
         }
     }
 
+    /**
+     * Resolves the driver binary for a per-session service and starts it.
+     *
+     * <p>Resolution works as in the driver constructors: DRIVER_CACHE / DRIVER_CACHE_DIR via
+     * {@link DriverBinaryCache}, otherwise Selenium Manager through {@link DriverFinder}; a
+     * browser binary it downloaded is set on the options.</p>
+     *
+     * @param browser The browser
+     * @param service The (not yet started) service
+     * @param options The browser options
+     * @param timing  Receives the resolve and service phases
+     * @return The running service
+     */
+    private static <S extends DriverService> S startService(String browser, S service,
+                                                           MutableCapabilities options,
+                                                           DriverMetrics.Timing timing) {
+        timing.time("resolve", () -> {
+            DriverBinaryCache.apply(browser, options);
+            DriverFinder finder = new DriverFinder(service, options);
+            service.setExecutable(finder.getDriverPath());
+            if (finder.hasBrowserPath()) {
+                if (options instanceof ChromiumOptions) {
+                    ((ChromiumOptions<?>) options).setBinary(finder.getBrowserPath());
+                } else if (options instanceof FirefoxOptions) {
+                    ((FirefoxOptions) options).setBinary(finder.getBrowserPath());
+                }
+                options.setCapability("browserVersion", (Object) null);
+            }
+        });
+        timing.time("service", () -> {
+            try {
+                service.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start driver service " + service.getExecutable(), e);
+            }
+        });
+        return service;
+    }
+
+    /**
+     * Opens a session on a started per-session service, stopping the service if that fails.
+     */
+    private static WebDriver openSession(DriverService service, DriverMetrics.Timing timing,
+                                         Supplier<WebDriver> constructor) {
+        try {
+            return timing.time("session", constructor);
+        } catch (RuntimeException e) {
+            service.stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Launches a Chromium browser on a private clone of the configured profile template.
+     *
+     * <p>Without a template (or if it has not been built yet) the browser is launched with
+     * a fresh profile as before.</p>
+     *
+     * @param config   The driver configuration
+     * @param options  The Chrome/Edge options to add {@code --user-data-dir} to
+     * @param launcher Creates the driver from the (updated) options
+     * @return The launched driver
+     */
+    private static WebDriver launchWithProfile(DriverConfig config, ChromiumOptions<?> options,
+                                               Supplier<WebDriver> launcher) {
+        if (config.getProfileTemplateDir() == null) {
+            return launcher.get();
+        }
+        Path profile = ChromeProfileTemplate.cloneForSession(Paths.get(config.getProfileTemplateDir()));
+        if (profile == null) {
+            return launcher.get();
+        }
+        options.addArguments("--user-data-dir=" + profile);
+        try {
+            WebDriver driver = launcher.get();
+            SESSION_PROFILES.put(driver, profile);
+            return driver;
+        } catch (RuntimeException e) {
+            ChromeProfileTemplate.delete(profile);
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the Chrome/Edge profile template configured on {@code config}, once per machine.
+     *
+     * <p>Launches a local browser on an empty user-data-dir, visits {@code warmUpUrl} so the
+     * profile and HTTP cache are populated, quits, and publishes the directory as the template.
+     * Does nothing if the template already exists or no template is configured.</p>
+     *
+     * @param config    The driver configuration (browser must be "chrome" or "edge")
+     * @param warmUpUrl Page to visit while building, e.g. the application's login page
+     */
+    public static void buildProfileTemplate(DriverConfig config, String warmUpUrl) {
+        if (config.getProfileTemplateDir() == null) {
+            return;
+        }
+        Path template = Paths.get(config.getProfileTemplateDir()).toAbsolutePath();
+        if (ChromeProfileTemplate.isBuilt(template)) {
+            return;
+        }
+        if (!config.getBrowser().equals("chrome") && !config.getBrowser().equals("edge")) {
+            logger.warn("Profile templates are only supported for Chrome/Edge; not building {}", template);
+            return;
+        }
+
+        logger.info("Building Chrome profile template {} from {}", template, warmUpUrl);
+        Path staging;
+        try {
+            Files.createDirectories(template.getParent());
+            staging = Files.createTempDirectory(template.getParent(), template.getFileName() + ".building-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create staging directory for " + template, e);
+        }
+
+        ChromiumOptions<?> options = config.getBrowser().equals("edge") ? getEdgeOptions(config) : getChromeOptions(config);
+        options.addArguments("--user-data-dir=" + staging);
+        DriverBinaryCache.apply(config.getBrowser(), options);
+        WebDriver driver = options instanceof EdgeOptions
+                ? new EdgeDriver((EdgeOptions) options)
+                : new ChromeDriver((ChromeOptions) options);
+        try {
+            driver.get(warmUpUrl);
+        } finally {
+            driver.quit();
+        }
+        ChromeProfileTemplate.publish(staging, template);
+    }
+
     /**
      * Creates a Remote WebDriver for Selenium Grid execution.
      *
-     * <p>Uses the same browser and headless settings but connects via the remote URL.</p>
+     * <p>Uses the same browser and headless settings but connects via the remote URL.
+     * The session is built with {@code RemoteWebDriver.builder()} using the client settings of
+     * {@link #remoteClientConfig(DriverConfig, URL)}, and is augmented (e.g. with
+     * {@code HasDevTools}) when the grid supports it.</p>
+     *
+     * <p>If the remote URL lists several endpoints, {@link GridBalancer} picks the endpoint
+     * and retries on the others when session creation fails.</p>
      *
      * @param config The driver configuration
      * @return A remote WebDriver instance
      * @throws IllegalArgumentException if remote URL is not set
      * @throws RuntimeException if the remote URL is malformed
      */
-    private static WebDriver createRemoteDriver(DriverConfig config) {
+    private static WebDriver createRemoteDriver(DriverConfig config, DriverMetrics.Timing timing) {
         String remoteUrl = config.getRemoteUrl();
         if (remoteUrl == null || remoteUrl.trim().isEmpty()) {
             throw new IllegalArgumentException("remoteUrl must be set on DriverConfig to use remote driver.");
@@ -209,31 +860,142 @@ public class DriverFactory {
         String browser = config.getBrowser();
         logger.info("Creating remote WebDriver for browser={} at {}", browser, remoteUrl);
 
+        Capabilities options;
+        switch (browser) {
+            case "chrome":
+                options = getChromeOptions(config);
+                break;
+            case "firefox":
+                options = getFirefoxOptions(config);
+                break;
+            case "edge":
+                options = getEdgeOptions(config);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser for remote driver: " + browser);
+        }
+
+        // Before any JDK HttpClient exists, the grid balancer's status client included
+        configureConnectionPool(config);
+        List<String> urls = config.getRemoteUrls();
+        if (urls.size() == 1) {
+            return timing.time("session", () -> createRemoteSession(config, urls.get(0), options));
+        }
+        return timing.time("session",
+                () -> GridBalancer.createSession(urls, url -> createRemoteSession(config, url, options)));
+    }
+
+    private static WebDriver createRemoteSession(DriverConfig config, String remoteUrl, Capabilities options) {
         try {
             URL url = new URL(remoteUrl);
-            switch (browser) {
-                case "chrome":
-                    return new RemoteWebDriver(url, getChromeOptions(config));
-                case "firefox":
-                    return new RemoteWebDriver(url, getFirefoxOptions(config));
-                case "edge":
-                    return new RemoteWebDriver(url, getEdgeOptions(config));
-                default:
-                    throw new IllegalArgumentException("Unsupported browser for remote driver: " + browser);
-            }
+            return RemoteWebDriver.builder()
+                    .oneOf(options)
+                    .config(remoteClientConfig(config, url))
+                    .build();
         } catch (MalformedURLException e) {
             throw new RuntimeException("Invalid remote URL: " + remoteUrl, e);
         }
     }
 
+    /**
+     * Builds the HTTP client configuration for a remote session.
+     *
+     * <p>Each remote session gets its own JDK HTTP client, which keeps connections to the grid
+     * alive and reuses them for the next command instead of reconnecting. The keep-alive time
+     * and pool size of that connection pool are JVM-wide settings, so they are applied once,
+     * before the first remote client is created; explicit {@code -Djdk.httpclient.*}
+     * system properties take precedence.</p>
+     *
+     * @param config The driver configuration
+     * @param url    The remote endpoint
+     * @return Client configuration with the configured timeouts
+     */
+    static ClientConfig remoteClientConfig(DriverConfig config, URL url) {
+        configureConnectionPool(config);
+        return ClientConfig.defaultConfig()
+                .baseUrl(url)
+                .connectionTimeout(Duration.ofSeconds(config.getRemoteConnectTimeout()))
+                .readTimeout(Duration.ofSeconds(config.getRemoteReadTimeout()));
+    }
+
+    /**
+     * Applies the remote connection pool settings of the environment config, unless a
+     * config's settings were applied already.
+     *
+     * <p>The JDK reads the pool properties once, when its first HTTP client is created. Code
+     * that creates a JDK client before the first remote session (such as
+     * {@link GridBalancer}'s status checks) calls this first.</p>
+     */
+    static void ensureConnectionPoolConfigured() {
+        if (!poolConfigured) {
+            configureConnectionPool(getDriverConfigFromEnv());
+        }
+    }
+
+    private static synchronized void configureConnectionPool(DriverConfig config) {
+        poolConfigured = true;
+        applyPoolProperty("jdk.httpclient.keepalive.timeout", config.getRemoteKeepAlive(), "remoteKeepAlive");
+        applyPoolProperty("jdk.httpclient.connectionPoolSize", config.getRemoteMaxConnections(),
+                "remoteMaxConnections");
+    }
+
+    /**
+     * Sets a connection pool property unless it is already set, and warns once per value when
+     * a config asks for something other than the value in effect.
+     */
+    private static void applyPoolProperty(String property, int value, String setting) {
+        String current = System.getProperty(property);
+        if (current == null) {
+            System.setProperty(property, String.valueOf(value));
+        } else if (!current.equals(String.valueOf(value)) && POOL_WARNINGS.add(property + "=" + value)) {
+            logger.warn("Ignoring {}={}: the JVM-wide HTTP connection pool already uses {}={}",
+                    setting, value, property, current);
+        }
+    }
+
+    /**
+     * Gets a private copy of the options built for a config.
+     *
+     * <p>Options are built once per (equal) config and copied for every session, because
+     * launching adds session-specific values to them (browser binary, {@code --user-data-dir}).</p>
+     *
+     * @param config  The driver configuration
+     * @param builder Builds the options on first use
+     * @return A copy the caller may modify
+     */
+    @SuppressWarnings("unchecked")
+    private static <O extends MutableCapabilities> O options(DriverConfig config, Function<DriverConfig, O> builder) {
+        MutableCapabilities template = OPTIONS.computeIfAbsent(config, builder);
+        if (template instanceof ChromeOptions) {
+            return (O) ((ChromeOptions) template).merge(new ImmutableCapabilities());
+        } else if (template instanceof EdgeOptions) {
+            return (O) ((EdgeOptions) template).merge(new ImmutableCapabilities());
+        } else {
+            return (O) ((FirefoxOptions) template).merge(new ImmutableCapabilities());
+        }
+    }
+
+    private static ChromeOptions getChromeOptions(DriverConfig config) {
+        return options(config, DriverFactory::buildChromeOptions);
+    }
+
+    private static FirefoxOptions getFirefoxOptions(DriverConfig config) {
+        return options(config, DriverFactory::buildFirefoxOptions);
+    }
+
+    private static EdgeOptions getEdgeOptions(DriverConfig config) {
+        return options(config, DriverFactory::buildEdgeOptions);
+    }
+
     /**
      * Builds ChromeOptions based on configuration.
      *
      * @param config The driver configuration
      * @return Configured ChromeOptions
      */
-    private static ChromeOptions getChromeOptions(DriverConfig config) {
+    private static ChromeOptions buildChromeOptions(DriverConfig config) {
         ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(config.getPageLoadStrategy()));
         if (config.isHeadless()) {
             options.addArguments("--headless=new");
         }
@@ -246,6 +1008,7 @@ public class DriverFactory {
         options.addArguments(
             String.format("--window-size=%d,%d", config.getWindowWidth(), config.getWindowHeight())
         );
+        applyPerformanceProfile(options, config.getPerformanceProfile());
         return options;
     }
 
@@ -255,11 +1018,13 @@ public class DriverFactory {
      * @param config The driver configuration
      * @return Configured FirefoxOptions
      */
-    private static FirefoxOptions getFirefoxOptions(DriverConfig config) {
+    private static FirefoxOptions buildFirefoxOptions(DriverConfig config) {
         FirefoxOptions options = new FirefoxOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(config.getPageLoadStrategy()));
         if (config.isHeadless()) {
             options.addArguments("-headless");
         }
+        applyPerformanceProfile(options, config.getPerformanceProfile());
         return options;
     }
 
@@ -269,8 +1034,9 @@ public class DriverFactory {
      * @param config The driver configuration
      * @return Configured EdgeOptions
      */
-    private static EdgeOptions getEdgeOptions(DriverConfig config) {
+    private static EdgeOptions buildEdgeOptions(DriverConfig config) {
         EdgeOptions options = new EdgeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.fromString(config.getPageLoadStrategy()));
         if (config.isHeadless()) {
             options.addArguments("--headless=new");
         }
@@ -278,24 +1044,66 @@ public class DriverFactory {
         options.addArguments(
             String.format("--window-size=%d,%d", config.getWindowWidth(), config.getWindowHeight())
         );
+        applyPerformanceProfile(options, config.getPerformanceProfile());
         return options;
     }
 
+    /**
+     * Adds the Chrome/Edge switches of a performance profile.
+     *
+     * <ul>
+     *   <li>"fast" - turns off background networking, component updates, translate, sync,
+     *       default apps, first-run work and background throttling of the test tab</li>
+     *   <li>"lean-memory" - "fast" plus a renderer process limit, no per-site process isolation
+     *       and a 32 MB disk cache</li>
+     * </ul>
+     *
+     * @param options The Chrome or Edge options
+     * @param profile "default", "fast" or "lean-memory"
+     */
+    private static void applyPerformanceProfile(ChromiumOptions<?> options, String profile) {
+        if (profile.equals("default")) {
+            return;
+        }
+        options.addArguments(CHROMIUM_FAST_ARGS);
+        if (profile.equals("lean-memory")) {
+            options.addArguments(CHROMIUM_LEAN_MEMORY_ARGS);
+        }
+    }
+
+    /**
+     * Sets the Firefox preferences of a performance profile.
+     *
+     * <ul>
+     *   <li>"fast" - turns off telemetry, health reports, safebrowsing, update checks
+     *       and default-browser checks</li>
+     *   <li>"lean-memory" - "fast" plus a single content process, no cached page viewers
+     *       and a 32 MB disk cache</li>
+     * </ul>
+     *
+     * @param options The Firefox options
+     * @param profile "default", "fast" or "lean-memory"
+     */
+    private static void applyPerformanceProfile(FirefoxOptions options, String profile) {
+        if (profile.equals("default")) {
+            return;
+        }
+        FIREFOX_FAST_PREFS.forEach(options::addPreference);
+        if (profile.equals("lean-memory")) {
+            FIREFOX_LEAN_MEMORY_PREFS.forEach(options::addPreference);
+        }
+    }
+
     /**
      * Parses a boolean value from environment variable.
      *
      * @param name The environment variable name
      * @param defaultValue The default value if not set
      * @return The boolean value
+     * @see OptionalEnv#getBoolean(String, boolean)
      */
-    private static boolean envBool(String name, boolean defaultValue) {
-        String raw = Env.getOptionalEnv(name, null);
-        if (raw == null) {
-            return defaultValue;
-        }
-        String normalized = raw.trim().toLowerCase();
-        return normalized.equals("1") || normalized.equals("true") ||
-               normalized.equals("yes") || normalized.equals("y") || normalized.equals("on");
+    static boolean envBool(String name, boolean defaultValue) {
+        return OptionalEnv.getBoolean(name, defaultValue);
     }
 
     /**
@@ -305,8 +1113,8 @@ public class DriverFactory {
      * @param defaultValue The default value if not set or invalid
      * @return The integer value
      */
-    private static int envInt(String name, int defaultValue) {
-        String raw = Env.getOptionalEnv(name, null);
+    static int envInt(String name, int defaultValue) {
+        String raw = OptionalEnv.get(name, null);
         if (raw == null) {
             return defaultValue;
         }
@@ -318,6 +1126,26 @@ public class DriverFactory {
         }
     }
 
+    /**
+     * Parses a decimal value from environment variable.
+     *
+     * @param name The environment variable name
+     * @param defaultValue The default value if not set or invalid
+     * @return The decimal value
+     */
+    static double envDouble(String name, double defaultValue) {
+        String raw = OptionalEnv.get(name, null);
+        if (raw == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(raw.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid number for {}='{}'; using default {}", name, raw, defaultValue);
+            return defaultValue;
+        }
+    }
+
     // Private constructor to prevent instantiation
     private DriverFactory() {
         throw new AssertionError("DriverFactory should not be instantiated");
@@ -0,0 +1,361 @@
+package com.allied.framework.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of WebDriver startup timings, broken down into phases.
+ *
+ * <p>{@link DriverFactory} times every driver it creates and records the phases here, grouped
+ * by browser, headless mode and local vs remote (e.g. {@code chrome/headless/local}):</p>
+ * <ul>
+ *   <li>resolve - driver/browser binary resolution (Selenium Manager or {@link DriverBinaryCache})</li>
+ *   <li>service - starting chromedriver/msedgedriver/geckodriver (near zero with a shared
+ *       DRIVER_SERVICE_SCOPE once the service runs; with BROWSER_ISOLATION=context, launching
+ *       a host browser if one is needed)</li>
+ *   <li>session - the new session handshake, i.e. launching the browser (remote: the grid
+ *       request; BROWSER_ISOLATION=context: creating the context and attaching to it)</li>
+ *   <li>window - window resize</li>
+ *   <li>timeouts - page load / implicit wait setup</li>
+ *   <li>total - the whole {@code newDriver} call, including steps not listed above</li>
+ * </ul>
+ *
+ * <p>A per-run summary with count, p50/p90/p99, max and mean per group and phase is logged by
+ * DriverFactory's shutdown hook and, if DRIVER_METRICS_FILE is set, written there as CSV.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>DRIVER_METRICS_FILE = path - CSV file for the per-run summary (optional)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * DriverMetrics.reset();
+ * ... create and quit some drivers ...
+ * logger.info("Session handshake p90: {} ms",
+ *     DriverMetrics.percentileMillis("chrome/headless/local", "session", 90));
+ * logger.info("\n{}", DriverMetrics.summary());
+ * }</pre>
+ *
+ * @see DriverFactory
+ */
+public class DriverMetrics {
+    private static final org.slf4j.Logger logger = Logger.getLogger(DriverMetrics.class);
+
+    /** Phases in reporting order. */
+    public static final List<String> PHASES = List.of("resolve", "service", "session", "window", "timeouts", "total");
+
+    /** Samples in nanoseconds, per group and phase. */
+    private static final Map<String, Map<String, Samples>> GROUPS = new ConcurrentHashMap<>();
+
+    /**
+     * Starts timing the creation of a driver for the given config.
+     *
+     * @param config The driver configuration (determines the group)
+     * @return A timing whose phases are recorded when {@link Timing#finish()} is called
+     */
+    public static Timing start(DriverConfig config) {
+        return new Timing(group(config));
+    }
+
+    /**
+     * Gets a timing that measures nothing, for callers outside DriverFactory.
+     *
+     * @return A timing that only runs the timed actions
+     */
+    public static Timing untimed() {
+        return new Timing(null);
+    }
+
+    /**
+     * Gets the group name of a config.
+     *
+     * @param config The driver configuration
+     * @return e.g. {@code "chrome/headless/local"}
+     */
+    public static String group(DriverConfig config) {
+        boolean remote = config.getRemoteUrl() != null && !config.getRemoteUrl().trim().isEmpty();
+        return config.getBrowser()
+                + (config.isHeadless() ? "/headless" : "/headed")
+                + (remote ? "/remote" : "/local");
+    }
+
+    /**
+     * Gets a percentile of one phase.
+     *
+     * @param group      The group, see {@link #group(DriverConfig)}
+     * @param phase      One of {@link #PHASES}
+     * @param percentile 0-100
+     * @return The percentile in milliseconds, or -1 if nothing was recorded
+     */
+    public static double percentileMillis(String group, String phase, double percentile) {
+        Map<String, Samples> phases = GROUPS.get(group);
+        Samples samples = phases != null ? phases.get(phase) : null;
+        return samples != null ? samples.stats().percentile(percentile) : -1;
+    }
+
+    /**
+     * Gets the statistics of every recorded group and phase.
+     *
+     * @return Statistics ordered by group, then phase
+     */
+    public static List<PhaseStats> snapshot() {
+        List<PhaseStats> stats = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Samples>> group : new TreeMap<>(GROUPS).entrySet()) {
+            for (String phase : PHASES) {
+                Samples samples = group.getValue().get(phase);
+                if (samples != null) {
+                    stats.add(samples.stats().named(group.getKey(), phase));
+                }
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Formats the statistics as a table.
+     *
+     * @return One line per group and phase, or an empty string if nothing was recorded
+     */
+    public static String summary() {
+        List<PhaseStats> stats = snapshot();
+        if (stats.isEmpty()) {
+            return "";
+        }
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "%-24s %-9s %6s %9s %9s %9s %9s %9s", "group", "phase", "count",
+                "p50 ms", "p90 ms", "p99 ms", "max ms", "mean ms"));
+        for (PhaseStats stat : stats) {
+            table.append(String.format(Locale.ROOT, "%n%-24s %-9s %6d %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    stat.getGroup(), stat.getPhase(), stat.getCount(), stat.percentile(50),
+                    stat.percentile(90), stat.percentile(99), stat.getMax(), stat.getMean()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Writes the statistics as CSV.
+     *
+     * @param file The file to (over)write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(Path file) throws IOException {
+        List<String> rows = new ArrayList<>();
+        rows.add("group,phase,count,p50_ms,p90_ms,p99_ms,max_ms,mean_ms");
+        for (PhaseStats stat : snapshot()) {
+            rows.add(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f",
+                    stat.getGroup(), stat.getPhase(), stat.getCount(), stat.percentile(50),
+                    stat.percentile(90), stat.percentile(99), stat.getMax(), stat.getMean()));
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, rows);
+    }
+
+    /**
+     * Discards everything recorded so far (e.g. between benchmark rounds).
+     */
+    public static void reset() {
+        GROUPS.clear();
+    }
+
+    /**
+     * Logs the per-run summary and writes DRIVER_METRICS_FILE. Called by DriverFactory's
+     * shutdown hook.
+     */
+    static void report() {
+        String summary = summary();
+        if (summary.isEmpty()) {
+            return;
+        }
+        logger.info("WebDriver startup phases:\n{}", summary);
+        String file = OptionalEnv.get("DRIVER_METRICS_FILE", null);
+        if (file != null && !file.trim().isEmpty()) {
+            try {
+                writeCsv(Paths.get(file.trim()));
+                logger.info("WebDriver startup metrics written to {}", Paths.get(file.trim()).toAbsolutePath());
+            } catch (IOException e) {
+                logger.warn("Could not write DRIVER_METRICS_FILE {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private static void record(String group, Map<String, Long> phases) {
+        Map<String, Samples> samples = GROUPS.computeIfAbsent(group, g -> new ConcurrentHashMap<>());
+        phases.forEach((phase, nanos) -> samples.computeIfAbsent(phase, p -> new Samples()).add(nanos));
+    }
+
+    /**
+     * Phase timings of one driver creation.
+     */
+    public static final class Timing {
+        private final String group;
+        private final long startedAt = System.nanoTime();
+        private final Map<String, Long> phases = new LinkedHashMap<>();
+
+        private Timing(String group) {
+            this.group = group;
+        }
+
+        /**
+         * Runs an action and adds its duration to a phase.
+         *
+         * @param phase  The phase
+         * @param action The action
+         * @return The action's result
+         */
+        public <T> T time(String phase, Supplier<T> action) {
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } finally {
+                phases.merge(phase, System.nanoTime() - start, Long::sum);
+            }
+        }
+
+        /**
+         * Runs an action and adds its duration to a phase.
+         *
+         * @param phase  The phase
+         * @param action The action
+         */
+        public void time(String phase, Runnable action) {
+            time(phase, () -> {
+                action.run();
+                return null;
+            });
+        }
+
+        /**
+         * Records the phases and the total time since the timing was started.
+         *
+         * @return Total time in milliseconds
+         */
+        public long finish() {
+            long total = System.nanoTime() - startedAt;
+            phases.put("total", total);
+            if (group != null) {
+                record(group, phases);
+            }
+            return total / 1_000_000;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            phases.forEach((phase, nanos) -> text.append(text.length() == 0 ? "" : ", ")
+                    .append(phase).append('=').append(nanos / 1_000_000).append(" ms"));
+            return text.toString();
+        }
+    }
+
+    /**
+     * Statistics of one phase within one group.
+     */
+    public static final class PhaseStats {
+        private final String group;
+        private final String phase;
+        private final long[] sortedNanos;
+
+        private PhaseStats(String group, String phase, long[] sortedNanos) {
+            this.group = group;
+            this.phase = phase;
+            this.sortedNanos = sortedNanos;
+        }
+
+        private PhaseStats named(String group, String phase) {
+            return new PhaseStats(group, phase, sortedNanos);
+        }
+
+        /**
+         * @return The group, e.g. {@code "chrome/headless/local"}
+         */
+        public String getGroup() {
+            return group;
+        }
+
+        /**
+         * @return The phase
+         */
+        public String getPhase() {
+            return phase;
+        }
+
+        /**
+         * @return Number of samples
+         */
+        public int getCount() {
+            return sortedNanos.length;
+        }
+
+        /**
+         * @param percentile 0-100
+         * @return The percentile (nearest rank) in milliseconds, or -1 without samples
+         */
+        public double percentile(double percentile) {
+            if (sortedNanos.length == 0) {
+                return -1;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1e6;
+        }
+
+        /**
+         * @return The slowest sample in milliseconds, or -1 without samples
+         */
+        public double getMax() {
+            return sortedNanos.length == 0 ? -1 : sortedNanos[sortedNanos.length - 1] / 1e6;
+        }
+
+        /**
+         * @return The mean in milliseconds, or -1 without samples
+         */
+        public double getMean() {
+            return sortedNanos.length == 0 ? -1 : Arrays.stream(sortedNanos).average().orElse(0) / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "PhaseStats{group=%s, phase=%s, count=%d, p50=%.1f ms, p99=%.1f ms}",
+                    group, phase, getCount(), percentile(50), percentile(99));
+        }
+    }
+
+    /**
+     * Growable list of samples for one phase.
+     */
+    private static final class Samples {
+        private long[] values = new long[16];
+        private int size;
+
+        private synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        private synchronized PhaseStats stats() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            return new PhaseStats(null, null, sorted);
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private DriverMetrics() {
+        throw new AssertionError("DriverMetrics should not be instantiated");
+    }
+}
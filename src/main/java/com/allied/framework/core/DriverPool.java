@@ -0,0 +1,353 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of warm WebDriver sessions that are leased to tests and returned afterwards.
+ *
+ * <p>Starting Chrome and chromedriver costs seconds per test. The pool keeps a number of
+ * idle browsers per {@link DriverConfig} and hands them out instead of creating a new
+ * one for every test method. Returned browsers are reset before they are reused:</p>
+ * <ul>
+ *   <li>extra windows/tabs are closed (with BROWSER_ISOLATION=context only those of the
+ *       session's own browser context, see {@link BrowserContexts#closeOtherWindows})</li>
+ *   <li>localStorage and sessionStorage of the current page are cleared</li>
+ *   <li>cookies are deleted (all origins on Chromium, current origin elsewhere)</li>
+ *   <li>the browser is navigated to about:blank</li>
+ * </ul>
+ *
+ * <p>Sessions are recycled according to {@link DriverRecycler}: a browser that exceeds its
+ * use, age or JS heap limit, or fails the liveness probe, is quit on release and replaced
+ * in the background. Idle browsers are probed again before they are leased.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>DRIVER_POOL = "true" | "false" - lease pooled drivers in BaseTest (default: "false")</li>
+ *   <li>DRIVER_POOL_SIZE = integer - idle browsers kept per config (default: 2)</li>
+ *   <li>DRIVER_POOL_MAX_IDLE_SECONDS = integer - idle browsers older than this are quit (default: 300)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * @BeforeSuite
+ * public void warmUp() {
+ *     DriverPool.warmUp(DriverFactory.getDriverConfigFromEnv(), DriverPool.getPoolSize());
+ * }
+ *
+ * @BeforeMethod
+ * public void setUp() {
+ *     DriverPool.lease();            // also bound to DriverFactory.current()
+ * }
+ *
+ * @AfterMethod
+ * public void tearDown() {
+ *     DriverPool.releaseCurrent();   // reset and returned to the pool
+ * }
+ * }</pre>
+ *
+ * @see DriverFactory
+ * @see DriverConfig
+ */
+public class DriverPool {
+    private static final org.slf4j.Logger logger = Logger.getLogger(DriverPool.class);
+
+    /** Idle drivers per config, most recently returned first. */
+    private static final Map<DriverConfig, Deque<IdleDriver>> IDLE = new ConcurrentHashMap<>();
+
+    /** Warm-up launches in progress per config, counted until the browser is pooled or quit. */
+    private static final Map<DriverConfig, AtomicInteger> SPAWNING = new ConcurrentHashMap<>();
+
+    /** Drivers currently leased, mapped to the config they were created with. */
+    private static final Map<WebDriver, DriverConfig> LEASED = new ConcurrentHashMap<>();
+
+    /** Background browser launches for warm-up. */
+    private static final ExecutorService SPAWNER = Executors.newCachedThreadPool(DriverFactory.daemonThreads("driver-pool-spawner"));
+
+    /** Periodically quits browsers that have been idle too long. */
+    private static final ScheduledExecutorService EVICTOR =
+            Executors.newSingleThreadScheduledExecutor(DriverFactory.daemonThreads("driver-pool-evictor"));
+
+    static {
+        long period = Math.max(1, Math.min(getMaxIdleSeconds(), 30));
+        EVICTOR.scheduleWithFixedDelay(DriverPool::evictIdle, period, period, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Checks whether tests should lease drivers from the pool (DRIVER_POOL).
+     *
+     * @return true if pooling is enabled
+     */
+    public static boolean isEnabled() {
+        return DriverFactory.envBool("DRIVER_POOL", false);
+    }
+
+    /**
+     * Gets the number of idle browsers kept per config (DRIVER_POOL_SIZE).
+     *
+     * @return Pool size per config
+     */
+    public static int getPoolSize() {
+        return Math.max(0, DriverFactory.envInt("DRIVER_POOL_SIZE", 2));
+    }
+
+    /**
+     * Gets the maximum time a browser may sit idle before it is quit (DRIVER_POOL_MAX_IDLE_SECONDS).
+     *
+     * @return Maximum idle time in seconds
+     */
+    public static int getMaxIdleSeconds() {
+        return Math.max(1, DriverFactory.envInt("DRIVER_POOL_MAX_IDLE_SECONDS", 300));
+    }
+
+    /**
+     * Leases a driver for the environment configuration.
+     *
+     * @return A clean WebDriver bound to the calling thread
+     * @see #lease(DriverConfig)
+     */
+    public static WebDriver lease() {
+        return lease(DriverFactory.getDriverConfigFromEnv());
+    }
+
+    /**
+     * Leases a driver for the given configuration.
+     *
+     * <p>Returns an idle pooled browser when one is available, otherwise launches a new one.
+     * The first lease for a config also starts warming the pool up to {@link #getPoolSize()}
+     * in the background. The leased driver is bound to the calling thread, so it is also
+     * available via {@link DriverFactory#current()}.</p>
+     *
+     * @param config The driver configuration to use
+     * @return A clean WebDriver bound to the calling thread
+     */
+    public static WebDriver lease(DriverConfig config) {
+        // Exactly one thread creates the deque, so only one warms up on the first lease
+        boolean firstLease = IDLE.putIfAbsent(config, new ConcurrentLinkedDeque<>()) == null;
+        Deque<IdleDriver> idle = idleFor(config);
+
+        WebDriver driver = null;
+        IdleDriver candidate;
+        while (driver == null && (candidate = idle.pollFirst()) != null) {
+            if (candidate.isExpired()) {
+                logger.debug("Discarding expired pooled driver {}", candidate.driver);
+                DriverFactory.quit(candidate.driver);
+            } else if (!DriverRecycler.isAlive(candidate.driver)) {
+                logger.warn("Discarding unresponsive pooled driver {}", candidate.driver);
+                DriverFactory.quit(candidate.driver);
+            } else {
+                driver = candidate.driver;
+            }
+        }
+
+        if (driver == null) {
+            logger.info("No idle pooled driver for {}; launching a new one", config);
+            driver = DriverFactory.newDriver(config);
+        } else {
+            logger.debug("Leased pooled driver {}", driver);
+        }
+
+        if (firstLease) {
+            warmUp(config, getPoolSize());
+        }
+
+        DriverRecycler.recordUse(driver);
+        LEASED.put(driver, config);
+        DriverFactory.register(driver);
+        return driver;
+    }
+
+    /**
+     * Returns the calling thread's driver to the pool.
+     *
+     * <p>Does nothing if no driver is bound to the thread.</p>
+     */
+    public static void releaseCurrent() {
+        if (DriverFactory.hasCurrent()) {
+            release(DriverFactory.current());
+        }
+    }
+
+    /**
+     * Resets a leased driver and returns it to the pool.
+     *
+     * <p>The driver is quit instead if it was not leased from the pool, if
+     * {@link DriverRecycler} says it should be retired (a replacement is then launched in the
+     * background), if resetting it fails, or if the pool for its config is already full.</p>
+     *
+     * @param driver The driver to return
+     */
+    public static void release(WebDriver driver) {
+        DriverFactory.unregister(driver);
+        DriverConfig config = LEASED.remove(driver);
+        if (config == null) {
+            logger.warn("Driver {} was not leased from the pool; quitting it", driver);
+            DriverFactory.quit(driver);
+            return;
+        }
+
+        String reason = DriverRecycler.retirementReason(driver);
+        if (reason != null) {
+            logger.info("Retiring pooled driver {}: {}", driver, reason);
+            DriverFactory.quit(driver);
+            warmUp(config, getPoolSize());
+            return;
+        }
+
+        try {
+            reset(driver);
+        } catch (Exception e) {
+            logger.warn("Could not reset pooled driver {}; quitting it: {}", driver, e.getMessage());
+            DriverFactory.quit(driver);
+            return;
+        }
+
+        Deque<IdleDriver> idle = idleFor(config);
+        if (idle.size() >= getPoolSize()) {
+            DriverFactory.quit(driver);
+            return;
+        }
+        idle.offerFirst(new IdleDriver(driver));
+    }
+
+    /**
+     * Launches browsers in the background until the pool holds {@code count} idle drivers
+     * for the given config.
+     *
+     * <p>Launches still in progress count towards {@code count}, so concurrent calls (first
+     * leases on several threads, releases of retired drivers) do not launch extra browsers.</p>
+     *
+     * @param config The driver configuration to pre-spawn
+     * @param count  Target number of idle drivers
+     */
+    public static void warmUp(DriverConfig config, int count) {
+        Deque<IdleDriver> idle = idleFor(config);
+        AtomicInteger spawning = SPAWNING.computeIfAbsent(config, c -> new AtomicInteger());
+        int target = Math.min(count, getPoolSize());
+        int inFlight;
+        int missing;
+        do {
+            inFlight = spawning.get();
+            missing = target - idle.size() - inFlight;
+            if (missing <= 0) {
+                return;
+            }
+        } while (!spawning.compareAndSet(inFlight, inFlight + missing));
+
+        logger.info("Warming driver pool with {} browser(s) for {}", missing, config);
+        for (int i = 0; i < missing; i++) {
+            SPAWNER.submit(() -> {
+                try {
+                    WebDriver driver = DriverFactory.newDriver(config);
+                    if (idle.size() < getPoolSize()) {
+                        idle.offerLast(new IdleDriver(driver));
+                    } else {
+                        DriverFactory.quit(driver);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Could not pre-spawn pooled driver for {}: {}", config, e.getMessage());
+                } finally {
+                    spawning.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Quits every idle driver. Leased drivers are left to their tests.
+     */
+    public static void shutdown() {
+        List<IdleDriver> drained = new ArrayList<>();
+        for (Deque<IdleDriver> idle : IDLE.values()) {
+            IdleDriver entry;
+            while ((entry = idle.pollFirst()) != null) {
+                drained.add(entry);
+            }
+        }
+        if (!drained.isEmpty()) {
+            logger.info("Shutting down driver pool; quitting {} idle browser(s)", drained.size());
+        }
+        for (IdleDriver entry : drained) {
+            DriverFactory.quit(entry.driver);
+        }
+    }
+
+    /**
+     * Brings a browser back to a neutral state for the next test.
+     *
+     * @param driver The driver to reset
+     */
+    static void reset(WebDriver driver) {
+        BrowserContexts.closeOtherWindows(driver, null);
+
+        // Storage is per origin, so clear it before leaving the current page
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        } catch (Exception e) {
+            logger.debug("Could not clear web storage: {}", e.getMessage());
+        }
+
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+
+        driver.get("about:blank");
+    }
+
+    /**
+     * Quits idle drivers that have exceeded the maximum idle time.
+     */
+    private static void evictIdle() {
+        for (Deque<IdleDriver> idle : IDLE.values()) {
+            for (IdleDriver entry : idle) {
+                if (entry.isExpired() && idle.remove(entry)) {
+                    logger.debug("Evicting pooled driver {} after {}s idle", entry.driver, getMaxIdleSeconds());
+                    DriverFactory.quit(entry.driver);
+                }
+            }
+        }
+    }
+
+    private static Deque<IdleDriver> idleFor(DriverConfig config) {
+        return IDLE.computeIfAbsent(config, c -> new ConcurrentLinkedDeque<>());
+    }
+
+    /**
+     * An idle pooled driver and the time it was returned.
+     */
+    private static final class IdleDriver {
+        private final WebDriver driver;
+        private final long idleSince = System.nanoTime();
+
+        private IdleDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - idleSince > TimeUnit.SECONDS.toNanos(getMaxIdleSeconds());
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private DriverPool() {
+        throw new AssertionError("DriverPool should not be instantiated");
+    }
+}
@@ -0,0 +1,322 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Background quit with a per-session process reaper.
+ *
+ * <p>{@code driver.quit()} blocks while the browser shuts down (typically 0.5-2 s for Chrome),
+ * and a hung quit leaves chromedriver and a full browser process tree behind. This class runs
+ * quits on a background executor and remembers, for every local session, which processes
+ * belong to it:</p>
+ * <ul>
+ *   <li>the browser root process - found among this JVM's descendants by its
+ *       {@code --user-data-dir} / {@code --remote-debugging-port} (Chrome/Edge, from the
+ *       session capabilities) or taken from {@code moz:processID} (Firefox)</li>
+ *   <li>the driver service that launched it, if the session owns it (DRIVER_SERVICE_SCOPE
+ *       "session"); shared services from {@link DriverServices} are never killed</li>
+ * </ul>
+ *
+ * <p>If quit has not returned after QUIT_TIMEOUT, or processes of the session are still alive
+ * after it returned, exactly that tree is killed with {@link ProcessHandle#destroyForcibly()}.
+ * Unlike {@code SeleniumUtils.forceKillBrowser} this never touches other browsers on the
+ * machine. Process trees can be identified wherever the JDK exposes process command lines
+ * (Linux {@code /proc}); elsewhere only Firefox sessions are tracked.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>ASYNC_QUIT = "true" | "false" - {@code DriverFactory.quitCurrent()} returns without
+ *       waiting for the browser to shut down (default: "false")</li>
+ *   <li>QUIT_TIMEOUT = integer seconds - deadline after which a session's processes are killed
+ *       (default: 15)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * Future<?> quit = DriverFactory.quitAsync(driver);   // returns immediately
+ * ...
+ * DriverReaper.kill(otherDriver);                     // kill one hung session right away
+ * }</pre>
+ *
+ * <p>{@link DriverFactory} tracks every local driver it creates and routes all quits through
+ * this class; pending quits are awaited by its shutdown hook.</p>
+ *
+ * @see DriverFactory#quitAsync(WebDriver)
+ */
+public class DriverReaper {
+    private static final org.slf4j.Logger logger = Logger.getLogger(DriverReaper.class);
+
+    /** Extra time a synchronous quit waits after the deadline for the killed session to unwind. */
+    private static final long GRACE_MILLIS = 2000;
+
+    /** Process trees of tracked sessions. */
+    private static final Map<WebDriver, ProcessTree> TREES = new ConcurrentHashMap<>();
+
+    /** Quits still running, with the process tree of their session (if known). */
+    private static final Map<CompletableFuture<Void>, Optional<ProcessTree>> PENDING = new ConcurrentHashMap<>();
+
+    private static final ExecutorService QUITTERS = Executors.newCachedThreadPool(DriverFactory.daemonThreads("driver-quit"));
+
+    private static final ScheduledExecutorService WATCHDOG =
+            Executors.newSingleThreadScheduledExecutor(DriverFactory.daemonThreads("driver-reaper"));
+
+    /**
+     * Checks whether quitCurrent() should quit in the background (ASYNC_QUIT).
+     *
+     * @return true if asynchronous quit is enabled
+     */
+    public static boolean isAsyncQuitEnabled() {
+        return DriverFactory.envBool("ASYNC_QUIT", false);
+    }
+
+    /**
+     * Gets the deadline after which a session's processes are killed (QUIT_TIMEOUT).
+     *
+     * @return The quit deadline
+     */
+    public static Duration getQuitTimeout() {
+        return Duration.ofSeconds(Math.max(1, DriverFactory.envInt("QUIT_TIMEOUT", 15)));
+    }
+
+    /**
+     * Records the process tree of a newly created local session.
+     *
+     * <p>Does nothing if the browser process cannot be identified (remote sessions, or no
+     * access to process command lines).</p>
+     *
+     * @param driver The new driver
+     */
+    public static void track(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return;
+        }
+        try {
+            ProcessTree tree = ProcessTree.of(((HasCapabilities) driver).getCapabilities());
+            if (tree != null) {
+                TREES.put(driver, tree);
+                logger.debug("Tracking processes of {}: {}", driver, tree);
+            } else {
+                logger.debug("Could not identify the browser process of {}", driver);
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Could not identify the browser process of {}: {}", driver, e.getMessage());
+        }
+    }
+
+    /**
+     * Runs a quit on the background executor and reaps the session's processes.
+     *
+     * <p>If the quit has not finished after QUIT_TIMEOUT, the session's process tree is killed
+     * (which also makes a quit blocked on the dead driver return). Processes still alive once
+     * the quit has finished are killed as well.</p>
+     *
+     * @param driver  The driver being quit
+     * @param quitter Performs the quit; must not throw
+     * @return Completes when the quit has finished
+     */
+    public static CompletableFuture<Void> quit(WebDriver driver, Runnable quitter) {
+        Optional<ProcessTree> tree = Optional.ofNullable(TREES.remove(driver));
+        CompletableFuture<Void> done = CompletableFuture.runAsync(quitter, QUITTERS);
+        PENDING.put(done, tree);
+
+        long timeoutMillis = getQuitTimeout().toMillis();
+        ScheduledFuture<?> watchdog = WATCHDOG.schedule(() -> {
+            if (!done.isDone()) {
+                logger.warn("Quit of {} did not return within {} ms; killing its processes {}",
+                        driver, timeoutMillis, tree.map(Object::toString).orElse("(unknown)"));
+                tree.ifPresent(ProcessTree::kill);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+        done.whenComplete((result, error) -> {
+            watchdog.cancel(false);
+            PENDING.remove(done);
+            int killed = tree.map(ProcessTree::kill).orElse(0);
+            if (killed > 0) {
+                logger.warn("{} process(es) of {} outlived quit; killed them", killed, driver);
+            }
+        });
+        return done;
+    }
+
+    /**
+     * Waits for a quit started by {@link #quit(WebDriver, Runnable)}.
+     *
+     * <p>Returns at the latest shortly after QUIT_TIMEOUT; the watchdog has killed the
+     * session's processes by then.</p>
+     *
+     * @param quit The pending quit
+     */
+    public static void await(Future<?> quit) {
+        try {
+            quit.get(getQuitTimeout().toMillis() + GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Quit still running after {} s; continuing without it", getQuitTimeout().getSeconds());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("Quit failed: {}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Kills the process tree of a tracked session immediately.
+     *
+     * @param driver The driver whose browser (and owned driver service) should be killed
+     * @return Number of processes killed
+     */
+    public static int kill(WebDriver driver) {
+        ProcessTree tree = TREES.get(driver);
+        return tree == null ? 0 : tree.kill();
+    }
+
+    /**
+     * Waits for all pending quits up to QUIT_TIMEOUT, then kills the processes of those that
+     * still have not finished. Called by DriverFactory's shutdown hook.
+     */
+    static void awaitPending() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        logger.info("Waiting for {} pending WebDriver quit(s)", PENDING.size());
+        try {
+            CompletableFuture.allOf(PENDING.keySet().toArray(new CompletableFuture<?>[0]))
+                    .get(getQuitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            PENDING.values().forEach(tree -> tree.ifPresent(ProcessTree::kill));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The processes belonging to one local session.
+     */
+    private static final class ProcessTree {
+        private final ProcessHandle browser;
+        private final ProcessHandle service;
+
+        private ProcessTree(ProcessHandle browser, ProcessHandle service) {
+            this.browser = browser;
+            this.service = service;
+        }
+
+        /**
+         * Identifies the browser (and owned driver service) of a session from its capabilities.
+         *
+         * @return The process tree, or null if the browser process cannot be found
+         */
+        private static ProcessTree of(Capabilities capabilities) {
+            ProcessHandle browser = findBrowser(capabilities);
+            if (browser == null) {
+                return null;
+            }
+            // The driver service is owned by the session unless it is shared; it is then a
+            // direct child of this JVM with the browser as its child.
+            ProcessHandle service = null;
+            if (!DriverServices.isShared()) {
+                service = browser.parent()
+                        .filter(parent -> parent.parent().map(ProcessHandle.current()::equals).orElse(false))
+                        .orElse(null);
+            }
+            return new ProcessTree(browser, service);
+        }
+
+        private static ProcessHandle findBrowser(Capabilities capabilities) {
+            Object firefoxPid = capabilities.getCapability("moz:processID");
+            if (firefoxPid instanceof Number) {
+                return ProcessHandle.of(((Number) firefoxPid).longValue()).orElse(null);
+            }
+
+            List<String> markers = new ArrayList<>();
+            for (String vendor : List.of("chrome", "msedge")) {
+                Object userDataDir = nested(capabilities, vendor, "userDataDir");
+                if (userDataDir != null) {
+                    markers.add("--user-data-dir=" + userDataDir);
+                }
+            }
+            for (String vendor : List.of("goog:chromeOptions", "ms:edgeOptions")) {
+                Object address = nested(capabilities, vendor, "debuggerAddress");
+                if (address != null) {
+                    String port = address.toString().substring(address.toString().lastIndexOf(':') + 1);
+                    if (!port.equals("0")) {
+                        markers.add("--remote-debugging-port=" + port);
+                    }
+                }
+            }
+            if (markers.isEmpty()) {
+                return null;
+            }
+
+            // The root is the matching process whose parent does not match (renderers,
+            // GPU and utility processes inherit the switches of the browser process).
+            Predicate<ProcessHandle> matches = process -> process.info().arguments()
+                    .map(arguments -> Arrays.stream(arguments).anyMatch(markers::contains))
+                    .orElse(false);
+            return ProcessHandle.current().descendants()
+                    .filter(matches)
+                    .filter(process -> !process.parent().map(matches::test).orElse(false))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        private static Object nested(Capabilities capabilities, String capability, String key) {
+            Object value = capabilities.getCapability(capability);
+            return value instanceof Map ? ((Map<?, ?>) value).get(key) : null;
+        }
+
+        /**
+         * Kills the browser, its descendants and the owned driver service.
+         *
+         * @return Number of processes that were still alive
+         */
+        private int kill() {
+            List<ProcessHandle> victims = new ArrayList<>();
+            // Collect the whole tree before killing anything, so orphaned children are not missed
+            for (ProcessHandle root : service != null ? List.of(service, browser) : List.of(browser)) {
+                if (root.isAlive()) {
+                    for (ProcessHandle process : ProcessStats.tree(root)) {
+                        if (!victims.contains(process)) {
+                            victims.add(process);
+                        }
+                    }
+                }
+            }
+            victims.forEach(ProcessHandle::destroyForcibly);
+            return victims.size();
+        }
+
+        @Override
+        public String toString() {
+            return "ProcessTree{" +
+                    "browser=" + browser.pid() +
+                    ", service=" + (service != null ? service.pid() : "not owned") +
+                    '}';
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private DriverReaper() {
+        throw new AssertionError("DriverReaper should not be instantiated");
+    }
+}
@@ -0,0 +1,237 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recycling policy for long-lived (pooled) WebDriver sessions.
+ *
+ * <p>A browser that is reused for many tests slowly accumulates memory and occasionally
+ * ends up with a hung renderer. This class keeps per-session statistics and decides when a
+ * session should be retired and replaced:</p>
+ * <ul>
+ *   <li>use counter - number of times the session has been leased</li>
+ *   <li>age - time since the session was created</li>
+ *   <li>JS heap size - {@code performance.memory.usedJSHeapSize} (Chromium only)</li>
+ *   <li>liveness - {@code getWindowHandle()} must answer within a short timeout</li>
+ * </ul>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>DRIVER_MAX_USES = integer - retire after this many leases (default: 50, 0 = unlimited)</li>
+ *   <li>DRIVER_MAX_AGE_SECONDS = integer - retire sessions older than this (default: 1800, 0 = unlimited)</li>
+ *   <li>DRIVER_MAX_HEAP_MB = integer - retire when the JS heap exceeds this (default: 512, 0 = unlimited)</li>
+ *   <li>DRIVER_PROBE_TIMEOUT_MS = integer - liveness probe timeout (default: 2000)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * String reason = DriverRecycler.retirementReason(driver);
+ * if (reason != null) {
+ *     logger.info("Retiring {}: {}", driver, reason);
+ *     driver.quit();
+ * }
+ * }</pre>
+ *
+ * <p>{@link DriverPool} applies this policy on every lease and release; every driver created by
+ * {@link DriverFactory} is tracked automatically.</p>
+ *
+ * @see DriverPool
+ */
+public class DriverRecycler {
+    private static final org.slf4j.Logger logger = Logger.getLogger(DriverRecycler.class);
+
+    private static final String HEAP_SCRIPT =
+        "return (window.performance && performance.memory) ? performance.memory.usedJSHeapSize : -1;";
+
+    private static final Map<WebDriver, SessionStats> STATS = new ConcurrentHashMap<>();
+
+    /** Runs liveness probes so a hung browser cannot block the caller past the timeout. */
+    private static final ExecutorService PROBES = Executors.newCachedThreadPool(DriverFactory.daemonThreads("driver-probe"));
+
+    /**
+     * Starts tracking a newly created session.
+     *
+     * @param driver The new driver
+     */
+    public static void track(WebDriver driver) {
+        STATS.putIfAbsent(driver, new SessionStats());
+    }
+
+    /**
+     * Stops tracking a session (called when it is quit).
+     *
+     * @param driver The driver being quit
+     */
+    public static void untrack(WebDriver driver) {
+        STATS.remove(driver);
+    }
+
+    /**
+     * Records one more use (lease) of a session.
+     *
+     * @param driver The driver being handed to a test
+     */
+    public static void recordUse(WebDriver driver) {
+        STATS.computeIfAbsent(driver, d -> new SessionStats()).uses.incrementAndGet();
+    }
+
+    /**
+     * Gets the statistics of a tracked session.
+     *
+     * @param driver The driver
+     * @return The session statistics, or null if the driver is not tracked
+     */
+    public static SessionStats stats(WebDriver driver) {
+        return STATS.get(driver);
+    }
+
+    /**
+     * Checks a session against the configured limits.
+     *
+     * <p>Runs the liveness probe and samples the JS heap, so call it while the page the test
+     * left behind is still loaded (i.e. before resetting the browser).</p>
+     *
+     * @param driver The driver to check
+     * @return A human readable reason to retire the session, or null if it may be reused
+     */
+    public static String retirementReason(WebDriver driver) {
+        SessionStats stats = STATS.computeIfAbsent(driver, d -> new SessionStats());
+
+        int maxUses = DriverFactory.envInt("DRIVER_MAX_USES", 50);
+        if (maxUses > 0 && stats.getUses() >= maxUses) {
+            return String.format("used %d times (limit %d)", stats.getUses(), maxUses);
+        }
+
+        int maxAge = DriverFactory.envInt("DRIVER_MAX_AGE_SECONDS", 1800);
+        if (maxAge > 0 && stats.getAge().getSeconds() >= maxAge) {
+            return String.format("%ds old (limit %ds)", stats.getAge().getSeconds(), maxAge);
+        }
+
+        if (!isAlive(driver)) {
+            return "liveness probe failed";
+        }
+
+        int maxHeapMb = DriverFactory.envInt("DRIVER_MAX_HEAP_MB", 512);
+        long heap = sampleJsHeapBytes(driver);
+        stats.lastHeapBytes = heap;
+        if (maxHeapMb > 0 && heap > maxHeapMb * 1024L * 1024L) {
+            return String.format("JS heap %d MB (limit %d MB)", heap / (1024 * 1024), maxHeapMb);
+        }
+
+        return null;
+    }
+
+    /**
+     * Probes a session with {@code getWindowHandle()} using DRIVER_PROBE_TIMEOUT_MS.
+     *
+     * @param driver The driver to probe
+     * @return true if the browser answered in time
+     */
+    public static boolean isAlive(WebDriver driver) {
+        return isAlive(driver, Duration.ofMillis(DriverFactory.envInt("DRIVER_PROBE_TIMEOUT_MS", 2000)));
+    }
+
+    /**
+     * Probes a session with {@code getWindowHandle()}.
+     *
+     * @param driver  The driver to probe
+     * @param timeout Maximum time to wait for the answer
+     * @return true if the browser answered in time
+     */
+    public static boolean isAlive(WebDriver driver, Duration timeout) {
+        Future<String> probe = PROBES.submit(driver::getWindowHandle);
+        try {
+            probe.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            probe.cancel(true);
+            logger.warn("WebDriver {} did not answer within {} ms", driver, timeout.toMillis());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            logger.debug("Liveness probe failed for {}: {}", driver, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Samples {@code performance.memory.usedJSHeapSize} of the current page.
+     *
+     * @param driver The driver to sample
+     * @return Used JS heap in bytes, or -1 if the browser does not expose it
+     */
+    public static long sampleJsHeapBytes(WebDriver driver) {
+        try {
+            Object value = ((JavascriptExecutor) driver).executeScript(HEAP_SCRIPT);
+            return value instanceof Number ? ((Number) value).longValue() : -1;
+        } catch (Exception e) {
+            logger.debug("Could not sample JS heap: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Usage statistics of one browser session.
+     */
+    public static final class SessionStats {
+        private final Instant createdAt = Instant.now();
+        private final AtomicInteger uses = new AtomicInteger();
+        private volatile long lastHeapBytes = -1;
+
+        /**
+         * @return Number of times the session has been leased
+         */
+        public int getUses() {
+            return uses.get();
+        }
+
+        /**
+         * @return Time the session was created
+         */
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * @return Time since the session was created
+         */
+        public Duration getAge() {
+            return Duration.between(createdAt, Instant.now());
+        }
+
+        /**
+         * @return Last sampled JS heap size in bytes, or -1 if never sampled/unavailable
+         */
+        public long getLastHeapBytes() {
+            return lastHeapBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "SessionStats{" +
+                    "uses=" + uses.get() +
+                    ", ageSeconds=" + getAge().getSeconds() +
+                    ", lastHeapBytes=" + lastHeapBytes +
+                    '}';
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private DriverRecycler() {
+        throw new AssertionError("DriverRecycler should not be instantiated");
+    }
+}
@@ -0,0 +1,276 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Long-lived chromedriver/msedgedriver/geckodriver processes shared between sessions.
+ *
+ * <p>{@code new ChromeDriver(options)} resolves the driver binary with Selenium Manager,
+ * probes for a free port and spawns a new chromedriver for every session, and stops it again
+ * on {@code quit()}. With a shared scope the binaries are resolved once per browser (see
+ * {@link DriverBinaryCache}) and
+ * sessions are opened against an already running service instead, so every new session only
+ * spawns the browser itself.</p>
+ *
+ * <ul>
+ *   <li>chromedriver and msedgedriver serve any number of concurrent sessions, so one service
+ *       per browser (per JVM or per thread) is shared by all of them</li>
+ *   <li>geckodriver only accepts one session at a time, so Firefox services are kept in an idle
+ *       list and reused one session after another</li>
+ * </ul>
+ *
+ * <p>Sessions are opened as {@link RemoteWebDriver}s against the service URL and augmented,
+ * so Chromium sessions still implement {@code HasCdp}/{@code HasDevTools}. All services are
+ * stopped by {@link DriverFactory}'s shutdown hook after the remaining drivers have been quit.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>DRIVER_SERVICE_SCOPE = "session" | "jvm" | "thread" - lifetime of driver services
+ *       (default: "session", one service per driver as with {@code new ChromeDriver()})</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * // DRIVER_SERVICE_SCOPE=jvm
+ * WebDriver driver = DriverServices.newSession("chrome", chromeOptions);
+ * ...
+ * DriverFactory.quit(driver);   // ends the session, chromedriver keeps running
+ * }</pre>
+ *
+ * @see DriverFactory
+ */
+public class DriverServices {
+    private static final org.slf4j.Logger logger = Logger.getLogger(DriverServices.class);
+
+    /** Supported values of DRIVER_SERVICE_SCOPE. */
+    public static final List<String> SCOPES = List.of("session", "jvm", "thread");
+
+    /** Shared chromedriver/msedgedriver services, keyed by browser (and thread for scope "thread"). */
+    private static final Map<String, DriverService> SHARED = new ConcurrentHashMap<>();
+
+    /** Idle geckodriver services waiting for their next session. */
+    private static final Deque<DriverService> IDLE_GECKO = new ConcurrentLinkedDeque<>();
+
+    /** geckodriver services currently owned by a session. */
+    private static final Map<WebDriver, DriverService> LEASED_GECKO = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the configured service scope (DRIVER_SERVICE_SCOPE).
+     *
+     * @return "session", "jvm" or "thread"
+     */
+    public static String getScope() {
+        String scope = OptionalEnv.get("DRIVER_SERVICE_SCOPE", "session").trim().toLowerCase();
+        if (!SCOPES.contains(scope)) {
+            logger.warn("Unsupported DRIVER_SERVICE_SCOPE='{}'; falling back to 'session'.", scope);
+            return "session";
+        }
+        return scope;
+    }
+
+    /**
+     * Checks whether sessions should be opened against shared driver services.
+     *
+     * @return true unless DRIVER_SERVICE_SCOPE is "session"
+     */
+    public static boolean isShared() {
+        return !getScope().equals("session");
+    }
+
+    /**
+     * Opens a new session against a shared (or reused) driver service.
+     *
+     * @param browser The browser: "chrome", "edge" or "firefox"
+     * @param options The browser options; the resolved browser binary is set on them
+     * @return The new session
+     * @throws IllegalArgumentException if the browser is not supported
+     */
+    public static WebDriver newSession(String browser, Capabilities options) {
+        return newSession(browser, options, DriverMetrics.untimed());
+    }
+
+    /**
+     * Opens a new session against a shared (or reused) driver service, timing its phases.
+     *
+     * @param browser The browser: "chrome", "edge" or "firefox"
+     * @param options The browser options; the resolved browser binary is set on them
+     * @param timing  Receives the resolve/service phases (only when a service has to be
+     *                started) and the session phase
+     * @return The new session
+     */
+    static WebDriver newSession(String browser, Capabilities options, DriverMetrics.Timing timing) {
+        if (browser.equals("firefox")) {
+            return newGeckoSession((FirefoxOptions) options, timing);
+        }
+        DriverService service = sharedService(browser, options, timing);
+        applyBrowserBinary(browser, options);
+        return timing.time("session", () -> open(service, options));
+    }
+
+    /**
+     * Releases the service a session was using (called when the driver is quit).
+     *
+     * <p>Only geckodriver services are tied to a session; they are returned to the idle list, or
+     * stopped if geckodriver died with the session.</p>
+     *
+     * @param driver The driver that was quit
+     */
+    public static void release(WebDriver driver) {
+        DriverService service = LEASED_GECKO.remove(driver);
+        if (service == null) {
+            return;
+        }
+        if (service.isRunning()) {
+            IDLE_GECKO.offerFirst(service);
+        } else {
+            service.stop();
+        }
+    }
+
+    /**
+     * Stops every shared and idle service. Sessions still open on them are closed by the driver.
+     */
+    public static void stopAll() {
+        List<DriverService> services = new ArrayList<>(SHARED.values());
+        SHARED.clear();
+        DriverService idle;
+        while ((idle = IDLE_GECKO.pollFirst()) != null) {
+            services.add(idle);
+        }
+        services.addAll(LEASED_GECKO.values());
+        LEASED_GECKO.clear();
+        if (!services.isEmpty()) {
+            logger.info("Stopping {} shared driver service(s)", services.size());
+        }
+        for (DriverService service : services) {
+            try {
+                service.stop();
+            } catch (Exception e) {
+                logger.debug("Could not stop driver service {}: {}", service.getUrl(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Gets the running shared service for a browser, replacing it if it has died.
+     */
+    private static DriverService sharedService(String browser, Capabilities options, DriverMetrics.Timing timing) {
+        String key = serviceKey(browser);
+        DriverService service = SHARED.computeIfAbsent(key, k -> startTimed(browser, options, timing));
+        if (!service.isRunning()) {
+            logger.warn("Shared driver service {} is not running; starting a new one", service.getUrl());
+            service.stop();
+            SHARED.remove(key, service);
+            service = SHARED.computeIfAbsent(key, k -> startTimed(browser, options, timing));
+        }
+        return service;
+    }
+
+    private static WebDriver newGeckoSession(FirefoxOptions options, DriverMetrics.Timing timing) {
+        DriverService service = IDLE_GECKO.pollFirst();
+        while (service != null && !service.isRunning()) {
+            service.stop();
+            service = IDLE_GECKO.pollFirst();
+        }
+        if (service == null) {
+            service = startTimed("firefox", options, timing);
+        }
+        applyBrowserBinary("firefox", options);
+        try {
+            DriverService leased = service;
+            WebDriver driver = timing.time("session", () -> open(leased, options));
+            LEASED_GECKO.put(driver, service);
+            return driver;
+        } catch (RuntimeException e) {
+            service.stop();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a session on a running service and augments it with the browser's extra interfaces.
+     */
+    private static WebDriver open(DriverService service, Capabilities options) {
+        return new Augmenter().augment(new RemoteWebDriver(service.getUrl(), options));
+    }
+
+    /**
+     * Builds a service on a free port using the driver binary resolved for the browser.
+     */
+    private static DriverService createService(String browser, Capabilities options) {
+        DriverService service;
+        switch (browser) {
+            case "chrome":
+                service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+                break;
+            case "edge":
+                service = new EdgeDriverService.Builder().usingAnyFreePort().build();
+                break;
+            case "firefox":
+                service = new GeckoDriverService.Builder().usingAnyFreePort().build();
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported browser for driver service: " + browser);
+        }
+
+        service.setExecutable(DriverBinaryCache.resolve(browser, options).getDriverPath());
+        return service;
+    }
+
+    /**
+     * Points the options at the browser binary Selenium Manager resolved (as ChromeDriver does).
+     */
+    private static void applyBrowserBinary(String browser, Capabilities options) {
+        String browserPath = DriverBinaryCache.resolve(browser, options).getBrowserPath();
+        if (browserPath == null) {
+            return;
+        }
+        if (options instanceof ChromiumOptions) {
+            ((ChromiumOptions<?>) options).setBinary(browserPath);
+        } else if (options instanceof FirefoxOptions) {
+            ((FirefoxOptions) options).setBinary(browserPath);
+        }
+    }
+
+    private static DriverService startTimed(String browser, Capabilities options, DriverMetrics.Timing timing) {
+        DriverService service = timing.time("resolve", () -> createService(browser, options));
+        return timing.time("service", () -> start(service));
+    }
+
+    private static DriverService start(DriverService service) {
+        try {
+            service.start();
+            logger.info("Started driver service {} at {}", service.getExecutable(), service.getUrl());
+            return service;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start driver service " + service.getExecutable(), e);
+        }
+    }
+
+    private static String serviceKey(String browser) {
+        return getScope().equals("thread") ? browser + "@" + Thread.currentThread().getId() : browser;
+    }
+
+    // Private constructor to prevent instantiation
+    private DriverServices() {
+        throw new AssertionError("DriverServices should not be instantiated");
+    }
+}
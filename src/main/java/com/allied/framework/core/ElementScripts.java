@@ -0,0 +1,59 @@
+package com.allied.framework.core;
+
+import java.util.List;
+
+/**
+ * JavaScript shared by the scripts that look up elements inside the page.
+ *
+ * <p>{@link WaitEngine#untilElement} and {@code SeleniumUtils.waitForAll} evaluate locators in the
+ * browser instead of one {@code findElement} round trip per check. Both prepend {@link #FUNCTIONS}
+ * to their script, so they resolve locators and judge visibility the same way.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * String script = ElementScripts.FUNCTIONS
+ *         + "var el = find(arguments[0], arguments[1]); return el && visible(el) ? el : null;";
+ * By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+ * if (ElementScripts.STRATEGIES.contains(parameters.using())) {
+ *     WebElement element = (WebElement) ((JavascriptExecutor) driver)
+ *             .executeScript(script, parameters.using(), parameters.value());
+ * }
+ * }</pre>
+ */
+public final class ElementScripts {
+
+    /**
+     * Locator strategies {@code find} can evaluate, as named by
+     * {@link org.openqa.selenium.By.Remotable.Parameters#using()}.
+     */
+    public static final List<String> STRATEGIES = List.of("css selector", "tag name", "id", "name",
+            "class name", "xpath");
+
+    /**
+     * Defines {@code find(using, value)}, which returns the first element a locator finds or null,
+     * and {@code visible(el)}, a cheap version of WebDriver's displayed check (laid out, not hidden,
+     * not transparent).
+     */
+    public static final String FUNCTIONS =
+            "var find = function (using, value) {"
+            + "  var el;"
+            + "  switch (using) {"
+            + "    case 'id': el = document.getElementById(value); break;"
+            + "    case 'name': el = document.querySelector('[name=\"' + CSS.escape(value) + '\"]'); break;"
+            + "    case 'class name': el = document.getElementsByClassName(value)[0]; break;"
+            + "    case 'xpath': el = document.evaluate(value, document, null,"
+            + "        XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; break;"
+            + "    default: el = document.querySelector(value);"
+            + "  }"
+            + "  return el && el.nodeType === 1 ? el : null;"
+            + "};"
+            + "var visible = function (el) {"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0';"
+            + "};";
+
+    // Private constructor to prevent instantiation
+    private ElementScripts() {
+        throw new AssertionError("ElementScripts should not be instantiated");
+    }
+}
@@ -40,16 +40,8 @@ import io.github.cdimascio.dotenv.Dotenv;
  * @see io.github.cdimascio.dotenv.Dotenv
  */
 public class Env {
-    private static final Dotenv dotenv;
-
-    // Static initializer - loads .env file once when class is first loaded
-    static {
-        // Try to load .env file, but don't fail if it doesn't exist
-        // (environment variables can also be set via system properties or shell)
-        dotenv = Dotenv.configure()
-                .ignoreIfMissing()  // Don't fail if .env file is missing
-                .load();
-    }
+    // The .env file is loaded once by OptionalEnv and shared
+    private static final Dotenv dotenv = OptionalEnv.dotenv();
 
     /**
      * Base URL for the OrangeHRM application.
@@ -113,8 +105,13 @@ public class Env {
     /**
      * Gets an optional environment variable with a default value.
      *
-     * <p>This method first checks the .env file, then falls back to system environment variables.
-     * If the variable is not found, it returns the provided default value.</p>
+     * <p>This method first checks JVM system properties (e.g. {@code -DBROWSER=firefox}, or values
+     * exported at runtime such as the local grid URL), then the .env file, then falls back to
+     * system environment variables. If the variable is not found, it returns the provided
+     * default value.</p>
+     *
+     * <p>Calling this loads Env, which fails without the required credentials. Framework code
+     * therefore reads its settings with {@link OptionalEnv#get(String, String)} directly.</p>
      *
      * <p><b>Usage Example:</b></p>
      * <pre>{@code
@@ -125,10 +122,10 @@ public class Env {
      * @param name The name of the environment variable
      * @param defaultValue The default value to return if the variable is not set
      * @return The value of the environment variable, or defaultValue if not found
+     * @see OptionalEnv
      */
     public static String getOptionalEnv(String name, String defaultValue) {
-        String value = dotenv.get(name);
-        return (value != null && !value.trim().isEmpty()) ? value : defaultValue;
+        return OptionalEnv.get(name, defaultValue);
     }
 
     // Private constructor to prevent instantiation
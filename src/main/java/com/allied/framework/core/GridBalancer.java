@@ -0,0 +1,285 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side load balancer for several Selenium Grid hubs / standalone servers.
+ *
+ * <p>When SELENIUM_REMOTE_URL lists more than one endpoint, {@link DriverFactory} creates
+ * remote sessions through this class instead of always using the first one:</p>
+ * <ul>
+ *   <li>each endpoint's {@code /status} is polled (at most every GRID_STATUS_TTL_MS) for
+ *       readiness, free slots and round-trip latency</li>
+ *   <li>endpoints that are not ready or do not answer are skipped until the next check</li>
+ *   <li>the endpoint with the most free slots is chosen; when slot counts are unknown or equal,
+ *       the one with the fewest sessions opened by this JVM, then the lowest latency wins</li>
+ *   <li>if session creation fails (e.g. the node's queue is full or timed out), the endpoint
+ *       is marked busy and the next candidate is tried</li>
+ * </ul>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>SELENIUM_REMOTE_URL = comma-separated endpoints, e.g.
+ *       "http://grid-a:4444,http://grid-b:4444,http://node-c:4444"</li>
+ *   <li>GRID_STATUS_TTL_MS = integer - how long a /status result is reused (default: 5000)</li>
+ *   <li>GRID_STATUS_TIMEOUT_MS = integer - /status request timeout (default: 2000)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * WebDriver driver = GridBalancer.createSession(
+ *     List.of("http://grid-a:4444", "http://grid-b:4444"),
+ *     url -> RemoteWebDriver.builder().oneOf(options).address(url).build());
+ * ...
+ * GridBalancer.release(driver);   // done by DriverFactory.quit
+ * }</pre>
+ *
+ * @see DriverFactory
+ * @see DriverConfig#getRemoteUrls()
+ */
+public class GridBalancer {
+    private static final org.slf4j.Logger logger = Logger.getLogger(GridBalancer.class);
+
+    private static final Json JSON = new Json();
+
+    /** Known endpoints, by URL. */
+    private static final Map<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    /** Sessions created through the balancer, mapped to their endpoint. */
+    private static final Map<WebDriver, Endpoint> SESSIONS = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates a session on the best available endpoint, falling back to the others.
+     *
+     * @param urls    The candidate endpoints
+     * @param creator Creates a session on one endpoint URL
+     * @return The new session
+     * @throws SessionNotCreatedException if no endpoint could create the session
+     */
+    public static WebDriver createSession(List<String> urls, Function<String, WebDriver> creator) {
+        List<Endpoint> candidates = rank(urls);
+        if (candidates.isEmpty()) {
+            logger.warn("No healthy grid endpoint in {}; trying all of them", urls);
+            candidates = urls.stream().map(GridBalancer::endpoint).collect(Collectors.toList());
+        }
+
+        RuntimeException last = null;
+        for (Endpoint endpoint : candidates) {
+            endpoint.sessions.incrementAndGet();
+            try {
+                WebDriver driver = creator.apply(endpoint.url);
+                SESSIONS.put(driver, endpoint);
+                logger.info("Created session on {} ({})", endpoint.url, endpoint);
+                return driver;
+            } catch (RuntimeException e) {
+                endpoint.sessions.decrementAndGet();
+                endpoint.markBusy();
+                logger.warn("Could not create session on {}; trying the next endpoint: {}",
+                        endpoint.url, firstLine(e.getMessage()));
+                last = e;
+            }
+        }
+        throw new SessionNotCreatedException("No grid endpoint could create a session: " + urls, last);
+    }
+
+    /**
+     * Forgets a session (called when the driver is quit).
+     *
+     * @param driver The driver that was quit
+     */
+    public static void release(WebDriver driver) {
+        Endpoint endpoint = SESSIONS.remove(driver);
+        if (endpoint != null) {
+            endpoint.sessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Splits a SELENIUM_REMOTE_URL value into its endpoints.
+     *
+     * @param remoteUrl Comma-separated endpoints
+     * @return The trimmed, non-empty endpoints
+     */
+    public static List<String> parseUrls(String remoteUrl) {
+        if (remoteUrl == null) {
+            return List.of();
+        }
+        return Arrays.stream(remoteUrl.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Orders the healthy endpoints, best first.
+     */
+    private static List<Endpoint> rank(List<String> urls) {
+        List<Endpoint> healthy = new ArrayList<>();
+        for (String url : urls) {
+            Endpoint endpoint = endpoint(url);
+            endpoint.refreshStatus();
+            if (endpoint.ready) {
+                healthy.add(endpoint);
+            }
+        }
+        healthy.sort(Comparator
+                .comparingInt(Endpoint::availableSlots).reversed()
+                .thenComparingInt(e -> e.sessions.get())
+                .thenComparingLong(e -> e.latencyMicros));
+        return healthy;
+    }
+
+    private static Endpoint endpoint(String url) {
+        return ENDPOINTS.computeIfAbsent(url, Endpoint::new);
+    }
+
+    private static String firstLine(String message) {
+        return message == null ? null : message.split("\n", 2)[0];
+    }
+
+    /**
+     * Holder of the /status client, created on the first health check.
+     *
+     * <p>The JDK reads its connection pool settings when the first HTTP client is created, so the
+     * pool is configured first; otherwise REMOTE_KEEP_ALIVE and REMOTE_MAX_CONNECTIONS would be
+     * ignored for the remote sessions.</p>
+     */
+    private static final class StatusClient {
+        private static final HttpClient INSTANCE;
+
+        static {
+            DriverFactory.ensureConnectionPoolConfigured();
+            INSTANCE = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(DriverFactory.envInt("GRID_STATUS_TIMEOUT_MS", 2000)))
+                    .build();
+        }
+    }
+
+    /**
+     * Health, capacity and latency of one endpoint.
+     */
+    private static final class Endpoint {
+        private final String url;
+        private final AtomicInteger sessions = new AtomicInteger();
+        private volatile boolean ready = true;
+        private volatile int freeSlots = -1;
+        private volatile long latencyMicros = Long.MAX_VALUE;
+        private volatile long checkedAt;
+        private volatile int sessionsAtCheck;
+
+        private Endpoint(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Free slots reported by /status minus sessions opened since, or 0 if unknown.
+         */
+        private int availableSlots() {
+            return Math.max(0, freeSlots - Math.max(0, sessions.get() - sessionsAtCheck));
+        }
+
+        /**
+         * Counts the endpoint as full until the next status check.
+         */
+        private void markBusy() {
+            freeSlots = 0;
+            checkedAt = System.nanoTime();
+        }
+
+        private synchronized void refreshStatus() {
+            long ttl = TimeUnit.MILLISECONDS.toNanos(DriverFactory.envInt("GRID_STATUS_TTL_MS", 5000));
+            if (checkedAt != 0 && System.nanoTime() - checkedAt < ttl) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url.replaceAll("/+$", "") + "/status"))
+                        .timeout(Duration.ofMillis(DriverFactory.envInt("GRID_STATUS_TIMEOUT_MS", 2000)))
+                        .GET()
+                        .build();
+                HttpResponse<String> response = StatusClient.INSTANCE.send(request, HttpResponse.BodyHandlers.ofString());
+                latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                Map<String, Object> value = statusValue(response.body());
+                ready = response.statusCode() == 200 && Boolean.TRUE.equals(value.get("ready"));
+                freeSlots = countFreeSlots(value);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ready = false;
+            } catch (Exception e) {
+                logger.warn("Grid endpoint {} failed its health check: {}", url, e.toString());
+                ready = false;
+            }
+            sessionsAtCheck = sessions.get();
+            checkedAt = System.nanoTime();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> statusValue(String body) {
+            Map<String, Object> status = JSON.toType(body, Json.MAP_TYPE);
+            Object value = status.get("value");
+            return value instanceof Map ? (Map<String, Object>) value : status;
+        }
+
+        /**
+         * Counts slots without a session across all nodes (Grid 4 /status format).
+         *
+         * @return Free slots, or -1 if the endpoint does not report nodes
+         */
+        @SuppressWarnings("unchecked")
+        private static int countFreeSlots(Map<String, Object> value) {
+            Object nodes = value.get("nodes");
+            if (!(nodes instanceof List)) {
+                return -1;
+            }
+            int free = 0;
+            for (Object node : (List<Object>) nodes) {
+                if (!(node instanceof Map) || !"UP".equals(((Map<String, Object>) node).get("availability"))) {
+                    continue;
+                }
+                Object slots = ((Map<String, Object>) node).get("slots");
+                if (slots instanceof List) {
+                    for (Object slot : (List<Object>) slots) {
+                        if (slot instanceof Map && ((Map<String, Object>) slot).get("session") == null) {
+                            free++;
+                        }
+                    }
+                }
+            }
+            return free;
+        }
+
+        @Override
+        public String toString() {
+            return "Endpoint{" +
+                    "sessions=" + sessions.get() +
+                    ", ready=" + ready +
+                    ", freeSlots=" + freeSlots +
+                    ", latencyMicros=" + latencyMicros +
+                    '}';
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private GridBalancer() {
+        throw new AssertionError("GridBalancer should not be instantiated");
+    }
+}
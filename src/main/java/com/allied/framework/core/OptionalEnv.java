@@ -0,0 +1,78 @@
+package com.allied.framework.core;
+
+import io.github.cdimascio.dotenv.Dotenv;
+
+/**
+ * Lookup of optional settings that does not need the required credentials.
+ *
+ * <p>{@link Env} reads ORANGEHRM_BASE_URL, ORANGEHRM_USERNAME and ORANGEHRM_PASSWORD when it is
+ * loaded and fails without them. Framework settings (timeouts, pool sizes, directories) are read
+ * through this class instead, so code that only needs settings - unit tests, tools - also works
+ * when the credentials are not set. {@link Env#getOptionalEnv(String, String)} delegates here.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * String dir = OptionalEnv.get("STORAGE_STATE_DIR", "target/storage-state");
+ * boolean httpLogin = OptionalEnv.getBoolean("HTTP_LOGIN", false);
+ * }</pre>
+ *
+ * @see Env
+ */
+public final class OptionalEnv {
+
+    // Loaded once when the class is first used; a missing .env file is fine
+    private static final Dotenv DOTENV = Dotenv.configure()
+            .ignoreIfMissing()
+            .load();
+
+    /**
+     * Gets an optional setting with a default value.
+     *
+     * <p>Checks JVM system properties (e.g. {@code -DBROWSER=firefox}, or values exported at
+     * runtime such as the local grid URL) first, then the .env file, then system environment
+     * variables.</p>
+     *
+     * @param name         The name of the setting
+     * @param defaultValue The value to return if the setting is not set
+     * @return The value of the setting, or defaultValue if not found
+     */
+    public static String get(String name, String defaultValue) {
+        String override = System.getProperty(name);
+        if (override != null && !override.trim().isEmpty()) {
+            return override;
+        }
+        String value = DOTENV.get(name);
+        return (value != null && !value.trim().isEmpty()) ? value : defaultValue;
+    }
+
+    /**
+     * Gets an optional boolean setting.
+     *
+     * <p>"1", "true", "yes", "y" and "on" (any case) are true; any other value is false.</p>
+     *
+     * @param name         The name of the setting
+     * @param defaultValue The value to return if the setting is not set
+     * @return The boolean value
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String raw = get(name, null);
+        if (raw == null) {
+            return defaultValue;
+        }
+        String normalized = raw.trim().toLowerCase();
+        return normalized.equals("1") || normalized.equals("true") ||
+               normalized.equals("yes") || normalized.equals("y") || normalized.equals("on");
+    }
+
+    /**
+     * @return The loaded .env file and system environment
+     */
+    static Dotenv dotenv() {
+        return DOTENV;
+    }
+
+    // Private constructor to prevent instantiation
+    private OptionalEnv() {
+        throw new AssertionError("OptionalEnv should not be instantiated");
+    }
+}
@@ -0,0 +1,121 @@
+package com.allied.framework.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Linux process statistics read from {@code /proc}.
+ *
+ * <p>Used to measure how much memory browser sessions (chromedriver/geckodriver plus the
+ * browser's process tree) actually use, and how loaded the host is. On systems without
+ * {@code /proc} every reading returns -1.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * // Resident memory of every process started by this JVM (drivers and browsers)
+ * long rssKb = ProcessStats.treeRssKb(ProcessHandle.current()) - ProcessStats.rssKb(ProcessHandle.current().pid());
+ * }</pre>
+ */
+public class ProcessStats {
+    private static final Path PROC = Paths.get("/proc");
+
+    /**
+     * Checks whether {@code /proc} statistics are available.
+     *
+     * @return true on Linux-like systems with a readable /proc
+     */
+    public static boolean isSupported() {
+        return Files.isReadable(PROC.resolve("self/status"));
+    }
+
+    /**
+     * Reads the resident set size of a process.
+     *
+     * @param pid The process id
+     * @return VmRSS in kilobytes, or -1 if unavailable (process gone, no /proc)
+     */
+    public static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve(pid + "/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Process exited or /proc not available
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the one-minute load average of the host.
+     *
+     * @return The load average, or -1 if unavailable
+     */
+    public static double loadAverage() {
+        try {
+            String line = Files.readAllLines(PROC.resolve("loadavg")).get(0);
+            return Double.parseDouble(line.split("\\s+")[0]);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the memory available for new processes without swapping.
+     *
+     * @return MemAvailable in kilobytes, or -1 if unavailable
+     */
+    public static long memAvailableKb() {
+        try {
+            for (String line : Files.readAllLines(PROC.resolve("meminfo"))) {
+                if (line.startsWith("MemAvailable:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // /proc not available
+        }
+        return -1;
+    }
+
+    /**
+     * Lists a process and all of its descendants.
+     *
+     * @param root The root process
+     * @return The root followed by its descendants
+     */
+    public static List<ProcessHandle> tree(ProcessHandle root) {
+        List<ProcessHandle> tree = new ArrayList<>();
+        tree.add(root);
+        tree.addAll(root.descendants().collect(Collectors.toList()));
+        return tree;
+    }
+
+    /**
+     * Sums the resident set size of a process and all of its descendants.
+     *
+     * @param root The root process
+     * @return Total VmRSS in kilobytes, or -1 if /proc is not available
+     */
+    public static long treeRssKb(ProcessHandle root) {
+        if (!isSupported()) {
+            return -1;
+        }
+        long total = 0;
+        for (ProcessHandle process : tree(root)) {
+            total += Math.max(0, rssKb(process.pid()));
+        }
+        return total;
+    }
+
+    // Private constructor to prevent instantiation
+    private ProcessStats() {
+        throw new AssertionError("ProcessStats should not be instantiated");
+    }
+}
@@ -0,0 +1,201 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Prepared browsers kept across test methods, one per scope and worker thread.
+ *
+ * <p>Preparing a browser (e.g. logging in) for every test method costs a launch and a login
+ * per test. A scoped driver is prepared once per scope key and worker thread and handed to
+ * every later test of that scope on that thread. Between tests it is restored instead of
+ * prepared again:</p>
+ * <ul>
+ *   <li>extra windows/tabs opened by the previous test are closed; the window the browser was
+ *       prepared in is kept, and with BROWSER_ISOLATION=context windows of other sessions on
+ *       the same host are left alone</li>
+ *   <li>the {@code restore} step is run (e.g. open the landing page and log in again only if
+ *       the session was lost)</li>
+ * </ul>
+ *
+ * <p>The scope key decides how far a browser is shared: a key per test class keeps one
+ * browser per class and thread, a single suite-wide key keeps one browser per worker thread.
+ * Because each thread has its own browser, tests never share a session concurrently.</p>
+ *
+ * <p>A browser that fails the liveness probe ({@link DriverRecycler#isAlive}) is quit and
+ * replaced by a newly prepared one. {@link #close(String)} quits the browsers of a scope (e.g.
+ * after its last test); the rest are quit at JVM shutdown.</p>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * @BeforeMethod
+ * public void setUp() {
+ *     ScopedDrivers.acquire("class:" + getClass().getName(),
+ *             LoginSetup01::loginToOrangeHrm, LoginSetup01::ensureLoggedIn);
+ * }
+ *
+ * @AfterMethod
+ * public void tearDown() {
+ *     ScopedDrivers.releaseCurrent();   // unbound, kept running for the next test
+ * }
+ *
+ * @AfterClass
+ * public void closeSession() {
+ *     ScopedDrivers.close("class:" + getClass().getName());
+ * }
+ * }</pre>
+ *
+ * @see DriverPool
+ * @see TabPool
+ */
+public class ScopedDrivers {
+    private static final org.slf4j.Logger logger = Logger.getLogger(ScopedDrivers.class);
+
+    /** Prepared browsers per scope key, per worker thread id. */
+    private static final Map<String, Map<Long, WebDriver>> SCOPES = new ConcurrentHashMap<>();
+
+    /** Window each scoped browser was prepared in. */
+    private static final Map<WebDriver, String> HOMES = new ConcurrentHashMap<>();
+
+    /** Scoped drivers currently bound to a test. */
+    private static final Set<WebDriver> ACQUIRED = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScopedDrivers::shutdown, "scoped-drivers-shutdown"));
+    }
+
+    /**
+     * Gets the calling thread's browser for a scope, preparing a new one if needed.
+     *
+     * <p>A new browser is created from the environment configuration and {@code preparer} is
+     * run on it; an existing one has its extra windows closed and {@code restorer} run on it.
+     * Either way the driver is bound to the calling thread, so it is also available via
+     * {@link DriverFactory#current()}.</p>
+     *
+     * @param scope    Identifies the scope, e.g. {@code "class:" + className} or {@code "suite"}
+     * @param preparer Run once on every newly launched browser (e.g. a login)
+     * @param restorer Run on a reused browser before each later test (e.g. back to the landing
+     *                 page)
+     * @return The prepared driver
+     */
+    public static WebDriver acquire(String scope, Consumer<WebDriver> preparer, Consumer<WebDriver> restorer) {
+        Map<Long, WebDriver> browsers = SCOPES.computeIfAbsent(scope, s -> new ConcurrentHashMap<>());
+        long thread = Thread.currentThread().getId();
+
+        WebDriver driver = browsers.get(thread);
+        if (driver != null && !DriverRecycler.isAlive(driver)) {
+            logger.warn("Scoped browser {} for '{}' stopped answering; preparing a new one", driver, scope);
+            browsers.remove(thread);
+            quit(driver);
+            driver = null;
+        }
+
+        if (driver == null) {
+            logger.info("Preparing browser for scope '{}' on thread '{}'", scope, Thread.currentThread().getName());
+            driver = DriverFactory.createDriver();
+            try {
+                HOMES.put(driver, driver.getWindowHandle());
+                preparer.accept(driver);
+            } catch (RuntimeException e) {
+                HOMES.remove(driver);
+                DriverFactory.unregister(driver);
+                DriverFactory.quit(driver);
+                throw e;
+            }
+            browsers.put(thread, driver);
+        } else {
+            logger.debug("Reusing scoped browser {} for '{}'", driver, scope);
+            DriverFactory.register(driver);
+            closeExtraWindows(driver);
+            restorer.accept(driver);
+        }
+        ACQUIRED.add(driver);
+        return driver;
+    }
+
+    /**
+     * Checks whether a driver is a scoped browser bound to a test.
+     *
+     * @param driver The driver
+     * @return true if it was returned by {@link #acquire} and not released
+     */
+    public static boolean isAcquired(WebDriver driver) {
+        return ACQUIRED.contains(driver);
+    }
+
+    /**
+     * Unbinds the calling thread's scoped browser and keeps it for the next test.
+     *
+     * <p>Does nothing if no driver is bound to the thread.</p>
+     */
+    public static void releaseCurrent() {
+        if (DriverFactory.hasCurrent()) {
+            release(DriverFactory.current());
+        }
+    }
+
+    /**
+     * Unbinds a scoped browser without quitting it.
+     *
+     * @param driver The driver to release
+     */
+    public static void release(WebDriver driver) {
+        ACQUIRED.remove(driver);
+        DriverFactory.unregister(driver);
+    }
+
+    /**
+     * Quits the browsers of a scope on every thread.
+     *
+     * <p>Call this once no test of the scope is running any more.</p>
+     *
+     * @param scope The scope key passed to {@link #acquire}
+     */
+    public static void close(String scope) {
+        Map<Long, WebDriver> browsers = SCOPES.remove(scope);
+        if (browsers == null || browsers.isEmpty()) {
+            return;
+        }
+        logger.info("Closing scope '{}'; quitting {} browser(s)", scope, browsers.size());
+        browsers.values().forEach(ScopedDrivers::quit);
+    }
+
+    /**
+     * Quits the browsers of every scope.
+     */
+    public static void shutdown() {
+        List<String> scopes = new ArrayList<>(SCOPES.keySet());
+        scopes.forEach(ScopedDrivers::close);
+    }
+
+    private static void quit(WebDriver driver) {
+        HOMES.remove(driver);
+        ACQUIRED.remove(driver);
+        DriverFactory.unregister(driver);
+        DriverFactory.quit(driver);
+    }
+
+    /**
+     * Closes the windows the previous test opened, then switches back to the window the browser
+     * was prepared in. Windows of other sessions on a shared host are left open.
+     */
+    private static void closeExtraWindows(WebDriver driver) {
+        try {
+            BrowserContexts.closeOtherWindows(driver, HOMES.get(driver));
+        } catch (WebDriverException e) {
+            logger.debug("Could not close extra windows of {}: {}", driver, e.getMessage());
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private ScopedDrivers() {
+        throw new AssertionError("ScopedDrivers should not be instantiated");
+    }
+}
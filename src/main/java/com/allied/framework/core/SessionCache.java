@@ -0,0 +1,229 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache of logged-in browser state (cookies, localStorage and sessionStorage).
+ *
+ * <p>A UI login types credentials and waits for the landing page, which costs seconds per
+ * test. With SESSION_CACHE enabled, the state of the first UI login is captured and later
+ * logins restore it instead:</p>
+ * <ol>
+ *   <li>replace the cookies and storage with the captured ones (outside Chromium, after opening
+ *       a page on the application's origin, where they can only be set)</li>
+ *   <li>open the landing page and wait until it shows either the logged-in or the logged-out
+ *       marker</li>
+ * </ol>
+ *
+ * <p>If the landing page shows the logged-out marker (the server session has expired), the
+ * entry is dropped and the caller logs in through the UI again, which captures a fresh one.
+ * Entries are also dropped once a captured cookie has expired or after SESSION_CACHE_TTL.</p>
+ *
+ * <p>The state is kept in memory as a {@link StorageState}: on Chromium every cookie of the
+ * browser is cached and restored through CDP, elsewhere only the cookies visible to the page the
+ * state is captured on.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>SESSION_CACHE = "none" | "thread" | "jvm" - no cache, one login per worker thread, or one
+ *       login shared by all threads (default: "none")</li>
+ *   <li>SESSION_CACHE_TTL = integer seconds a captured session is reused (default: 900)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * if (!SessionCache.restore(driver, "admin", OrangeHrmLogin.URL, OrangeHrmDashboard.URL,
+ *         OrangeHrmDashboard.READY, OrangeHrmLogin.READY, 10)) {
+ *     ... log in through the UI ...
+ *     SessionCache.capture(driver, "admin");
+ * }
+ * }</pre>
+ *
+ * @see StorageState
+ * @see com.allied.framework.pages.loginpagedemo.LoginSetup01
+ */
+public class SessionCache {
+    private static final org.slf4j.Logger logger = Logger.getLogger(SessionCache.class);
+
+    /** Supported values of SESSION_CACHE. */
+    public static final List<String> SCOPES = List.of("none", "thread", "jvm");
+
+    /** Sessions shared by all threads (scope "jvm"). */
+    private static final Map<String, Snapshot> SHARED = new ConcurrentHashMap<>();
+
+    /** Sessions of the calling worker thread (scope "thread"). */
+    private static final ThreadLocal<Map<String, Snapshot>> PER_THREAD = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Gets the configured cache scope (SESSION_CACHE).
+     *
+     * @return "none", "thread" or "jvm"
+     */
+    public static String getScope() {
+        String scope = OptionalEnv.get("SESSION_CACHE", "none").trim().toLowerCase();
+        if (!SCOPES.contains(scope)) {
+            logger.warn("Unsupported SESSION_CACHE='{}'; falling back to 'none'.", scope);
+            return "none";
+        }
+        return scope;
+    }
+
+    /**
+     * Checks whether logins should be cached.
+     *
+     * @return true unless SESSION_CACHE is "none"
+     */
+    public static boolean isEnabled() {
+        return !getScope().equals("none");
+    }
+
+    /**
+     * Gets how long a captured session is reused (SESSION_CACHE_TTL).
+     *
+     * @return The time to live
+     */
+    public static Duration getTtl() {
+        return Duration.ofSeconds(Math.max(1, DriverFactory.envInt("SESSION_CACHE_TTL", 900)));
+    }
+
+    /**
+     * Restores a cached session and opens the landing page.
+     *
+     * @param driver     The driver to log in
+     * @param key        Identifies the session (e.g. user and application)
+     * @param originUrl  A page on the application's origin, opened to set cookies and storage
+     *                   where CDP is not available
+     * @param landingUrl The page to open once the state is restored
+     * @param loggedIn   Shown on the landing page when the session is valid
+     * @param loggedOut  Shown instead when the session has expired (e.g. the login form)
+     * @param timeout    Seconds to wait for either marker
+     * @return true if the driver is now logged in on the landing page; false if the cache is
+     *         disabled, holds no valid entry, or the restored session was rejected
+     */
+    public static boolean restore(WebDriver driver, String key, String originUrl, String landingUrl,
+                                  By loggedIn, By loggedOut, int timeout) {
+        if (!isEnabled()) {
+            return false;
+        }
+        Snapshot snapshot = entries().get(key);
+        if (snapshot == null) {
+            return false;
+        }
+        String expired = snapshot.expiredReason();
+        if (expired != null) {
+            logger.info("Cached session '{}' {}; logging in again", key, expired);
+            invalidate(key);
+            return false;
+        }
+
+        try {
+            snapshot.state.restore(driver, originUrl, landingUrl);
+            new WebDriverWait(driver, Duration.ofSeconds(timeout)).until(ExpectedConditions.or(
+                    ExpectedConditions.visibilityOfElementLocated(loggedIn),
+                    ExpectedConditions.visibilityOfElementLocated(loggedOut)));
+            if (!driver.findElements(loggedIn).isEmpty()) {
+                logger.debug("Restored cached session '{}'", key);
+                return true;
+            }
+            logger.info("Cached session '{}' was rejected by the server; logging in again", key);
+        } catch (TimeoutException e) {
+            logger.warn("Landing page {} showed neither marker after restoring session '{}'", landingUrl, key);
+        } catch (WebDriverException e) {
+            logger.warn("Could not restore cached session '{}': {}", key, e.getMessage());
+        }
+        invalidate(key);
+        return false;
+    }
+
+    /**
+     * Captures the cookies and storage of the current page after a successful login.
+     *
+     * <p>Does nothing if the cache is disabled.</p>
+     *
+     * @param driver A driver that has just logged in
+     * @param key    Identifies the session, as passed to {@link #restore}
+     */
+    public static void capture(WebDriver driver, String key) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            StorageState state = StorageState.capture(driver);
+            entries().put(key, new Snapshot(state));
+            logger.debug("Captured session '{}' ({} cookies)", key, state.getCookies().size());
+        } catch (WebDriverException e) {
+            logger.warn("Could not capture session '{}': {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops a cached session (e.g. after a test logged out).
+     *
+     * @param key Identifies the session
+     */
+    public static void invalidate(String key) {
+        entries().remove(key);
+    }
+
+    /**
+     * Drops every session cached for the calling thread and, for scope "jvm", for all threads.
+     */
+    public static void clear() {
+        PER_THREAD.get().clear();
+        SHARED.clear();
+    }
+
+    private static Map<String, Snapshot> entries() {
+        return getScope().equals("thread") ? PER_THREAD.get() : SHARED;
+    }
+
+    /**
+     * Browser state captured after one login.
+     */
+    private static final class Snapshot {
+        private final StorageState state;
+        private final List<Cookie> cookies;
+        private final long capturedAt = System.nanoTime();
+
+        private Snapshot(StorageState state) {
+            this.state = state;
+            this.cookies = state.getCookies();
+        }
+
+        /**
+         * @return Why the snapshot can no longer be used, or null if it is still fresh
+         */
+        private String expiredReason() {
+            long ageSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - capturedAt);
+            if (ageSeconds >= getTtl().getSeconds()) {
+                return "is older than SESSION_CACHE_TTL (" + ageSeconds + " s)";
+            }
+            Date now = new Date();
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                    return "has an expired cookie '" + cookie.getName() + "'";
+                }
+            }
+            return null;
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private SessionCache() {
+        throw new AssertionError("SessionCache should not be instantiated");
+    }
+}
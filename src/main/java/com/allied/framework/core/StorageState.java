@@ -0,0 +1,458 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Browser state (cookies, localStorage, sessionStorage and the current URL) saved to a JSON file
+ * and restored into another session.
+ *
+ * <p>Long preconditions (log in, create a submission, open the submissions list) are replayed
+ * through the UI for every test that needs them. A flow can instead checkpoint after its expensive
+ * steps; later tests - in another thread, fork or run - restore the checkpoint and start on the
+ * same page:</p>
+ * <ol>
+ *   <li>cookies are replaced (on Chromium through CDP, without a page load)</li>
+ *   <li>localStorage and sessionStorage are written for the saved page's origin</li>
+ *   <li>the saved URL is opened and the caller's ready marker waited for</li>
+ * </ol>
+ *
+ * <p>On Chromium the state is restored with a single navigation: cookies are set through CDP
+ * (including other domains, e.g. a single sign-on provider) and storage by a script that runs
+ * before the page's own scripts. Other browsers open the saved URL once to get onto its origin,
+ * set cookies and storage there, and open it again.</p>
+ *
+ * <p>Only server-side state that is still valid can be restored: a checkpoint older than
+ * STORAGE_STATE_TTL is ignored, and a restored page that does not show its ready marker counts as
+ * a miss, so the caller replays the flow and checkpoints again.</p>
+ *
+ * <p>Files are written to a temporary file first and then moved into place, so concurrent
+ * writers never leave a partial checkpoint.</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>STORAGE_STATE_DIR = directory for checkpoints (default: "target/storage-state")</li>
+ *   <li>STORAGE_STATE_TTL = integer seconds a checkpoint is reused (default: 900)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * if (!StorageState.restoreCheckpoint(driver, "submission-list", SubmissionList.SUBMISSIONS_TABLE, 15)) {
+ *     LoginSetup01.loginToOrangeHrm(driver);
+ *     ... send the attachment, open the submissions list ...
+ *     StorageState.checkpoint(driver, "submission-list");
+ * }
+ *
+ * // or explicitly
+ * StorageState.capture(driver).save(Paths.get("target/state.json"));
+ * StorageState.load(Paths.get("target/state.json")).restore(driver);
+ * }</pre>
+ *
+ * @see SessionCache
+ */
+public final class StorageState {
+    private static final org.slf4j.Logger logger = Logger.getLogger(StorageState.class);
+
+    private static final Json JSON = new Json();
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var dump = function (storage) {"
+            + "  var entries = {};"
+            + "  for (var i = 0; i < storage.length; i++) {"
+            + "    var key = storage.key(i); entries[key] = storage.getItem(key);"
+            + "  }"
+            + "  return entries;"
+            + "};"
+            + "return {local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "var state = arguments[0];"
+            + "window.localStorage.clear(); window.sessionStorage.clear();"
+            + "for (var key in state.local) { window.localStorage.setItem(key, state.local[key]); }"
+            + "for (var key in state.session) { window.sessionStorage.setItem(key, state.session[key]); }";
+
+    private final String url;
+    private final List<Map<String, Object>> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant savedAt;
+
+    private StorageState(String url, List<Map<String, Object>> cookies, Map<String, String> localStorage,
+                         Map<String, String> sessionStorage, Instant savedAt) {
+        this.url = Objects.requireNonNull(url, "url");
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+        this.savedAt = savedAt;
+    }
+
+    /**
+     * Captures the state of a browser.
+     *
+     * <p>On Chromium every cookie of the browser is captured, elsewhere only those visible to the
+     * current page. Storage is captured for the current page's origin.</p>
+     *
+     * @param driver The browser, on the page later sessions should start from
+     * @return The captured state
+     */
+    @SuppressWarnings("unchecked")
+    public static StorageState capture(WebDriver driver) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp) {
+            Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Network.getAllCookies", Map.of());
+            for (Object cookie : (List<Object>) result.getOrDefault("cookies", List.of())) {
+                cookies.add(fromCdp((Map<String, Object>) cookie));
+            }
+        } else {
+            for (Cookie cookie : driver.manage().getCookies()) {
+                cookies.add(fromSelenium(cookie));
+            }
+        }
+
+        Object storage = ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+        Map<String, Object> state = storage instanceof Map ? (Map<String, Object>) storage : Map.of();
+        return new StorageState(driver.getCurrentUrl(), cookies, strings(state.get("local")),
+                strings(state.get("session")), Instant.now());
+    }
+
+    /**
+     * Reads a state saved with {@link #save(Path)}.
+     *
+     * @param file The JSON file
+     * @return The saved state
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    @SuppressWarnings("unchecked")
+    public static StorageState load(Path file) {
+        Map<String, Object> json;
+        try {
+            json = JSON.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read storage state " + file, e);
+        }
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Object cookie : (List<Object>) json.getOrDefault("cookies", List.of())) {
+            cookies.add(new LinkedHashMap<>((Map<String, Object>) cookie));
+        }
+        Object savedAt = json.get("savedAt");
+        return new StorageState((String) json.get("url"), cookies, strings(json.get("localStorage")),
+                strings(json.get("sessionStorage")),
+                savedAt instanceof Number ? Instant.ofEpochMilli(((Number) savedAt).longValue()) : Instant.EPOCH);
+    }
+
+    /**
+     * Writes the state to a JSON file, creating its directory if needed.
+     *
+     * @param file The JSON file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void save(Path file) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("url", url);
+        json.put("savedAt", savedAt.toEpochMilli());
+        json.put("cookies", cookies);
+        json.put("localStorage", localStorage);
+        json.put("sessionStorage", sessionStorage);
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, JSON.toJson(json), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write storage state " + file, e);
+        }
+    }
+
+    /**
+     * Replaces a browser's cookies and storage with this state and opens the saved URL.
+     *
+     * <p>Does not wait for anything beyond the page load; callers check that the page is ready
+     * (see {@link #restoreCheckpoint}).</p>
+     *
+     * @param driver The browser to restore into
+     */
+    public void restore(WebDriver driver) {
+        restore(driver, url, url);
+    }
+
+    /**
+     * Replaces a browser's cookies and storage with this state and opens a page of the saved
+     * page's origin.
+     *
+     * @param driver     The browser to restore into
+     * @param originUrl  A page on the saved page's origin, opened first where cookies and storage
+     *                   cannot be set without one (not on Chromium)
+     * @param landingUrl The page to open once the state is restored
+     */
+    void restore(WebDriver driver, String originUrl, String landingUrl) {
+        if (driver instanceof HasCdp) {
+            restoreWithCdp((HasCdp) driver, driver, landingUrl);
+        } else {
+            driver.get(originUrl);
+            driver.manage().deleteAllCookies();
+            for (Map<String, Object> cookie : cookies) {
+                driver.manage().addCookie(toSelenium(cookie));
+            }
+            ((JavascriptExecutor) driver).executeScript(RESTORE_STORAGE_SCRIPT,
+                    Map.of("local", localStorage, "session", sessionStorage));
+            driver.get(landingUrl);
+        }
+        logger.debug("Restored storage state of {} ({} cookies)", url, cookies.size());
+    }
+
+    /**
+     * Sets the cookies through CDP and writes storage from a script that runs before the page's
+     * own scripts, so the landing page is loaded only once.
+     */
+    private void restoreWithCdp(HasCdp cdp, WebDriver driver, String landingUrl) {
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        List<Map<String, Object>> params = cookies.stream().map(this::toCdp).collect(Collectors.toList());
+        if (!params.isEmpty()) {
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", params));
+        }
+
+        String state = JSON.toJson(Map.of("local", localStorage, "session", sessionStorage));
+        // Runs in every new document until removed; RESTORE_STORAGE_SCRIPT reads arguments[0]
+        String source = "if (window.location.origin === " + JSON.toJson(origin(url)) + ") {"
+                + "  (function () {" + RESTORE_STORAGE_SCRIPT + "}).apply(null, [" + state + "]);"
+                + "}";
+
+        Map<String, Object> script = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", source));
+        try {
+            driver.get(landingUrl);
+        } finally {
+            Object identifier = script.get("identifier");
+            if (identifier != null) {
+                cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument", Map.of("identifier", identifier));
+            }
+        }
+    }
+
+    /**
+     * Gets the directory checkpoints are written to (STORAGE_STATE_DIR).
+     *
+     * @return The checkpoint directory
+     */
+    public static Path getCheckpointDir() {
+        return Paths.get(OptionalEnv.get("STORAGE_STATE_DIR", "target/storage-state").trim()).toAbsolutePath();
+    }
+
+    /**
+     * Gets how long a checkpoint is reused (STORAGE_STATE_TTL).
+     *
+     * @return The time to live
+     */
+    public static Duration getTtl() {
+        return Duration.ofSeconds(Math.max(1, DriverFactory.envInt("STORAGE_STATE_TTL", 900)));
+    }
+
+    /**
+     * Saves the browser's state as a named checkpoint.
+     *
+     * <p>Failures are logged, not thrown; a missing checkpoint only means the flow is replayed.</p>
+     *
+     * @param driver The browser, on the page later tests should start from
+     * @param name   The checkpoint name (a file name without extension)
+     * @return true if the checkpoint was written
+     */
+    public static boolean checkpoint(WebDriver driver, String name) {
+        Path file = checkpointFile(name);
+        try {
+            capture(driver).save(file);
+            logger.info("Saved checkpoint '{}' to {}", name, file);
+            return true;
+        } catch (WebDriverException | UncheckedIOException e) {
+            logger.warn("Could not save checkpoint '{}': {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Restores a named checkpoint and waits until the saved page is ready.
+     *
+     * @param driver  The browser to restore into
+     * @param name    The checkpoint name passed to {@link #checkpoint}
+     * @param ready   Shown on the saved page once it is usable
+     * @param timeout Seconds to wait for {@code ready}
+     * @return true if the browser is on the saved page; false if there is no fresh checkpoint or
+     *         the restored page did not become ready (the caller should replay the flow)
+     */
+    public static boolean restoreCheckpoint(WebDriver driver, String name, By ready, int timeout) {
+        Path file = checkpointFile(name);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            StorageState state = load(file);
+            Duration age = Duration.between(state.getSavedAt(), Instant.now());
+            if (age.compareTo(getTtl()) >= 0) {
+                logger.info("Checkpoint '{}' is older than STORAGE_STATE_TTL ({} s); replaying the flow",
+                        name, age.getSeconds());
+                return false;
+            }
+            state.restore(driver);
+            new WebDriverWait(driver, Duration.ofSeconds(timeout))
+                    .until(ExpectedConditions.visibilityOfElementLocated(ready));
+            logger.debug("Restored checkpoint '{}'", name);
+            return true;
+        } catch (TimeoutException e) {
+            logger.info("Checkpoint '{}' was restored but {} did not show {}; replaying the flow",
+                    name, driver.getCurrentUrl(), ready);
+        } catch (WebDriverException | UncheckedIOException | ClassCastException e) {
+            logger.warn("Could not restore checkpoint '{}': {}", name, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Gets the file of a named checkpoint.
+     *
+     * @param name The checkpoint name
+     * @return {@code <STORAGE_STATE_DIR>/<name>.json}
+     */
+    public static Path checkpointFile(String name) {
+        return getCheckpointDir().resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + ".json");
+    }
+
+    /**
+     * @return The page the state was captured on
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * @return The captured cookies
+     */
+    public List<Cookie> getCookies() {
+        return cookies.stream().map(StorageState::toSelenium).collect(Collectors.toList());
+    }
+
+    /**
+     * @return The captured localStorage of the page's origin
+     */
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    /**
+     * @return The captured sessionStorage of the page's origin
+     */
+    public Map<String, String> getSessionStorage() {
+        return sessionStorage;
+    }
+
+    /**
+     * @return When the state was captured
+     */
+    public Instant getSavedAt() {
+        return savedAt;
+    }
+
+    private static String origin(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() != -1 ? ":" + uri.getPort() : "");
+    }
+
+    private static Map<String, String> strings(Object map) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (map instanceof Map) {
+            ((Map<?, ?>) map).forEach((key, value) -> result.put(String.valueOf(key), String.valueOf(value)));
+        }
+        return result;
+    }
+
+    // Cookies are kept in CDP's shape: name, value, domain, path, secure, httpOnly, sameSite and
+    // expires (epoch seconds, absent for session cookies).
+
+    private static Map<String, Object> fromCdp(Map<String, Object> cookie) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String field : List.of("name", "value", "domain", "path", "secure", "httpOnly", "sameSite")) {
+            if (cookie.get(field) != null) {
+                result.put(field, cookie.get(field));
+            }
+        }
+        Object expires = cookie.get("expires");
+        if (expires instanceof Number && !Boolean.TRUE.equals(cookie.get("session"))
+                && ((Number) expires).doubleValue() > 0) {
+            result.put("expires", ((Number) expires).longValue());
+        }
+        return result;
+    }
+
+    private static Map<String, Object> fromSelenium(Cookie cookie) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", cookie.getName());
+        result.put("value", cookie.getValue());
+        if (cookie.getDomain() != null) {
+            result.put("domain", cookie.getDomain());
+        }
+        result.put("path", cookie.getPath() != null ? cookie.getPath() : "/");
+        result.put("secure", cookie.isSecure());
+        result.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getSameSite() != null) {
+            result.put("sameSite", cookie.getSameSite());
+        }
+        if (cookie.getExpiry() != null) {
+            result.put("expires", cookie.getExpiry().getTime() / 1000);
+        }
+        return result;
+    }
+
+    /**
+     * CDP needs a domain or a URL; a cookie captured without a domain belongs to the saved page.
+     */
+    private Map<String, Object> toCdp(Map<String, Object> cookie) {
+        Map<String, Object> result = new LinkedHashMap<>(cookie);
+        if (!result.containsKey("domain")) {
+            result.put("url", url);
+        }
+        return result;
+    }
+
+    private static Cookie toSelenium(Map<String, Object> cookie) {
+        Cookie.Builder builder = new Cookie.Builder((String) cookie.get("name"), (String) cookie.get("value"))
+                .path((String) cookie.getOrDefault("path", "/"))
+                .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")));
+        if (cookie.get("domain") != null) {
+            builder.domain((String) cookie.get("domain"));
+        }
+        if (cookie.get("sameSite") != null) {
+            builder.sameSite((String) cookie.get("sameSite"));
+        }
+        if (cookie.get("expires") instanceof Number) {
+            builder.expiresOn(new Date(((Number) cookie.get("expires")).longValue() * 1000));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,352 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.DefaultDecorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Read-only tests packed into tabs of a few shared, already prepared browsers.
+ *
+ * <p>Tests that only read pages (titles, widget counts, smoke checks) do not need a browser
+ * of their own. With READ_ONLY_TABS set, each such test gets a new tab in a shared browser
+ * instead. Every shared browser is prepared once when it is launched (e.g. logged in), and its
+ * tabs share that state (cookies).</p>
+ *
+ * <p>A WebDriver session has a single current window, so the driver handed to a test is a
+ * decorator bound to its tab. Every command takes the browser's lock and first switches to
+ * the test's tab if another tab was active. Waits and sleeps in the test run outside the lock,
+ * so the tests' waits interleave while their commands take turns. A navigation holds the
+ * browser for as long as the page load blocks; PAGE_LOAD_STRATEGY=eager keeps that short.</p>
+ *
+ * <p>A new browser is launched when every shared browser already has READ_ONLY_TABS tabs. On
+ * release the tab is closed; the browsers are quit at JVM shutdown.</p>
+ *
+ * <p><b>Limitations:</b> tests leased from the pool must stay on their tab - switching
+ * windows, closing the tab or switching into frames that later commands rely on is not
+ * supported - and must not change browser-wide state (cookies, logout).</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>READ_ONLY_TABS = integer - tabs per shared browser, 0 = every test gets its own browser
+ *       (default: 0)</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * @BeforeMethod
+ * public void setUp() {
+ *     TabPool.lease(LoginSetup01::loginToOrangeHrm);   // also bound to DriverFactory.current()
+ * }
+ *
+ * @AfterMethod
+ * public void tearDown() {
+ *     TabPool.releaseCurrent();                         // closes the tab
+ * }
+ * }</pre>
+ *
+ * @see DriverPool
+ */
+public class TabPool {
+    private static final org.slf4j.Logger logger = Logger.getLogger(TabPool.class);
+
+    /** Shared browsers per config. */
+    private static final Map<DriverConfig, List<Browser>> BROWSERS = new ConcurrentHashMap<>();
+
+    /** Leased tab drivers. */
+    private static final Map<WebDriver, Tab> LEASED = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(TabPool::shutdown, "tab-pool-shutdown"));
+    }
+
+    /**
+     * Checks whether read-only tests should be packed into tabs (READ_ONLY_TABS &gt; 0).
+     *
+     * @return true if tab sharing is enabled
+     */
+    public static boolean isEnabled() {
+        return getTabsPerBrowser() > 0;
+    }
+
+    /**
+     * Gets the maximum number of leased tabs per shared browser (READ_ONLY_TABS).
+     *
+     * @return Tabs per browser, 0 if disabled
+     */
+    public static int getTabsPerBrowser() {
+        return Math.max(0, DriverFactory.envInt("READ_ONLY_TABS", 0));
+    }
+
+    /**
+     * Leases a tab for the environment configuration.
+     *
+     * @param preparer Run once on every newly launched shared browser (e.g. a login)
+     * @return A driver bound to a new tab and to the calling thread
+     * @see #lease(DriverConfig, Consumer)
+     */
+    public static WebDriver lease(Consumer<WebDriver> preparer) {
+        return lease(DriverFactory.getDriverConfigFromEnv(), preparer);
+    }
+
+    /**
+     * Leases a tab in a shared browser for the given configuration.
+     *
+     * <p>The tab is opened in the shared browser with the fewest tabs; if all of them are full,
+     * a new browser is launched and {@code preparer} is run on it first. The returned driver is
+     * bound to the calling thread, so it is also available via {@link DriverFactory#current()}.
+     * Quitting it closes the tab.</p>
+     *
+     * @param config   The driver configuration to use
+     * @param preparer Run once on every newly launched shared browser (e.g. a login)
+     * @return A driver bound to a new tab (about:blank)
+     */
+    public static WebDriver lease(DriverConfig config, Consumer<WebDriver> preparer) {
+        Browser browser = acquire(config, preparer);
+        String handle;
+        try {
+            handle = browser.openTab();
+        } catch (WebDriverException e) {
+            releaseSlot(config, browser);
+            if (DriverRecycler.isAlive(browser.driver)) {
+                throw e;
+            }
+            logger.warn("Shared browser {} stopped answering; launching a new one", browser.driver);
+            discard(config, browser);
+            browser = acquire(config, preparer);
+            handle = browser.openTab();
+        }
+
+        Tab tab = new Tab(config, browser, handle);
+        WebDriver driver = tab.decorate(browser.driver);
+        tab.proxy = driver;
+        LEASED.put(driver, tab);
+        DriverFactory.register(driver);
+        logger.debug("Leased tab {} of {}", handle, browser.driver);
+        return driver;
+    }
+
+    /**
+     * Checks whether a driver is a tab leased from this pool.
+     *
+     * @param driver The driver
+     * @return true if it was returned by {@link #lease(DriverConfig, Consumer)} and not released
+     */
+    public static boolean isLeased(WebDriver driver) {
+        return LEASED.containsKey(driver);
+    }
+
+    /**
+     * Closes the calling thread's tab.
+     *
+     * <p>Does nothing if no driver is bound to the thread.</p>
+     */
+    public static void releaseCurrent() {
+        if (DriverFactory.hasCurrent()) {
+            release(DriverFactory.current());
+        }
+    }
+
+    /**
+     * Closes a leased tab and unbinds it; the shared browser keeps running.
+     *
+     * @param driver The tab driver to release
+     */
+    public static void release(WebDriver driver) {
+        DriverFactory.unregister(driver);
+        WaitEngine.release(driver);
+        Tab tab = LEASED.remove(driver);
+        if (tab == null) {
+            return;
+        }
+        tab.browser.closeTab(tab.handle);
+        releaseSlot(tab.config, tab.browser);
+    }
+
+    /**
+     * Quits every shared browser. Leased tabs stop working.
+     */
+    public static void shutdown() {
+        List<Browser> browsers = new ArrayList<>();
+        BROWSERS.values().forEach(browsers::addAll);
+        BROWSERS.clear();
+        if (!browsers.isEmpty()) {
+            logger.info("Shutting down tab pool; quitting {} shared browser(s)", browsers.size());
+        }
+        browsers.forEach(browser -> DriverFactory.quit(browser.driver));
+    }
+
+    /**
+     * Reserves a tab in the least busy shared browser, launching and preparing a new one if
+     * all are full.
+     */
+    private static Browser acquire(DriverConfig config, Consumer<WebDriver> preparer) {
+        List<Browser> browsers = BROWSERS.computeIfAbsent(config, c -> new ArrayList<>());
+        synchronized (browsers) {
+            Browser browser = browsers.stream()
+                    .filter(b -> b.tabs < getTabsPerBrowser())
+                    .min(Comparator.comparingInt(b -> b.tabs))
+                    .orElse(null);
+            if (browser == null) {
+                logger.info("All shared browsers for {} are full; launching another", config);
+                WebDriver driver = DriverFactory.launchDriver(config);
+                try {
+                    preparer.accept(driver);
+                } catch (RuntimeException e) {
+                    DriverFactory.quit(driver);
+                    throw e;
+                }
+                browser = new Browser(driver);
+                browsers.add(browser);
+            }
+            browser.tabs++;
+            return browser;
+        }
+    }
+
+    private static void releaseSlot(DriverConfig config, Browser browser) {
+        List<Browser> browsers = BROWSERS.get(config);
+        if (browsers == null) {
+            return;
+        }
+        synchronized (browsers) {
+            browser.tabs = Math.max(0, browser.tabs - 1);
+        }
+    }
+
+    private static void discard(DriverConfig config, Browser browser) {
+        List<Browser> browsers = BROWSERS.get(config);
+        if (browsers != null) {
+            synchronized (browsers) {
+                browsers.remove(browser);
+            }
+        }
+        DriverFactory.quit(browser.driver);
+    }
+
+    /**
+     * A shared browser; its first window keeps the prepared state and is never leased.
+     */
+    private static final class Browser {
+        private final WebDriver driver;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** Leased tabs, guarded by the config's browser list. */
+        private int tabs;
+
+        /** Handle the session is switched to, guarded by {@link #lock}. */
+        private String focused;
+
+        private Browser(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        private String openTab() {
+            lock.lock();
+            try {
+                focused = null;
+                driver.switchTo().newWindow(WindowType.TAB);
+                focused = driver.getWindowHandle();
+                return focused;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Switches the session to a tab unless it is already current. Caller holds the lock.
+         */
+        private void focus(String handle) {
+            if (!handle.equals(focused)) {
+                focused = null;
+                driver.switchTo().window(handle);
+                focused = handle;
+            }
+        }
+
+        private void closeTab(String handle) {
+            lock.lock();
+            try {
+                focus(handle);
+                driver.close();
+            } catch (WebDriverException e) {
+                logger.debug("Could not close tab {}: {}", handle, e.getMessage());
+            } finally {
+                focused = null;
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Decorator that runs every command of one test on its own tab.
+     */
+    private static final class Tab extends WebDriverDecorator<WebDriver> {
+        private final DriverConfig config;
+        private final Browser browser;
+        private final String handle;
+        private WebDriver proxy;
+
+        private Tab(DriverConfig config, Browser browser, String handle) {
+            this.config = config;
+            this.browser = browser;
+            this.handle = handle;
+        }
+
+        /**
+         * Tabs share one session but must be distinct drivers (registry and map keys); the
+         * default wrapper would compare and hash them by the shared session.
+         */
+        @Override
+        public Decorated<WebDriver> createDecorated(WebDriver original) {
+            return new DefaultDecorated<>(original, this) {
+                @Override
+                public boolean equals(Object other) {
+                    return other == this || other == proxy;
+                }
+
+                @Override
+                public int hashCode() {
+                    return System.identityHashCode(Tab.this);
+                }
+
+                @Override
+                public String toString() {
+                    return "Tab{" + handle + " of " + original + '}';
+                }
+            };
+        }
+
+        @Override
+        public Object call(Decorated<?> target, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("quit") && target.getOriginal() == browser.driver) {
+                // Quitting a tab closes it; the shared browser keeps running
+                release(proxy);
+                return null;
+            }
+            browser.lock.lock();
+            try {
+                browser.focus(handle);
+                return super.call(target, method, args);
+            } finally {
+                browser.lock.unlock();
+            }
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private TabPool() {
+        throw new AssertionError("TabPool should not be instantiated");
+    }
+}
@@ -0,0 +1,524 @@
+package com.allied.framework.core;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Sleeper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Condition waits with adaptive polling, one engine per driver.
+ *
+ * <p>A {@code WebDriverWait} polls every 500 ms, so an element that is not ready at the first
+ * check is noticed on average 250 ms after it appeared. The engine checks again after a short
+ * interval and backs off exponentially up to a cap:</p>
+ * <pre>
+ * 20 ms, 40 ms, 80 ms, 160 ms, 250 ms, 250 ms, ...   (defaults)
+ * </pre>
+ * <p>Conditions that are met quickly cost a few milliseconds of latency; long waits settle at
+ * the cap, so they do not flood the driver (or a grid) with commands.</p>
+ *
+ * <p>Engines are immutable and cached per driver ({@link #forDriver(WebDriver)}), so the
+ * {@code SeleniumUtils} waits do not allocate a wait per call. {@link #install(WaitEngine)}
+ * replaces a driver's engine, e.g. with other ignored exceptions or a test clock. The cache
+ * entry is dropped when DriverFactory quits the driver.</p>
+ *
+ * <p>Like {@code WebDriverWait}, a condition is met when it returns neither null nor
+ * {@code false}, and only {@link NotFoundException} is ignored by default; the last ignored
+ * exception is the cause of the {@link TimeoutException}.</p>
+ *
+ * <p><b>Observe mode.</b> Every poll is a command round trip, and many parallel sessions add
+ * up to a lot of wire traffic. With WAIT_MODE=observe, element waits
+ * ({@link #untilElement(By, ElementState, Duration)}) install a {@code MutationObserver} through
+ * {@code executeAsyncScript} instead. The script returns as soon as a DOM change makes the first
+ * match of the locator present, visible or enabled. A slow in-page re-check also catches style
+ * changes that do not mutate the DOM. The result is then confirmed once with the regular
+ * {@code ExpectedCondition}, so both modes accept exactly the same elements. A wait then costs
+ * about three commands, however long it takes. Observe mode falls back to polling when:</p>
+ * <ul>
+ *   <li>the locator is not id, name, class name, tag name or CSS (XPath, link text, chained)</li>
+ *   <li>the script fails, e.g. the page navigates away or the target is in another frame
+ *       (the script only sees the current frame's document), or the session's script timeout
+ *       is shorter than an observation slice (10 s)</li>
+ *   <li>the observed element does not pass the confirmation</li>
+ *   <li>the driver is a {@link TabPool} tab - an async script would hold the shared browser
+ *       for the whole wait</li>
+ * </ul>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>WAIT_POLL_INITIAL_MS = integer - first polling interval (default: 20)</li>
+ *   <li>WAIT_POLL_MAX_MS = integer - polling interval cap (default: 250)</li>
+ *   <li>WAIT_POLL_BACKOFF = number - interval multiplier after each miss (default: 2.0)</li>
+ *   <li>WAIT_MODE = "poll" | "observe" - how element waits detect changes (default: "poll")</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * WebElement button = WaitEngine.forDriver(driver)
+ *         .untilElement(By.id("save"), WaitEngine.ElementState.CLICKABLE, Duration.ofSeconds(10));
+ * String title = WaitEngine.forDriver(driver).until(d -> d.getTitle(), Duration.ofSeconds(5));
+ *
+ * // Custom engine for this driver
+ * WaitEngine.install(WaitEngine.builder(driver)
+ *         .initialPolling(Duration.ofMillis(10))
+ *         .ignoring(ElementNotInteractableException.class)
+ *         .build());
+ * }</pre>
+ *
+ * @see com.allied.framework.utils.SeleniumUtils
+ */
+public final class WaitEngine {
+    private static final org.slf4j.Logger logger = Logger.getLogger(WaitEngine.class);
+
+    /** Engine per driver, see {@link #forDriver(WebDriver)}. */
+    private static final Map<WebDriver, WaitEngine> ENGINES = new ConcurrentHashMap<>();
+
+    /** Supported values of WAIT_MODE. */
+    public static final List<String> MODES = List.of("poll", "observe");
+
+    /** Longest single executeAsyncScript call, below WebDriver's default 30 s script timeout. */
+    private static final Duration OBSERVE_SLICE = Duration.ofSeconds(10);
+
+    /**
+     * Locator strategies the observe script waits on, see {@link By.Remotable}. These are
+     * {@link ElementScripts#STRATEGIES} without XPath, which stays on the polling path.
+     */
+    private static final List<String> OBSERVABLE = List.of("css selector", "tag name", "id", "name", "class name");
+
+    /**
+     * Resolves with the first element a locator finds once it reaches a state, or with null after
+     * a timeout. Arguments: strategy, value, state ("present", "visible", "clickable"), timeout ms.
+     */
+    private static final String OBSERVE_SCRIPT =
+            "var using = arguments[0], value = arguments[1], state = arguments[2], timeout = arguments[3];"
+            + "var done = arguments[arguments.length - 1];"
+            + ElementScripts.FUNCTIONS
+            + "var check = function () {"
+            + "  var el = find(using, value);"
+            + "  if (!el || state === 'present') { return el; }"
+            + "  if (!visible(el)) { return null; }"
+            + "  return state === 'clickable' && el.disabled ? null : el;"
+            + "};"
+            + "var found = check();"
+            + "if (found) { done(found); return; }"
+            + "var observer, poll, timer;"
+            + "var finish = function (el) {"
+            + "  observer.disconnect(); clearInterval(poll); clearTimeout(timer); done(el);"
+            + "};"
+            + "var recheck = function () { var el = check(); if (el) { finish(el); } };"
+            + "observer = new MutationObserver(recheck);"
+            + "observer.observe(document.documentElement || document,"
+            + "    {childList: true, subtree: true, attributes: true});"
+            + "poll = setInterval(recheck, 100);"
+            + "timer = setTimeout(function () { finish(null); }, timeout);";
+
+    private final WebDriver driver;
+    private final Duration initialPolling;
+    private final Duration maxPolling;
+    private final double backoff;
+    private final List<Class<? extends Throwable>> ignored;
+    private final Clock clock;
+    private final Sleeper sleeper;
+    private final boolean observeDom;
+
+    private WaitEngine(Builder builder) {
+        this.driver = Objects.requireNonNull(builder.driver, "driver");
+        this.initialPolling = builder.initialPolling;
+        this.maxPolling = builder.maxPolling.compareTo(builder.initialPolling) < 0
+                ? builder.initialPolling : builder.maxPolling;
+        this.backoff = Math.max(1.0, builder.backoff);
+        this.ignored = List.copyOf(builder.ignored);
+        this.clock = builder.clock;
+        this.sleeper = builder.sleeper;
+        this.observeDom = builder.observeDom;
+    }
+
+    /**
+     * Gets the driver's engine, creating one from the environment on first use.
+     *
+     * @param driver The driver to wait on
+     * @return The cached engine
+     */
+    public static WaitEngine forDriver(WebDriver driver) {
+        return ENGINES.computeIfAbsent(driver, d -> builder(d)
+                .initialPolling(Duration.ofMillis(Math.max(1, DriverFactory.envInt("WAIT_POLL_INITIAL_MS", 20))))
+                .maxPolling(Duration.ofMillis(Math.max(1, DriverFactory.envInt("WAIT_POLL_MAX_MS", 250))))
+                .backoff(DriverFactory.envDouble("WAIT_POLL_BACKOFF", 2.0))
+                .observeDom(getMode().equals("observe"))
+                .build());
+    }
+
+    /**
+     * Gets the configured element wait mode (WAIT_MODE).
+     *
+     * @return "poll" or "observe"
+     */
+    public static String getMode() {
+        String mode = OptionalEnv.get("WAIT_MODE", "poll").trim().toLowerCase();
+        if (!MODES.contains(mode)) {
+            logger.warn("Unsupported WAIT_MODE='{}'; falling back to 'poll'.", mode);
+            return "poll";
+        }
+        return mode;
+    }
+
+    /**
+     * Makes an engine the one {@link #forDriver(WebDriver)} returns for its driver.
+     *
+     * @param engine The engine to use
+     */
+    public static void install(WaitEngine engine) {
+        ENGINES.put(engine.driver, engine);
+    }
+
+    /**
+     * Drops a driver's cached engine (called when the driver is quit).
+     *
+     * @param driver The driver
+     */
+    public static void release(WebDriver driver) {
+        ENGINES.remove(driver);
+    }
+
+    /**
+     * Creates a builder with default values.
+     *
+     * <p><b>Defaults:</b></p>
+     * <ul>
+     *   <li>initialPolling = 20 ms</li>
+     *   <li>maxPolling = 250 ms</li>
+     *   <li>backoff = 2.0</li>
+     *   <li>ignored = NotFoundException (as in WebDriverWait)</li>
+     *   <li>clock = system UTC clock, sleeper = {@link Sleeper#SYSTEM_SLEEPER}</li>
+     *   <li>observeDom = false (element waits poll)</li>
+     * </ul>
+     *
+     * @param driver The driver to wait on
+     * @return A new builder
+     */
+    public static Builder builder(WebDriver driver) {
+        return new Builder(driver);
+    }
+
+    /**
+     * Creates a builder pre-filled with this engine's values.
+     *
+     * @return A new builder; changing it does not affect this engine
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder(driver)
+                .initialPolling(initialPolling)
+                .maxPolling(maxPolling)
+                .backoff(backoff)
+                .clock(clock)
+                .sleeper(sleeper)
+                .observeDom(observeDom);
+        builder.ignored.clear();
+        builder.ignored.addAll(ignored);
+        return builder;
+    }
+
+    /**
+     * Waits until a condition returns a value other than null or {@code false}.
+     *
+     * <p>The condition is checked at once, then after each polling interval. Ignored exceptions
+     * count as "not yet"; any other exception is thrown immediately.</p>
+     *
+     * @param condition The condition, e.g. an {@code ExpectedCondition}
+     * @param timeout   How long to wait
+     * @param <T>       The condition's result type
+     * @return The condition's result
+     * @throws TimeoutException if the condition is not met within {@code timeout}
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration timeout) {
+        Instant end = clock.instant().plus(timeout);
+        Duration interval = initialPolling;
+        Throwable lastIgnored = null;
+        int attempts = 0;
+        while (true) {
+            attempts++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+                lastIgnored = null;
+            } catch (RuntimeException e) {
+                if (!isIgnored(e)) {
+                    throw e;
+                }
+                lastIgnored = e;
+            }
+
+            Instant now = clock.instant();
+            if (!now.isBefore(end)) {
+                String message = String.format(
+                        "Expected condition failed: waiting for %s (tried %d time(s) in %d ms with %d-%d ms polling)",
+                        condition, attempts, timeout.toMillis(), initialPolling.toMillis(), maxPolling.toMillis());
+                logger.debug(message);
+                throw new TimeoutException(message, lastIgnored);
+            }
+
+            Duration remaining = Duration.between(now, end);
+            try {
+                sleeper.sleep(interval.compareTo(remaining) < 0 ? interval : remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebDriverException("Interrupted while waiting for " + condition, e);
+            }
+            long next = (long) Math.ceil(interval.toNanos() * backoff);
+            interval = next < maxPolling.toNanos() ? Duration.ofNanos(next) : maxPolling;
+        }
+    }
+
+    /**
+     * Waits until the first element matching a locator reaches a state.
+     *
+     * <p>Polls like {@link #until(Function, Duration)}, or observes DOM changes when the engine
+     * is in observe mode (see the class description for when it falls back to polling).</p>
+     *
+     * @param locator The element locator
+     * @param state   The state to wait for
+     * @param timeout How long to wait
+     * @return The element
+     * @throws TimeoutException if the element does not reach the state within {@code timeout}
+     */
+    public WebElement untilElement(By locator, ElementState state, Duration timeout) {
+        ExpectedCondition<WebElement> condition = state.condition(locator);
+        By.Remotable.Parameters target = observeDom ? observable(locator) : null;
+        if (target == null || !(driver instanceof JavascriptExecutor) || TabPool.isLeased(driver)) {
+            return until(condition, timeout);
+        }
+
+        Instant end = clock.instant().plus(timeout);
+        while (true) {
+            Duration remaining = Duration.between(clock.instant(), end);
+            if (remaining.isNegative() || remaining.isZero()) {
+                // One last regular check; throws the usual TimeoutException
+                return until(condition, Duration.ZERO);
+            }
+            Duration slice = remaining.compareTo(OBSERVE_SLICE) < 0 ? remaining : OBSERVE_SLICE;
+
+            Object observed;
+            try {
+                observed = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVE_SCRIPT,
+                        target.using(), String.valueOf(target.value()), state.name().toLowerCase(), slice.toMillis());
+            } catch (WebDriverException e) {
+                logger.debug("Could not observe {} ({}); polling instead", locator, e.getMessage());
+                return until(condition, Duration.between(clock.instant(), end));
+            }
+            if (observed != null) {
+                try {
+                    WebElement element = condition.apply(driver);
+                    if (element != null) {
+                        return element;
+                    }
+                } catch (RuntimeException e) {
+                    if (!isIgnored(e)) {
+                        throw e;
+                    }
+                }
+                logger.debug("Observed {} as {} but the condition disagreed; polling instead", locator, state);
+                return until(condition, Duration.between(clock.instant(), end));
+            }
+        }
+    }
+
+    /**
+     * Gets the wire strategy and value of a locator the observe script can evaluate.
+     *
+     * @return The parameters, or null for XPath, link text and composite locators
+     */
+    private static By.Remotable.Parameters observable(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return OBSERVABLE.contains(parameters.using()) ? parameters : null;
+    }
+
+    private boolean isIgnored(Throwable e) {
+        for (Class<? extends Throwable> type : ignored) {
+            if (type.isInstance(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The first polling interval
+     */
+    public Duration getInitialPolling() {
+        return initialPolling;
+    }
+
+    /**
+     * @return The polling interval cap
+     */
+    public Duration getMaxPolling() {
+        return maxPolling;
+    }
+
+    /**
+     * @return The interval multiplier after each miss
+     */
+    public double getBackoff() {
+        return backoff;
+    }
+
+    /**
+     * @return true if element waits observe DOM changes instead of polling
+     */
+    public boolean isObservingDom() {
+        return observeDom;
+    }
+
+    /**
+     * Element states {@link #untilElement(By, ElementState, Duration)} can wait for, with the
+     * {@code ExpectedConditions} they match.
+     */
+    public enum ElementState {
+        /** In the DOM ({@code presenceOfElementLocated}). */
+        PRESENT,
+        /** Displayed ({@code visibilityOfElementLocated}). */
+        VISIBLE,
+        /** Displayed and enabled ({@code elementToBeClickable}). */
+        CLICKABLE;
+
+        private ExpectedCondition<WebElement> condition(By locator) {
+            switch (this) {
+                case PRESENT:
+                    return ExpectedConditions.presenceOfElementLocated(locator);
+                case VISIBLE:
+                    return ExpectedConditions.visibilityOfElementLocated(locator);
+                default:
+                    return ExpectedConditions.elementToBeClickable(locator);
+            }
+        }
+    }
+
+    /**
+     * Builder for {@link WaitEngine}. Not thread-safe; build one engine per builder use.
+     */
+    public static final class Builder {
+        private final WebDriver driver;
+        private Duration initialPolling = Duration.ofMillis(20);
+        private Duration maxPolling = Duration.ofMillis(250);
+        private double backoff = 2.0;
+        private final List<Class<? extends Throwable>> ignored =
+                new ArrayList<>(List.of(NotFoundException.class));
+        private Clock clock = Clock.systemUTC();
+        private Sleeper sleeper = Sleeper.SYSTEM_SLEEPER;
+        private boolean observeDom;
+
+        private Builder(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        /**
+         * Sets the first polling interval.
+         *
+         * @param initialPolling Interval after the first failed check
+         * @return This builder
+         */
+        public Builder initialPolling(Duration initialPolling) {
+            this.initialPolling = initialPolling;
+            return this;
+        }
+
+        /**
+         * Sets the polling interval cap.
+         *
+         * @param maxPolling Longest interval between checks
+         * @return This builder
+         */
+        public Builder maxPolling(Duration maxPolling) {
+            this.maxPolling = maxPolling;
+            return this;
+        }
+
+        /**
+         * Sets the interval multiplier; 1.0 polls at a fixed rate.
+         *
+         * @param backoff Factor applied to the interval after each miss (at least 1.0)
+         * @return This builder
+         */
+        public Builder backoff(double backoff) {
+            this.backoff = backoff;
+            return this;
+        }
+
+        /**
+         * Adds exceptions that count as "condition not met yet".
+         *
+         * @param types Exception types to ignore while waiting
+         * @return This builder
+         */
+        @SafeVarargs
+        public final Builder ignoring(Class<? extends Throwable>... types) {
+            for (Class<? extends Throwable> type : types) {
+                ignored.add(type);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the clock the timeout is measured with.
+         *
+         * @param clock The clock
+         * @return This builder
+         */
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Sets how the engine sleeps between checks.
+         *
+         * @param sleeper The sleeper
+         * @return This builder
+         */
+        public Builder sleeper(Sleeper sleeper) {
+            this.sleeper = sleeper;
+            return this;
+        }
+
+        /**
+         * Sets whether element waits observe DOM changes instead of polling.
+         *
+         * @param observeDom true for a MutationObserver-based element wait
+         * @return This builder
+         */
+        public Builder observeDom(boolean observeDom) {
+            this.observeDom = observeDom;
+            return this;
+        }
+
+        /**
+         * Builds the engine.
+         *
+         * @return A new immutable engine
+         */
+        public WaitEngine build() {
+            return new WaitEngine(this);
+        }
+    }
+}
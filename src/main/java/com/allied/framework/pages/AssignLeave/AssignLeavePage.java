@@ -2,8 +2,12 @@ package com.allied.framework.pages.AssignLeave;
 import org.openqa.selenium.By;
 
 import com.allied.framework.pages.BasePage;
+import com.allied.framework.pages.loginpagedemo.OrangeHrmLogin;
 
 public class AssignLeavePage extends BasePage {
+    // Page URL
+    public static final String URL = OrangeHrmLogin.APP_URL + "leave/assignLeave";
+
     // Navigation
     public static final By LEAVE_MENU = By.cssSelector("#app > div.oxd-layout.orangehrm-upgrade-layout > div.oxd-layout-navigation > aside > nav > div.oxd-sidepanel-body > ul > li:nth-child(3) > a");
     public static final By ASSIGN_LEAVE = By.cssSelector("#app > div.oxd-layout.orangehrm-upgrade-layout > div.oxd-layout-navigation > header > div.oxd-topbar-body > nav > ul > li:nth-child(7)");
@@ -41,5 +45,8 @@ public class AssignLeavePage extends BasePage {
     // Confirmation or resulting message
     public static final By ASSIGN_SUCCESS_MSG = By.xpath("//div[contains(text(),'Successfully Assigned')]");
 
+    // Readiness condition: form is usable once the employee field is clickable
+    public static final By READY = EMPLOYEE_NAME_INPUT;
+
 }
 
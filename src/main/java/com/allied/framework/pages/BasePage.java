@@ -14,6 +14,8 @@ import org.openqa.selenium.By;
  *   <li>Page objects extend this class to inherit common locators</li>
  *   <li>Page-specific locators are defined in individual page object classes</li>
  *   <li>Actions are performed using SeleniumUtils, not in page objects</li>
+ *   <li>Navigable pages expose a {@code URL} and a {@code READY} locator; the page is
+ *       usable once READY is clickable, which lets tests run with PAGE_LOAD_STRATEGY=eager</li>
  * </ul>
  *
  * <p><b>Usage Example:</b></p>
@@ -26,8 +28,9 @@ import org.openqa.selenium.By;
  *     public static final By PASSWORD_INPUT = By.id("password");
  *     public static final By LOGIN_BUTTON = By.id("login-btn");
  *
- *     // Page URL
+ *     // Page URL and readiness condition
  *     public static final String URL = "https://example.com/login";
+ *     public static final By READY = USERNAME_INPUT;
  *
  *     // Can use inherited locators from BasePage
  *     public void closeDialog(WebDriver driver) {
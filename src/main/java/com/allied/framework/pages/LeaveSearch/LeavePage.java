@@ -3,8 +3,11 @@ package com.allied.framework.pages.LeaveSearch;
 import org.openqa.selenium.By;
 
 import com.allied.framework.pages.BasePage;
+import com.allied.framework.pages.loginpagedemo.OrangeHrmLogin;
 
 public class LeavePage extends BasePage {
+    // Page URL
+    public static final String URL = OrangeHrmLogin.APP_URL + "leave/viewLeaveList";
 
     // Menu navigation
     public static final By LEAVE_MENU1 = By.xpath("//span[text()='Leave']");
@@ -18,4 +21,7 @@ public class LeavePage extends BasePage {
 
     // Result table
     public static final By RESULT_TABLE = By.xpath("//div[@class='oxd-table-body']");
+
+    // Readiness condition: filters are usable once the employee field is clickable
+    public static final By READY = EMPLOYEE_NAME_INPUT;
 }
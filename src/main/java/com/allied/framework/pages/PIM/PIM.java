@@ -69,6 +69,11 @@ public class PIM extends BasePage {
     
     public static final By FILTER = By.cssSelector("#app > div.oxd-layout.orangehrm-upgrade-layout > div.oxd-layout-container > div.oxd-layout-context > div > div.oxd-table-filter > div.oxd-table-filter-area > form > div.oxd-form-row > div > div:nth-child(1) > div > div:nth-child(2) > div > div > input"); 
 
+    /**
+     * Readiness condition: the employee list is usable once the Add button is clickable.
+     */
+    public static final By READY = ADD_BUTTON;
+
     public static final By SEARCH = By.cssSelector("#app > div.oxd-layout.orangehrm-upgrade-layout > div.oxd-layout-container > div.oxd-layout-context > div > div.oxd-table-filter > div.oxd-table-filter-area > form > div.oxd-form-actions > button.oxd-button.oxd-button--medium.oxd-button--secondary.orangehrm-left-space");
 
 
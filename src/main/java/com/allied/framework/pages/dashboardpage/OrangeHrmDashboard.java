@@ -1,6 +1,7 @@
 package com.allied.framework.pages.dashboardpage;
 
 import com.allied.framework.pages.BasePage;
+import com.allied.framework.pages.loginpagedemo.OrangeHrmLogin;
 import org.openqa.selenium.By;
 
 /**
@@ -39,6 +40,11 @@ import org.openqa.selenium.By;
  */
 public class OrangeHrmDashboard extends BasePage {
 
+    /**
+     * URL for the OrangeHRM dashboard page.
+     */
+    public static final String URL = OrangeHrmLogin.APP_URL + "dashboard/index";
+
     /**
      * Dashboard heading locator.
      * <p>HTML: {@code <h6>Dashboard</h6>}</p>
@@ -59,4 +65,9 @@ public class OrangeHrmDashboard extends BasePage {
      * <p>Locates dashboard widget names/titles on the dashboard page.</p>
      */
     public static final By DASHBOARD_WIDGET = By.className("orangehrm-dashboard-widget-name");
+
+    /**
+     * Readiness condition: the page is usable once the dashboard heading is displayed.
+     */
+    public static final By READY = DASHBOARD_HEADING;
 }
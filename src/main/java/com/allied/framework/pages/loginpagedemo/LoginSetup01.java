@@ -1,8 +1,13 @@
 package com.allied.framework.pages.loginpagedemo;
 
 import com.allied.framework.core.Env;
+import com.allied.framework.core.SessionCache;
 import com.allied.framework.pages.dashboardpage.OrangeHrmDashboard;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
 
 import static com.allied.framework.utils.SeleniumUtils.*;
 
@@ -28,6 +33,13 @@ import static com.allied.framework.utils.SeleniumUtils.*;
  *
  * <p>Alternatively, extend LoggedInBaseTest to get automatic login in @BeforeMethod.</p>
  *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>HTTP_LOGIN = "true" | "false" - log in over HTTP instead of through the form, falling
+ *       back to the form if that fails (default: "false", see {@link OrangeHrmHttpLogin})</li>
+ *   <li>SESSION_CACHE - reuse an earlier login's cookies and storage (see {@link SessionCache})</li>
+ * </ul>
+ *
  * <p>This is the Java equivalent of Python's login_setup_01.py module.</p>
  *
  * @see OrangeHrmLogin
@@ -35,10 +47,19 @@ import static com.allied.framework.utils.SeleniumUtils.*;
  */
 public class LoginSetup01 {
 
+    /** Key of the OrangeHRM login in {@link SessionCache}. */
+    private static final String SESSION_KEY = Env.ORANGEHRM_USERNAME + "@" + OrangeHrmLogin.APP_URL;
+
     /**
      * Performs login to OrangeHRM application.
      *
-     * <p>This method:</p>
+     * <p>With SESSION_CACHE enabled, a session captured by an earlier login is restored
+     * instead (see {@link SessionCache}). Otherwise, with HTTP_LOGIN enabled, the login is
+     * performed over HTTP and the session cookie handed to the browser (see
+     * {@link OrangeHrmHttpLogin}). The UI login below only runs when neither succeeds; the
+     * resulting session is cached.</p>
+     *
+     * <p>The UI login:</p>
      * <ol>
      *   <li>Navigates to the login page</li>
      *   <li>Enters username from ORANGEHRM_USERNAME environment variable</li>
@@ -60,8 +81,27 @@ public class LoginSetup01 {
      * @throws org.openqa.selenium.TimeoutException if login fails or dashboard doesn't load
      */
     public static void loginToOrangeHrm(WebDriver driver) {
-        // Navigate to login page
-        driver.get(OrangeHrmLogin.URL);
+        if (SessionCache.restore(driver, SESSION_KEY, OrangeHrmLogin.URL, OrangeHrmDashboard.URL,
+                OrangeHrmDashboard.READY, OrangeHrmLogin.READY, 10)) {
+            return;
+        }
+        if (!OrangeHrmHttpLogin.isEnabled()
+                || !OrangeHrmHttpLogin.loginBrowser(driver, OrangeHrmLogin.URL, OrangeHrmDashboard.URL,
+                        OrangeHrmDashboard.READY, Env.ORANGEHRM_USERNAME, Env.ORANGEHRM_PASSWORD, 10)) {
+            loginThroughUi(driver);
+        }
+        SessionCache.capture(driver, SESSION_KEY);
+    }
+
+    /**
+     * Logs in by typing the credentials, bypassing SESSION_CACHE.
+     *
+     * @param driver The WebDriver instance to use for login
+     * @throws org.openqa.selenium.TimeoutException if login fails or dashboard doesn't load
+     */
+    public static void loginThroughUi(WebDriver driver) {
+        // Navigate to login page and wait until the form is usable
+        navigateTo(driver, OrangeHrmLogin.URL, OrangeHrmLogin.READY, 10);
 
         // Enter credentials
         sendKeysToElement(driver, OrangeHrmLogin.USERNAME_INPUT, Env.ORANGEHRM_USERNAME, 10, true);
@@ -74,6 +114,26 @@ public class LoginSetup01 {
         assertElementVisible(driver, OrangeHrmDashboard.DASHBOARD_HEADING, 10, "Login failed - dashboard not displayed");
     }
 
+    /**
+     * Opens the dashboard, logging in first only if the session is not authenticated.
+     *
+     * <p>Use this in tests that may run in an already logged-in browser (e.g. a shared
+     * {@code TabPool} tab), where {@link #loginToOrangeHrm(WebDriver)} would find no login
+     * form because the login page redirects to the dashboard.</p>
+     *
+     * @param driver The WebDriver instance to use
+     * @throws org.openqa.selenium.TimeoutException if neither the dashboard nor the login form loads
+     */
+    public static void ensureLoggedIn(WebDriver driver) {
+        driver.get(OrangeHrmDashboard.URL);
+        new WebDriverWait(driver, Duration.ofSeconds(10)).until(ExpectedConditions.or(
+                ExpectedConditions.visibilityOfElementLocated(OrangeHrmDashboard.READY),
+                ExpectedConditions.elementToBeClickable(OrangeHrmLogin.READY)));
+        if (driver.findElements(OrangeHrmDashboard.READY).isEmpty()) {
+            loginToOrangeHrm(driver);
+        }
+    }
+
     // Private constructor to prevent instantiation
     private LoginSetup01() {
         throw new AssertionError("LoginSetup01 should not be instantiated");
@@ -0,0 +1,240 @@
+package com.allied.framework.pages.loginpagedemo;
+
+import com.allied.framework.core.Logger;
+import com.allied.framework.core.OptionalEnv;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Programmatic OrangeHRM login over HTTP, without the login form.
+ *
+ * <p>OrangeHRM's form login is two requests:</p>
+ * <ol>
+ *   <li>{@code GET .../auth/login} - starts an anonymous session (cookie) and embeds a CSRF
+ *       token in the page ({@code <auth-login :token="&quot;...&quot;">}, or a hidden
+ *       {@code _token} input)</li>
+ *   <li>{@code POST .../auth/validate} with {@code _token}, {@code username} and
+ *       {@code password} - redirects to the dashboard and re-issues the session cookie on
+ *       success, or back to {@code auth/login} on failure</li>
+ * </ol>
+ *
+ * <p>{@link #login(String, String, String)} performs both with {@link HttpClient} and returns
+ * the authenticated session cookies. {@link #loginBrowser} then puts them into a browser: it
+ * opens the login page (to be on the application's origin), replaces the browser's cookies and
+ * opens the landing page. {@link LoginSetup01} uses this when HTTP_LOGIN is enabled and falls
+ * back to the UI login if it fails.</p>
+ *
+ * <p>The application must be reachable from the test JVM (not only from a grid node).</p>
+ *
+ * <p><b>Configuration via Environment Variables:</b></p>
+ * <ul>
+ *   <li>HTTP_LOGIN = "true" | "false" - LoginSetup01 logs in over HTTP (default: "false")</li>
+ * </ul>
+ *
+ * <p><b>Usage Example:</b></p>
+ * <pre>{@code
+ * boolean loggedIn = OrangeHrmHttpLogin.loginBrowser(driver, OrangeHrmLogin.URL,
+ *         OrangeHrmDashboard.URL, OrangeHrmDashboard.READY, "Admin", "admin123", 10);
+ * if (!loggedIn) {
+ *     LoginSetup01.loginThroughUi(driver);
+ * }
+ * }</pre>
+ *
+ * @see LoginSetup01
+ */
+public class OrangeHrmHttpLogin {
+    private static final org.slf4j.Logger logger = Logger.getLogger(OrangeHrmHttpLogin.class);
+
+    /** CSRF token passed to the Vue login component, HTML-escaped. */
+    private static final Pattern COMPONENT_TOKEN = Pattern.compile(":token=\"&quot;([^&\"]+)&quot;\"");
+
+    /** CSRF token in a classic hidden form field. */
+    private static final Pattern HIDDEN_TOKEN =
+            Pattern.compile("name=\"_token\"[^>]*value=\"([^\"]+)\"|value=\"([^\"]+)\"[^>]*name=\"_token\"");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    /**
+     * Checks whether LoginSetup01 should log in over HTTP (HTTP_LOGIN, a boolean like the
+     * other framework flags: 1/true/yes/y/on).
+     *
+     * @return true if HTTP login is enabled
+     */
+    public static boolean isEnabled() {
+        return OptionalEnv.getBoolean("HTTP_LOGIN", false);
+    }
+
+    /**
+     * Logs in over HTTP and returns the session cookies.
+     *
+     * @param loginUrl The login page, e.g. {@code https://host/web/index.php/auth/login}
+     * @param username The user name
+     * @param password The password
+     * @return The cookies of the authenticated session for the application's URL
+     * @throws IOException          if a request fails, the page has no CSRF token, or the
+     *                              credentials are rejected
+     * @throws InterruptedException if interrupted while waiting for a response
+     */
+    public static List<HttpCookie> login(String loginUrl, String username, String password)
+            throws IOException, InterruptedException {
+        URI loginUri = URI.create(loginUrl);
+        CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ORIGINAL_SERVER);
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TIMEOUT)
+                .build();
+
+        HttpResponse<String> page = client.send(
+                HttpRequest.newBuilder(loginUri).timeout(TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (page.statusCode() != 200) {
+            throw new IOException("Login page " + loginUrl + " returned HTTP " + page.statusCode());
+        }
+        String token = extractToken(page.body());
+        if (token == null) {
+            throw new IOException("No CSRF token found on " + loginUrl);
+        }
+
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("_token", token);
+        form.put("username", username);
+        form.put("password", password);
+        URI validateUri = URI.create(loginUrl.replaceFirst("auth/login/?$", "auth/validate"));
+        HttpResponse<String> result = client.send(
+                HttpRequest.newBuilder(validateUri)
+                        .timeout(TIMEOUT)
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(encode(form)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        String location = result.headers().firstValue("Location").orElse("");
+        if (result.statusCode() / 100 != 3 || location.isEmpty()) {
+            throw new IOException("Login POST to " + validateUri + " returned HTTP " + result.statusCode()
+                    + " without a redirect");
+        }
+        if (location.contains("auth/login")) {
+            throw new IOException("Credentials for '" + username + "' were rejected");
+        }
+
+        List<HttpCookie> session = cookies.getCookieStore().get(loginUri);
+        if (session.isEmpty()) {
+            throw new IOException("Login succeeded but no session cookie was set");
+        }
+        logger.debug("HTTP login as '{}' succeeded, redirected to {}", username, location);
+        return session;
+    }
+
+    /**
+     * Logs in over HTTP and hands the session to a browser.
+     *
+     * @param driver     The browser to log in
+     * @param loginUrl   The login page (also used to get onto the application's origin)
+     * @param landingUrl The page to open once the cookies are set
+     * @param loggedIn   Shown on the landing page when the session is valid
+     * @param username   The user name
+     * @param password   The password
+     * @param timeout    Seconds to wait for {@code loggedIn}
+     * @return true if the browser is logged in on the landing page; false if any step failed
+     *         (the browser's cookies may then have been replaced)
+     */
+    public static boolean loginBrowser(WebDriver driver, String loginUrl, String landingUrl, By loggedIn,
+                                       String username, String password, int timeout) {
+        List<HttpCookie> session;
+        try {
+            session = login(loginUrl, username, password);
+        } catch (IOException e) {
+            logger.warn("HTTP login failed: {}", e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            driver.get(loginUrl);
+            driver.manage().deleteAllCookies();
+            for (HttpCookie cookie : session) {
+                driver.manage().addCookie(toSeleniumCookie(cookie));
+            }
+            driver.get(landingUrl);
+            new WebDriverWait(driver, Duration.ofSeconds(timeout))
+                    .until(ExpectedConditions.visibilityOfElementLocated(loggedIn));
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Browser was not logged in by the HTTP session; {} did not show {}", landingUrl, loggedIn);
+        } catch (WebDriverException e) {
+            logger.warn("Could not hand the HTTP session to the browser: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Finds the CSRF token in the login page.
+     *
+     * @param html The login page
+     * @return The token, or null if there is none
+     */
+    private static String extractToken(String html) {
+        Matcher component = COMPONENT_TOKEN.matcher(html);
+        if (component.find()) {
+            return component.group(1);
+        }
+        Matcher hidden = HIDDEN_TOKEN.matcher(html);
+        if (hidden.find()) {
+            return hidden.group(1) != null ? hidden.group(1) : hidden.group(2);
+        }
+        return null;
+    }
+
+    private static String encode(Map<String, String> form) {
+        return form.entrySet().stream()
+                .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * Converts a cookie for the browser; the domain is left to the page it is added on.
+     */
+    private static Cookie toSeleniumCookie(HttpCookie cookie) {
+        Cookie.Builder builder = new Cookie.Builder(cookie.getName(), cookie.getValue())
+                .path(cookie.getPath() != null ? cookie.getPath() : "/")
+                .isSecure(cookie.getSecure())
+                .isHttpOnly(cookie.isHttpOnly());
+        if (cookie.getMaxAge() > 0) {
+            builder.expiresOn(new Date(System.currentTimeMillis() + cookie.getMaxAge() * 1000));
+        }
+        return builder.build();
+    }
+
+    // Private constructor to prevent instantiation
+    private OrangeHrmHttpLogin() {
+        throw new AssertionError("OrangeHrmHttpLogin should not be instantiated");
+    }
+}
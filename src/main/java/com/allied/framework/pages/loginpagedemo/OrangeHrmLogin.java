@@ -13,6 +13,7 @@ import org.openqa.selenium.By;
  * <ul>
  *   <li>Extends BasePage to inherit common locators</li>
  *   <li>Contains page URL as a constant</li>
+ *   <li>Contains a READY locator that is usable once the page can be interacted with</li>
  *   <li>Contains page-specific locators as static final By objects</li>
  *   <li>No driver instance, no action methods - use SeleniumUtils for interactions</li>
  * </ul>
@@ -23,8 +24,8 @@ import org.openqa.selenium.By;
  *
  * @Test
  * public void testLogin() {
- *     // Navigate to login page
- *     driver.get(OrangeHrmLogin.URL);
+ *     // Navigate to login page (returns once the form is usable)
+ *     navigateTo(driver, OrangeHrmLogin.URL, OrangeHrmLogin.READY, 10);
  *
  *     // Perform login actions using SeleniumUtils
  *     sendKeysToElement(driver, OrangeHrmLogin.USERNAME_INPUT, "Admin", 10, true);
@@ -46,6 +47,12 @@ public class OrangeHrmLogin extends BasePage {
      */
     public static final String URL = Env.ORANGEHRM_BASE_URL;
 
+    /**
+     * Root of the OrangeHRM application routes, e.g. {@code .../web/index.php/}.
+     * <p>Derived from {@link #URL} by dropping the {@code auth/login} route.</p>
+     */
+    public static final String APP_URL = URL.replaceFirst("auth/login/?$", "");
+
     /**
      * Username input field locator.
      * <p>HTML: {@code <input name="username" />}</p>
@@ -63,4 +70,9 @@ public class OrangeHrmLogin extends BasePage {
      * <p>HTML: {@code <button class="orangehrm-login-button">Login</button>}</p>
      */
     public static final By LOGIN_BUTTON = By.cssSelector("button.orangehrm-login-button");
+
+    /**
+     * Readiness condition: the page is usable once the username field is clickable.
+     */
+    public static final By READY = USERNAME_INPUT;
 }
@@ -1,11 +1,14 @@
 package com.allied.framework.pages.submissionspage;
 
+import com.allied.framework.utils.ElementBatch;
+import com.allied.framework.utils.ElementExpectation;
 import com.allied.framework.utils.SeleniumUtils;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -18,10 +21,13 @@ import java.util.Map;
  *
  * <h2>Usage Example:</h2>
  * <pre>{@code
- * // Preconditions (handled elsewhere):
- * // 1. Login_Setup_01
- * // 2. Send_Attachment_For_Submission_Creation_Setup_01
- * // 3. We are already on the Submissions List page
+ * // Preconditions (handled elsewhere), replayed only when no fresh checkpoint exists:
+ * if (!StorageState.restoreCheckpoint(driver, "submissions-list", SubmissionList.SUBMISSIONS_TABLE, 15)) {
+ *     // 1. Login_Setup_01
+ *     // 2. Send_Attachment_For_Submission_Creation_Setup_01
+ *     // 3. We are now on the Submissions List page
+ *     StorageState.checkpoint(driver, "submissions-list");
+ * }
  *
  * // Validate the new submission
  * Map<String, String> submissionData = SubmissionListSetup01.submissionListSetup01(driver);
@@ -32,6 +38,7 @@ import java.util.Map;
  *
  * @see SubmissionList
  * @see SeleniumUtils
+ * @see com.allied.framework.core.StorageState
  */
 public class SubmissionListSetup01 {
 
@@ -73,46 +80,39 @@ public class SubmissionListSetup01 {
     public static Map<String, String> submissionListSetup01(WebDriver driver) {
         logger.info("Starting Submission_List_Setup_01");
 
-        // Make sure we're on the list page and table is visible
-        SeleniumUtils.assertElementVisible(driver, SubmissionList.SUBMISSIONS_LIST_PAGE_ROOT, 15, "Submissions list page not loaded");
-        SeleniumUtils.assertElementVisible(driver, SubmissionList.SUBMISSIONS_TABLE, 15, "Submissions table not visible");
+        // Make sure we're on the list page and table is visible (one script call per poll)
+        SeleniumUtils.waitForAll(driver, List.of(
+            ElementExpectation.visible(SubmissionList.SUBMISSIONS_LIST_PAGE_ROOT).describedAs("Submissions list page"),
+            ElementExpectation.visible(SubmissionList.SUBMISSIONS_TABLE).describedAs("Submissions table")
+        ), 15);
 
         // 1) Reload the list (prefer refresh button, fallback to driver.refresh)
         logger.debug("Reloading submissions list page via reloadPage()");
         SeleniumUtils.reloadPage(driver, SubmissionList.REFRESH_PAGE_BUTTON);
 
-        // Wait for table to be visible again after reload
-        SeleniumUtils.assertElementVisible(driver, SubmissionList.SUBMISSIONS_TABLE, 15, "Submissions table not visible after reload");
-
-        // 2) Read first/newest row cells
-        String submissionId = SeleniumUtils.safeGetText(
-            driver,
-            SubmissionList.CELL_SUBMISSION_ID,
-            10
-        );
-        String status = SeleniumUtils.safeGetText(
-            driver,
-            SubmissionList.CELL_STATUS,
-            10
-        );
-        String channel = SeleniumUtils.safeGetText(
-            driver,
-            SubmissionList.CELL_CHANNEL,
-            10
-        );
-        String customer = SeleniumUtils.safeGetText(
-            driver,
-            SubmissionList.CELL_CUSTOMER,
-            10
-        );
-        String lob = SeleniumUtils.safeGetText(
-            driver,
-            SubmissionList.CELL_LINE_OF_BUSINESS,
-            10
-        );
-        String priority = SeleniumUtils.safeGetText(driver, SubmissionList.CELL_PRIORITY, 10);
-        String received = SeleniumUtils.safeGetText(driver, SubmissionList.CELL_RECEIVED, 10);
-        String lastModified = SeleniumUtils.safeGetText(driver, SubmissionList.CELL_LAST_MODIFIED, 10);
+        // 2) Wait for the table again and read the first/newest row cells in the same batch
+        ElementExpectation idCell = ElementExpectation.text(SubmissionList.CELL_SUBMISSION_ID);
+        ElementExpectation statusCell = ElementExpectation.text(SubmissionList.CELL_STATUS);
+        ElementExpectation channelCell = ElementExpectation.text(SubmissionList.CELL_CHANNEL);
+        ElementExpectation customerCell = ElementExpectation.text(SubmissionList.CELL_CUSTOMER);
+        ElementExpectation lobCell = ElementExpectation.text(SubmissionList.CELL_LINE_OF_BUSINESS);
+        ElementExpectation priorityCell = ElementExpectation.text(SubmissionList.CELL_PRIORITY);
+        ElementExpectation receivedCell = ElementExpectation.text(SubmissionList.CELL_RECEIVED);
+        ElementExpectation lastModifiedCell = ElementExpectation.text(SubmissionList.CELL_LAST_MODIFIED);
+
+        ElementBatch row = SeleniumUtils.waitForAll(driver, List.of(
+            ElementExpectation.visible(SubmissionList.SUBMISSIONS_TABLE).describedAs("Submissions table after reload"),
+            idCell, statusCell, channelCell, customerCell, lobCell, priorityCell, receivedCell, lastModifiedCell
+        ), 15);
+
+        String submissionId = row.getText(idCell);
+        String status = row.getText(statusCell);
+        String channel = row.getText(channelCell);
+        String customer = row.getText(customerCell);
+        String lob = row.getText(lobCell);
+        String priority = row.getText(priorityCell);
+        String received = row.getText(receivedCell);
+        String lastModified = row.getText(lastModifiedCell);
 
         logger.debug(
             "Row values: id={} status={} channel={} customer={} lob={} priority={} received={} last_modified={}",
@@ -0,0 +1,54 @@
+package com.allied.framework.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.openqa.selenium.WebElement;
+
+/**
+ * Elements and texts found by one
+ * {@link SeleniumUtils#waitForAll(org.openqa.selenium.WebDriver, java.util.List, int)}
+ * call, keyed by their {@link ElementExpectation}.
+ *
+ * <p>
+ * Immutable. Optional expectations that were not met have no element and an
+ * empty text.
+ * </p>
+ *
+ * @see ElementExpectation
+ */
+public final class ElementBatch {
+    private final Map<ElementExpectation, WebElement> elements;
+    private final Map<ElementExpectation, String> texts;
+
+    ElementBatch(Map<ElementExpectation, WebElement> elements, Map<ElementExpectation, String> texts) {
+        this.elements = Collections.unmodifiableMap(new LinkedHashMap<>(elements));
+        this.texts = Collections.unmodifiableMap(new LinkedHashMap<>(texts));
+    }
+
+    /**
+     * @param expectation An expectation of the batch
+     * @return The element, or null if an optional expectation was not met
+     */
+    public WebElement getElement(ElementExpectation expectation) {
+        return elements.get(expectation);
+    }
+
+    /**
+     * @param expectation A {@link ElementExpectation.Kind#TEXT} expectation of the
+     *                    batch
+     * @return The element's trimmed text, or "" if it was not read or not found
+     */
+    public String getText(ElementExpectation expectation) {
+        return texts.getOrDefault(expectation, "");
+    }
+
+    /**
+     * @param expectation An expectation of the batch
+     * @return true if the expectation was met
+     */
+    public boolean isFound(ElementExpectation expectation) {
+        return elements.get(expectation) != null;
+    }
+}
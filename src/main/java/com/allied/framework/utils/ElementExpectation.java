@@ -0,0 +1,145 @@
+package com.allied.framework.utils;
+
+import java.util.Objects;
+
+import org.openqa.selenium.By;
+
+/**
+ * One entry of a batch wait: a locator and what the page must show for it.
+ *
+ * <p>
+ * Expectations are immutable values; {@link #optional()} and
+ * {@link #describedAs(String)} return modified copies. Two expectations with
+ * the same locator, kind, flag and description are equal, so a new
+ * {@code ElementExpectation.text(locator)} finds the result of an equal one in
+ * an {@link ElementBatch}.
+ * </p>
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ * </p>
+ *
+ * <pre>{@code
+ * ElementExpectation status = ElementExpectation.text(SubmissionList.CELL_STATUS).describedAs("Status cell");
+ * ElementBatch page = SeleniumUtils.waitForAll(driver,
+ *         List.of(ElementExpectation.visible(SubmissionList.SUBMISSIONS_TABLE), status), 10);
+ * String statusText = page.getText(status);
+ * }</pre>
+ *
+ * @see SeleniumUtils#waitForAll(org.openqa.selenium.WebDriver, java.util.List, int)
+ */
+public final class ElementExpectation {
+
+    /**
+     * What an expectation waits for.
+     */
+    public enum Kind {
+        /** In the DOM. */
+        PRESENT,
+        /** Displayed. */
+        VISIBLE,
+        /** Displayed; its trimmed text is read in the same round trip. */
+        TEXT
+    }
+
+    private final By locator;
+    private final Kind kind;
+    private final boolean required;
+    private final String description;
+
+    private ElementExpectation(By locator, Kind kind, boolean required, String description) {
+        this.locator = Objects.requireNonNull(locator, "locator");
+        this.kind = kind;
+        this.required = required;
+        this.description = description;
+    }
+
+    /**
+     * @param locator The element locator
+     * @return An expectation that the element is in the DOM
+     */
+    public static ElementExpectation present(By locator) {
+        return new ElementExpectation(locator, Kind.PRESENT, true, null);
+    }
+
+    /**
+     * @param locator The element locator
+     * @return An expectation that the element is displayed
+     */
+    public static ElementExpectation visible(By locator) {
+        return new ElementExpectation(locator, Kind.VISIBLE, true, null);
+    }
+
+    /**
+     * @param locator The element locator
+     * @return An expectation that the element is displayed, with its text read
+     */
+    public static ElementExpectation text(By locator) {
+        return new ElementExpectation(locator, Kind.TEXT, true, null);
+    }
+
+    /**
+     * Returns a copy that does not hold the batch up: if it is not met when all
+     * required expectations are, its element is null and its text "".
+     *
+     * @return The optional copy
+     */
+    public ElementExpectation optional() {
+        return new ElementExpectation(locator, kind, false, description);
+    }
+
+    /**
+     * Returns a copy named in timeout messages instead of its locator.
+     *
+     * @param description A short name, e.g. "Submissions table"
+     * @return The described copy
+     */
+    public ElementExpectation describedAs(String description) {
+        return new ElementExpectation(locator, kind, required, description);
+    }
+
+    /**
+     * @return The element locator
+     */
+    public By getLocator() {
+        return locator;
+    }
+
+    /**
+     * @return What the expectation waits for
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return true unless {@link #optional()} was used
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ElementExpectation)) {
+            return false;
+        }
+        ElementExpectation other = (ElementExpectation) o;
+        return locator.equals(other.locator) && kind == other.kind && required == other.required
+                && Objects.equals(description, other.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(locator, kind, required, description);
+    }
+
+    @Override
+    public String toString() {
+        String name = description != null ? description : locator.toString();
+        return name + " (" + kind.name().toLowerCase() + (required ? "" : ", optional") + ")";
+    }
+}
@@ -1,6 +1,14 @@
 package com.allied.framework.utils;
 
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.ElementClickInterceptedException;
@@ -8,10 +16,11 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
+import com.allied.framework.core.ElementScripts;
 import com.allied.framework.core.Logger;
+import com.allied.framework.core.WaitEngine;
+import com.allied.framework.core.WaitEngine.ElementState;
 
 /**
  * Selenium utility functions for common WebDriver operations.
@@ -28,6 +37,8 @@ import com.allied.framework.core.Logger;
  * <b>Available Utilities:</b>
  * </p>
  * <ul>
+ * <li>{@link #navigateTo(WebDriver, String, By, int)} - Navigate and wait for
+ * the page's readiness condition</li>
  * <li>{@link #waitForPresent(WebDriver, By, int)} - Wait for element presence
  * in DOM</li>
  * <li>{@link #waitForVisible(WebDriver, By, int)} - Wait for element
@@ -42,6 +53,8 @@ import com.allied.framework.core.Logger;
  * element is visible</li>
  * <li>{@link #safeGetText(WebDriver, By, int, boolean)} - Safely extract text
  * from element</li>
+ * <li>{@link #waitForAll(WebDriver, List, int)} - Wait for several elements and
+ * read their texts in one script call per poll</li>
  * <li>{@link #reloadPage(WebDriver, By)} - Reload page via UI button or browser
  * refresh</li>
  * </ul>
@@ -74,15 +87,66 @@ import com.allied.framework.core.Logger;
  * }</pre>
  *
  * <p>
+ * All waits go through the driver's {@link WaitEngine}, which polls after 20 ms
+ * and backs off to 250 ms instead of WebDriverWait's fixed 500 ms. With
+ * WAIT_MODE=observe, waits for CSS-expressible locators resolve on DOM changes
+ * through an injected MutationObserver instead of polling.
+ * </p>
+ *
+ * <p>
  * This is the Java equivalent of Python's selenium_utils.py module.
  * </p>
  *
- * @see org.openqa.selenium.support.ui.WebDriverWait
+ * @see WaitEngine
  * @see org.openqa.selenium.support.ui.ExpectedConditions
  */
 public class SeleniumUtils {
     private static final org.slf4j.Logger logger = Logger.getLogger(SeleniumUtils.class);
 
+    /**
+     * Evaluates a list of [strategy, value, kind] specs and returns, per spec,
+     * [element, text or null] or null if the element is missing or not visible.
+     */
+    private static final String BATCH_SCRIPT = "var specs = arguments[0], results = [];"
+            + ElementScripts.FUNCTIONS
+            + "for (var i = 0; i < specs.length; i++) {"
+            + "  var el = find(specs[i][0], specs[i][1]);"
+            + "  if (el && specs[i][2] !== 'present' && !visible(el)) { el = null; }"
+            + "  results.push(el ? [el, specs[i][2] === 'text' ? el.innerText.trim() : null] : null);"
+            + "}"
+            + "return results;";
+
+    /**
+     * Navigates to a URL and waits until the page's readiness condition is met.
+     *
+     * <p>
+     * With PAGE_LOAD_STRATEGY=eager (or none), {@code driver.get} returns before
+     * the {@code load} event. Waiting for the page object's READY locator to be
+     * clickable lets the test start interacting as soon as the target element is
+     * usable instead of waiting for every image and script to finish loading.
+     * </p>
+     *
+     * <p>
+     * <b>Usage Example:</b>
+     * </p>
+     * 
+     * <pre>{@code
+     * navigateTo(driver, AssignLeavePage.URL, AssignLeavePage.READY, 10);
+     * }</pre>
+     *
+     * @param driver       The WebDriver instance
+     * @param url          The URL to open
+     * @param readyLocator The page's readiness locator (e.g. {@code OrangeHrmLogin.READY})
+     * @param timeout      Timeout in seconds to wait for the locator to be clickable
+     * @return The ready element
+     * @throws org.openqa.selenium.TimeoutException if the page is not ready within
+     *                                              timeout
+     */
+    public static WebElement navigateTo(WebDriver driver, String url, By readyLocator, int timeout) {
+        driver.get(url);
+        return waitForClickable(driver, readyLocator, timeout);
+    }
+
     /**
      * Waits until element is present in the DOM and returns it.
      *
@@ -106,8 +170,7 @@ public class SeleniumUtils {
      *                                              timeout
      */
     public static WebElement waitForPresent(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        return WaitEngine.forDriver(driver).untilElement(locator, ElementState.PRESENT, Duration.ofSeconds(timeout));
     }
 
     /**
@@ -134,8 +197,7 @@ public class SeleniumUtils {
      *                                              timeout
      */
     public static WebElement waitForVisible(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return WaitEngine.forDriver(driver).untilElement(locator, ElementState.VISIBLE, Duration.ofSeconds(timeout));
     }
 
     /**
@@ -161,8 +223,7 @@ public class SeleniumUtils {
      *                                              timeout
      */
     public static WebElement waitForClickable(WebDriver driver, By locator, int timeout) {
-        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
-        return wait.until(ExpectedConditions.elementToBeClickable(locator));
+        return WaitEngine.forDriver(driver).untilElement(locator, ElementState.CLICKABLE, Duration.ofSeconds(timeout));
     }
 
     /**
@@ -366,6 +427,131 @@ public class SeleniumUtils {
         }
     }
 
+    /**
+     * Waits until every required expectation is met and returns all elements and
+     * texts at once.
+     *
+     * <p>
+     * A page check written as separate waits and {@code getText} calls costs
+     * several commands per locator. Here each poll is a single script that finds
+     * every locator, checks visibility and reads the requested texts, so a page
+     * that is already rendered is verified in one round trip. Polling follows the
+     * driver's {@link WaitEngine} intervals. Optional expectations do not hold the
+     * batch up.
+     * </p>
+     *
+     * <p>
+     * The script evaluates id, name, class name, tag name, CSS and XPath locators
+     * in the current frame. Visible means the element has a layout box, is not
+     * {@code visibility: hidden} and not fully transparent; texts are the trimmed
+     * {@code innerText}. If a locator uses another strategy (link text, chained)
+     * or the driver cannot run scripts, the expectations are waited for one by
+     * one instead, within the same overall timeout.
+     * </p>
+     *
+     * <p>
+     * <b>Usage Example:</b>
+     * </p>
+     *
+     * <pre>{@code
+     * ElementExpectation heading = ElementExpectation.text(By.tagName("h6"));
+     * ElementExpectation notice = ElementExpectation.text(By.className("notice")).optional();
+     * ElementBatch page = waitForAll(driver,
+     *         List.of(ElementExpectation.visible(By.id("table")), heading, notice), 10);
+     * String title = page.getText(heading);
+     * }</pre>
+     *
+     * @param driver       The WebDriver instance
+     * @param expectations The expectations to wait for
+     * @param timeout      Timeout in seconds for all of them together
+     * @return The elements and texts, keyed by expectation
+     * @throws org.openqa.selenium.TimeoutException if a required expectation is
+     *                                              not met within timeout; the
+     *                                              message names all unmet ones
+     */
+    public static ElementBatch waitForAll(WebDriver driver, List<ElementExpectation> expectations, int timeout) {
+        List<List<String>> specs = new ArrayList<>();
+        for (ElementExpectation expectation : expectations) {
+            By.Remotable.Parameters parameters = expectation.getLocator() instanceof By.Remotable
+                    ? ((By.Remotable) expectation.getLocator()).getRemoteParameters()
+                    : null;
+            if (parameters == null || !ElementScripts.STRATEGIES.contains(parameters.using())
+                    || !(driver instanceof JavascriptExecutor)) {
+                logger.debug("Cannot evaluate {} in a script; waiting for each expectation", expectation);
+                return waitForEach(driver, expectations, timeout);
+            }
+            specs.add(List.of(parameters.using(), String.valueOf(parameters.value()),
+                    expectation.getKind().name().toLowerCase()));
+        }
+
+        AtomicReference<List<?>> last = new AtomicReference<>();
+        List<?> found;
+        try {
+            found = WaitEngine.forDriver(driver).until(d -> {
+                List<?> results = (List<?>) ((JavascriptExecutor) d).executeScript(BATCH_SCRIPT, specs);
+                last.set(results);
+                for (int i = 0; i < expectations.size(); i++) {
+                    if (expectations.get(i).isRequired() && results.get(i) == null) {
+                        return null;
+                    }
+                }
+                return results;
+            }, Duration.ofSeconds(timeout));
+        } catch (TimeoutException e) {
+            List<?> results = last.get();
+            String unmet = results == null ? String.valueOf(expectations)
+                    : expectations.stream()
+                            .filter(x -> x.isRequired() && results.get(expectations.indexOf(x)) == null)
+                            .map(String::valueOf)
+                            .collect(Collectors.joining(", "));
+            throw new TimeoutException(String.format("Expected elements not ready after %d s: %s", timeout, unmet), e);
+        }
+
+        Map<ElementExpectation, WebElement> elements = new LinkedHashMap<>();
+        Map<ElementExpectation, String> texts = new LinkedHashMap<>();
+        for (int i = 0; i < expectations.size(); i++) {
+            List<?> result = (List<?>) found.get(i);
+            elements.put(expectations.get(i), result == null ? null : (WebElement) result.get(0));
+            if (result != null && result.get(1) != null) {
+                texts.put(expectations.get(i), (String) result.get(1));
+            }
+        }
+        return new ElementBatch(elements, texts);
+    }
+
+    /**
+     * Fallback of {@link #waitForAll(WebDriver, List, int)}: required
+     * expectations are waited for one by one within the overall timeout, then
+     * optional ones are looked up once.
+     */
+    private static ElementBatch waitForEach(WebDriver driver, List<ElementExpectation> expectations, int timeout) {
+        Clock clock = Clock.systemUTC();
+        Instant end = clock.instant().plusSeconds(timeout);
+        Map<ElementExpectation, WebElement> elements = new LinkedHashMap<>();
+        Map<ElementExpectation, String> texts = new LinkedHashMap<>();
+        for (ElementExpectation expectation : expectations) {
+            ElementState state = expectation.getKind() == ElementExpectation.Kind.PRESENT
+                    ? ElementState.PRESENT
+                    : ElementState.VISIBLE;
+            WebElement element;
+            if (expectation.isRequired()) {
+                Duration remaining = Duration.between(clock.instant(), end);
+                element = WaitEngine.forDriver(driver).untilElement(expectation.getLocator(), state,
+                        remaining.isNegative() ? Duration.ZERO : remaining);
+            } else {
+                element = driver.findElements(expectation.getLocator()).stream()
+                        .filter(e -> state == ElementState.PRESENT || e.isDisplayed())
+                        .findFirst()
+                        .orElse(null);
+            }
+            elements.put(expectation, element);
+            if (element != null && expectation.getKind() == ElementExpectation.Kind.TEXT) {
+                texts.put(expectation, element.getText().trim());
+            }
+        }
+        return new ElementBatch(elements, texts);
+    }
+
     /**
      * Reloads the page, preferring an in-UI refresh button when provided.
      *
@@ -426,10 +612,12 @@ public class SeleniumUtils {
      *
      * <p>
      * <b>Warning:</b> This kills ALL Chrome/Firefox processes, not just test
-     * browsers!
+     * browsers! Drivers created by DriverFactory are already cleaned up per
+     * session by {@link com.allied.framework.core.DriverReaper} when quit hangs.
      * </p>
      *
      * @param browserType The browser type ("chrome", "firefox", "edge")
+     * @see com.allied.framework.core.DriverReaper#kill(WebDriver)
      */
     public static void forceKillBrowser(String browserType) {
         if (!System.getProperty("os.name").toLowerCase().contains("win")) {
@@ -1,12 +1,23 @@
 package com.allied.tests;
 
+import java.lang.reflect.Method;
+
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.slf4j.Logger;
+import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 
+import com.allied.framework.core.DriverConfig;
 import com.allied.framework.core.DriverFactory;
+import com.allied.framework.core.DriverPool;
+import com.allied.framework.core.ScopedDrivers;
+import com.allied.framework.core.TabPool;
+import com.allied.framework.pages.loginpagedemo.LoginSetup01;
+import com.allied.framework.pages.loginpagedemo.OrangeHrmLogin;
+import com.allied.tests.grid.LocalGrid;
 
 /**
  * Base test class for all TestNG tests.
@@ -22,7 +33,8 @@ import com.allied.framework.core.DriverFactory;
  * <ul>
  * <li>Automatic WebDriver creation before each test method</li>
  * <li>Automatic WebDriver cleanup after each test method</li>
- * <li>Protected driver field accessible to all subclass tests</li>
+ * <li>Thread-bound driver accessible to all subclass tests via
+ * {@link #getDriver()}, so methods can run with {@code parallel="methods"}</li>
  * <li>Logging for test lifecycle events</li>
  * </ul>
  *
@@ -36,6 +48,7 @@ import com.allied.framework.core.DriverFactory;
  *     @Test
  *     public void testValidLogin() {
  *         // driver is already initialized by @BeforeMethod
+ *         WebDriver driver = getDriver();
  *         driver.get(OrangeHrmLogin.URL);
  *
  *         sendKeysToElement(driver, OrangeHrmLogin.USERNAME_INPUT, "Admin", 10, true);
@@ -59,9 +72,24 @@ import com.allied.framework.core.DriverFactory;
  * <li>HEADLESS - "true" or "false"</li>
  * <li>WINDOW_WIDTH, WINDOW_HEIGHT - Browser window size</li>
  * <li>PAGE_LOAD_TIMEOUT, IMPLICIT_WAIT - Timeout settings</li>
+ * <li>DRIVER_POOL - "true" to lease warm browsers from {@link DriverPool}
+ * instead of launching one per test</li>
+ * <li>CHROME_PROFILE_TEMPLATE - pre-seeded profile cloned per session, built
+ * on first use by visiting the login page</li>
+ * <li>ASYNC_QUIT - "true" to quit browsers in the background so the next test
+ * starts at once; QUIT_TIMEOUT bounds how long a hung quit may keep its
+ * processes alive</li>
+ * <li>READ_ONLY_TABS - tabs per shared, logged-in browser for tests marked
+ * {@link ReadOnly} (0 = each test gets its own browser)</li>
  * </ul>
  *
  * <p>
+ * Tests marked {@link LoggedIn} start logged in on the dashboard; the
+ * annotation's scope decides whether the logged-in browser is kept for the
+ * rest of the class or suite.
+ * </p>
+ *
+ * <p>
  * This is the Java equivalent of Python's browser_fixture.py.
  * </p>
  *
@@ -74,15 +102,42 @@ public class BaseTest {
     protected static final Logger logger = com.allied.framework.core.Logger.getLogger(BaseTest.class);
 
     /**
-     * WebDriver instance for the current test.
+     * Returns the WebDriver bound to the current test thread.
+     *
      * <p>
-     * Initialized in setUp() before each test method.
+     * The driver is created in setUp() and registered with
+     * {@link DriverFactory#current()}, so each TestNG worker thread sees only its
+     * own browser even though test instances are shared between threads.
      * </p>
+     *
+     * @return The WebDriver for the running test method
+     * @throws IllegalStateException if no driver is bound to this thread
+     */
+    protected WebDriver getDriver() {
+        return DriverFactory.current();
+    }
+
+    /**
+     * Prepares browsers once per suite.
+     *
      * <p>
-     * Accessible to all test subclasses as a protected field.
+     * Starts the local grid when LOCAL_GRID is set (its URL becomes
+     * SELENIUM_REMOTE_URL), builds the Chrome profile template
+     * (CHROME_PROFILE_TEMPLATE) from the login page if it does not exist yet,
+     * then pre-spawns pooled browsers when DRIVER_POOL is enabled.
      * </p>
      */
-    protected WebDriver driver;
+    @BeforeSuite(alwaysRun = true)
+    public void prepareBrowsers() {
+        LocalGrid.startIfConfigured();
+        DriverConfig config = DriverFactory.getDriverConfigFromEnv();
+        if (config.getProfileTemplateDir() != null) {
+            DriverFactory.buildProfileTemplate(config, OrangeHrmLogin.URL);
+        }
+        if (DriverPool.isEnabled()) {
+            DriverPool.warmUp(config, DriverPool.getPoolSize());
+        }
+    }
 
     /**
      * Sets up WebDriver before each test method.
@@ -90,40 +145,55 @@ public class BaseTest {
      * <p>
      * This method is automatically called by TestNG before each @Test method.
      * It creates a new WebDriver instance using DriverFactory with configuration
-     * from environment variables.
+     * from environment variables and binds it to the current thread. With
+     * DRIVER_POOL enabled, a warm browser is leased from DriverPool instead.
+     * Tests marked {@link ReadOnly} get a tab in a shared, logged-in browser
+     * from TabPool when READ_ONLY_TABS is set.
+     * </p>
+     *
+     * <p>
+     * Tests marked {@link LoggedIn} are logged in and on the dashboard when
+     * they start. With CLASS or SUITE scope, the thread's logged-in browser
+     * from {@link ScopedDrivers} is reused and only taken back to the
+     * dashboard.
      * </p>
      *
      * <p>
      * <b>Note:</b> If you need to override this method in a subclass, make sure
-     * to call super.setUp() to ensure proper driver initialization.
+     * to call super.setUp(method) to ensure proper driver initialization.
      * </p>
+     *
+     * @param method The test method about to run (injected by TestNG)
      */
     @BeforeMethod(alwaysRun = true)
-    public void setUp() {
+    public void setUp(Method method) {
         logger.info("Setting up WebDriver for test");
-        // WebDriverManager.chromedriver().setup();
-        driver = DriverFactory.createDriver();
+        LoggedIn.Scope scope = loginScope(method);
+        if (TabPool.isEnabled() && isReadOnly(method)) {
+            WebDriver tab = TabPool.lease(LoginSetup01::loginToOrangeHrm);
+            if (scope != null) {
+                LoginSetup01.ensureLoggedIn(tab);
+            }
+        } else if (scope == LoggedIn.Scope.CLASS || scope == LoggedIn.Scope.SUITE) {
+            ScopedDrivers.acquire(scopeKey(scope), LoginSetup01::loginToOrangeHrm, LoginSetup01::ensureLoggedIn);
+        } else {
+            WebDriver driver = DriverPool.isEnabled() ? DriverPool.lease() : DriverFactory.createDriver();
+            if (scope != null) {
+                LoginSetup01.loginToOrangeHrm(driver);
+            }
+        }
         logger.info("WebDriver setup complete");
     }
 
-
-//         @BeforeMethod(alwaysRun = true)
-//     public void setUp() {
-//         driver = DriverFactory.createDriver();  // updated DriverFactory handles ThreadLocal
-//     }
-
-//     @AfterMethod(alwaysRun = true)
-//     public void tearDown() {
-//         DriverFactory.quitDriver();
-//         driver = null;
-// }
-
     /**
      * Tears down WebDriver after each test method.
      *
      * <p>
      * This method is automatically called by TestNG after each @Test method.
-     * It ensures the WebDriver is properly quit, even if the test fails.
+     * It ensures the thread's WebDriver is properly quit (reset and returned to
+     * DriverPool, or its TabPool tab closed), even if the test fails. A
+     * class- or suite-scoped {@link LoggedIn} browser is only unbound and kept
+     * for the next test.
      * </p>
      *
      * <p>
@@ -133,44 +203,78 @@ public class BaseTest {
      */
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        System.out.println("========================================");
-        System.out.println("*** TEARDOWN CALLED ***");
-        System.out.println("Driver is null: " + (driver == null));
-        System.out.println("========================================");
-
-        if (driver == null) {
-            System.out.println("*** Driver was null, nothing to tear down ***");
+        if (!DriverFactory.hasCurrent()) {
+            logger.debug("No WebDriver bound to this thread, nothing to tear down");
             return;
         }
 
         try {
-            // logger.info("Tearing down WebDriver");
-            // Optional: close just the current window first
-            // try {
-            // driver.close();
-            // } catch (Exception e) {
-            // logger.debug("Error closing window", e);
-            // }
-
-            driver.quit();
-            System.out.println("driver.quit() completed successfully");
+            if (ScopedDrivers.isAcquired(getDriver())) {
+                ScopedDrivers.releaseCurrent();
+            } else if (TabPool.isLeased(getDriver())) {
+                TabPool.releaseCurrent();
+            } else if (DriverPool.isEnabled()) {
+                DriverPool.releaseCurrent();
+            } else {
+                DriverFactory.quitCurrent();
+            }
             logger.info("WebDriver teardown complete");
-
-            // Optional: give it a moment to clean up
-            // Thread.sleep(500);
         } catch (Exception e) {
-            System.out.println("ERROR in tearDown: " + e.getMessage());
-            e.printStackTrace();
             logger.error("Error during WebDriver teardown", e);
-            // Optionally attempt additional cleanup here
-        } finally {
-            // Force kill browser processes on Windows as a last resort (if you implement
-            // this)
-            // String browser = Env.getOptionalEnv("BROWSER", "chrome");
-            // SeleniumUtils.forceKillBrowser(browser);
+        }
+    }
+
+    /**
+     * Quits the class-scoped {@link LoggedIn} browsers of this class once all of
+     * its test methods have run.
+     */
+    @AfterClass(alwaysRun = true)
+    public void closeClassSessions() {
+        ScopedDrivers.close(scopeKey(LoggedIn.Scope.CLASS));
+    }
 
-            driver = null;
-            System.out.println("*** TEARDOWN FINISHED ***");
+    /**
+     * Gets the declared {@link LoggedIn} scope of a test method; a method
+     * annotation overrides the (inherited) class annotation.
+     *
+     * @param method The test method
+     * @return The scope, or null if the test does not need to be logged in
+     */
+    protected LoggedIn.Scope loginScope(Method method) {
+        LoggedIn loggedIn = method.getAnnotation(LoggedIn.class);
+        if (loggedIn == null) {
+            loggedIn = getClass().getAnnotation(LoggedIn.class);
         }
+        return loggedIn != null ? loggedIn.value() : null;
+    }
+
+    /**
+     * Builds the {@link ScopedDrivers} key of a CLASS or SUITE scope.
+     */
+    private String scopeKey(LoggedIn.Scope scope) {
+        return scope == LoggedIn.Scope.SUITE ? "suite" : "class:" + getClass().getName();
+    }
+
+    /**
+     * Checks whether a test method is marked {@link ReadOnly}, directly or via
+     * the (inherited) class annotation of the running test class, the same
+     * class {@link #loginScope(Method)} reads.
+     *
+     * @param method The test method
+     * @return true if the test only reads pages
+     */
+    protected boolean isReadOnly(Method method) {
+        return method.isAnnotationPresent(ReadOnly.class)
+                || getClass().isAnnotationPresent(ReadOnly.class);
+    }
+
+    /**
+     * Quits the suite-scoped {@link LoggedIn} browsers, then stops the local
+     * grid (if one was started) at the end of the suite.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void stopLocalGrid() {
+        ScopedDrivers.shutdown();
+        LocalGrid.stop();
     }
 }
@@ -0,0 +1,85 @@
+package com.allied.tests;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.allied.framework.core.ScopedDrivers;
+
+/**
+ * Marks a test method (or every test method of a class) as needing an
+ * authenticated OrangeHRM session, and declares how long that session lives.
+ *
+ * <p>
+ * {@link BaseTest} hands such tests a driver that is already logged in and on
+ * the dashboard:
+ * </p>
+ * <ul>
+ * <li>{@link Scope#METHOD} - a new browser and login per test method</li>
+ * <li>{@link Scope#CLASS} - one logged-in browser per test class and worker
+ * thread, quit after the class</li>
+ * <li>{@link Scope#SUITE} - one logged-in browser per worker thread for the
+ * whole suite, so a suite logs in once per worker instead of once per
+ * test</li>
+ * </ul>
+ *
+ * <p>
+ * With CLASS and SUITE scope, the browser is reused by later tests: its extra
+ * windows are closed and it is taken back to the dashboard (logging in again
+ * only if the session was lost) instead of logging in again. Such tests must
+ * not rely on state left by an earlier test, and a test that logs out or
+ * changes the user should use METHOD scope. A method annotation overrides the
+ * class annotation; the annotation is inherited by subclasses.
+ * </p>
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ * </p>
+ *
+ * <pre>{@code
+ * @LoggedIn(LoggedIn.Scope.SUITE)
+ * public class DashboardTest extends BaseTest {
+ *
+ *     @Test
+ *     public void testDashboardWidgets() {
+ *         WebDriver driver = getDriver();   // logged in, on the dashboard
+ *         assertElementVisible(driver, OrangeHrmDashboard.DASHBOARD_WIDGET, 10, null);
+ *     }
+ *
+ *     @LoggedIn(LoggedIn.Scope.METHOD)
+ *     @Test
+ *     public void testLogout() {
+ *         ...   // own browser, the shared session stays logged in
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see ScopedDrivers
+ * @see LoggedInBaseTest
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface LoggedIn {
+
+    /**
+     * How long one logged-in browser is reused.
+     */
+    enum Scope {
+        /** A new browser and login for every test method. */
+        METHOD,
+        /** One browser per test class and worker thread. */
+        CLASS,
+        /** One browser per worker thread for the whole suite. */
+        SUITE
+    }
+
+    /**
+     * @return The lifetime of the logged-in browser (default: METHOD)
+     */
+    Scope value() default Scope.METHOD;
+}
@@ -1,16 +1,16 @@
 package com.allied.tests;
 
-import org.testng.annotations.BeforeMethod;
-
 import com.allied.framework.pages.loginpagedemo.LoginSetup01;
 
 /**
  * Base test class that provides a pre-logged-in WebDriver.
  *
  * <p>
- * This class extends BaseTest and automatically performs login before each
- * test.
- * Use this for tests that require an authenticated session.
+ * This class extends BaseTest and is marked {@link LoggedIn}, so a login is
+ * performed before each test. Use this for tests that require an
+ * authenticated session; annotate the subclass with
+ * {@code @LoggedIn(LoggedIn.Scope.CLASS)} or {@code SUITE} to reuse one
+ * logged-in browser per worker thread instead of logging in for every test.
  * </p>
  *
  * <p>
@@ -18,7 +18,8 @@ import com.allied.framework.pages.loginpagedemo.LoginSetup01;
  * </p>
  * <ul>
  * <li>Inherits WebDriver setup/teardown from BaseTest</li>
- * <li>Automatically logs in to OrangeHRM before each test</li>
+ * <li>Automatically logs in to OrangeHRM before each test (or once per class
+ * or suite and worker thread, see {@link LoggedIn})</li>
  * <li>Driver is already on the dashboard when test starts</li>
  * </ul>
  *
@@ -34,6 +35,7 @@ import com.allied.framework.pages.loginpagedemo.LoginSetup01;
  *         // Driver is already logged in and on dashboard
  *         // No need to call login or navigate
  *
+ *         WebDriver driver = getDriver();
  *         assertElementVisible(driver, OrangeHrmDashboard.DASHBOARD_WIDGET, 10, null);
  *         String widgetText = safeGetText(driver, OrangeHrmDashboard.DASHBOARD_WIDGET, 10, false);
  *         System.out.println("Widget: " + widgetText);
@@ -62,44 +64,9 @@ import com.allied.framework.pages.loginpagedemo.LoginSetup01;
  * </p>
  *
  * @see BaseTest
+ * @see LoggedIn
  * @see LoginSetup01
  */
+@LoggedIn
 public class LoggedInBaseTest extends BaseTest {
-
-    /**
-     * Sets up WebDriver and performs login before each test method.
-     *
-     * <p>
-     * This method:
-     * </p>
-     * <ol>
-     * <li>Calls super.setUp() to create WebDriver</li>
-     * <li>Performs login using LoginSetup01</li>
-     * <li>Waits for dashboard to load</li>
-     * </ol>
-     *
-     * <p>
-     * After this method completes, the driver is on the dashboard and ready for
-     * testing.
-     * </p>
-     *
-     * <p>
-     * <b>Note:</b> If you need custom setup in a subclass, you can override this
-     * method
-     * but make sure to call super.setUp() to ensure driver initialization and
-     * login.
-     * </p>
-     */
-    @Override
-    @BeforeMethod(alwaysRun = true)
-    public void setUp() {
-        // Create driver (from BaseTest)
-        super.setUp();
-
-        // Perform login
-        logger.info("Performing login for pre-authenticated test");
-        LoginSetup01.loginToOrangeHrm(driver);
-        logger.info("Login complete, driver is on dashboard");
-        super.tearDown();
-    }
 }
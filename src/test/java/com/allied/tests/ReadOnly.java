@@ -0,0 +1,46 @@
+package com.allied.tests;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.allied.framework.core.TabPool;
+
+/**
+ * Marks a test method (or every test method of a class and its subclasses) as
+ * read-only.
+ *
+ * <p>
+ * A read-only test only navigates and reads pages: it does not log out, change
+ * data, cookies or storage, and stays on the tab it was given. With
+ * READ_ONLY_TABS set, {@link BaseTest} runs such tests in tabs of a shared,
+ * already logged-in browser from {@link TabPool} instead of launching a browser
+ * per test. Tests of the login page itself are not read-only: in a logged-in
+ * browser the login URL redirects to the dashboard.
+ * </p>
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ * </p>
+ *
+ * <pre>{@code
+ * @ReadOnly
+ * @Test(groups = { "e2e", "dashboard" })
+ * public void testDashboardHeading() {
+ *     WebDriver driver = getDriver();   // a tab when READ_ONLY_TABS > 0
+ *     driver.get(OrangeHrmDashboard.URL);
+ *     assertElementVisible(driver, OrangeHrmDashboard.DASHBOARD_HEADING, 10, null);
+ * }
+ * }</pre>
+ *
+ * @see TabPool
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ReadOnly {
+}
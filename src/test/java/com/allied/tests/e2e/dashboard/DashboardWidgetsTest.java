@@ -4,14 +4,16 @@ import com.allied.framework.pages.AssignLeave.AssignLeavePage;
 import com.allied.framework.pages.LeaveSearch.LeavePage;
 import com.allied.framework.pages.PIM.PIM;
 import com.allied.framework.pages.dashboardpage.OrangeHrmDashboard;
-import com.allied.framework.pages.loginpagedemo.LoginSetup01;
 import com.allied.tests.BaseTest;
+import com.allied.tests.LoggedIn;
 import com.allied.tests.LoggedInBaseTest;
+import com.allied.tests.ReadOnly;
 
 import ch.qos.logback.core.util.Duration;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.Keys;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -20,6 +22,7 @@ import org.slf4j.Logger;
 import org.testng.annotations.Test;
 
 import static com.allied.framework.utils.SeleniumUtils.clickElement;
+import static com.allied.framework.utils.SeleniumUtils.navigateTo;
 import static com.allied.framework.utils.SeleniumUtils.sendKeysToElement;
 
 import java.time.LocalDate;
@@ -42,11 +45,19 @@ import java.util.stream.Collectors;
  *   <li>Widget titles match expected values</li>
  * </ul>
  *
+ * <p>All tests share one logged-in browser per worker thread for the whole suite
+ * ({@link LoggedIn.Scope#SUITE}); each starts on the dashboard.</p>
+ *
+ * <p>The suite runs test methods in parallel. The leave tests use the employee
+ * that testAddEmployeeInPIM creates and the leave that testAssignLeaveToEmployee
+ * assigns, so they declare that order with {@code dependsOnMethods}.</p>
+ *
  * <p>This is the Java equivalent of Python's test_dashboard_widgets.py.</p>
  *
  * @see OrangeHrmDashboard
  * @see LoggedInBaseTest
  */
+@LoggedIn(LoggedIn.Scope.SUITE)
 public class DashboardWidgetsTest extends BaseTest {
     private static final Logger logger = com.allied.framework.core.Logger.getLogger(DashboardWidgetsTest.class);
 
@@ -55,7 +66,7 @@ public class DashboardWidgetsTest extends BaseTest {
      *
      * <p><b>Test Steps:</b></p>
      * <ol>
-     *   <li>Login to OrangeHRM</li>
+     *   <li>Start on the dashboard with a logged-in driver</li>
      *   <li>Find all dashboard widgets</li>
      *   <li>Verify count is 7</li>
      * </ol>
@@ -65,11 +76,10 @@ public class DashboardWidgetsTest extends BaseTest {
      *   <li>Dashboard displays exactly 7 widgets</li>
      * </ul>
      */
+    @ReadOnly
     @Test(groups = {"e2e", "dashboard"})
     public void testDashboardHas7Widgets() {
-        // Login
-        LoginSetup01.loginToOrangeHrm(driver);
-
+        WebDriver driver = getDriver();
         // Find all widgets
         List<WebElement> widgets = driver.findElements(OrangeHrmDashboard.DASHBOARD_WIDGET);
 
@@ -90,7 +100,7 @@ public class DashboardWidgetsTest extends BaseTest {
      *
      * <p><b>Test Steps:</b></p>
      * <ol>
-     *   <li>Start with logged-in driver (uses LoggedInBaseTest)</li>
+     *   <li>Start on the dashboard with a logged-in driver</li>
      *   <li>Find all dashboard widgets</li>
      *   <li>Extract widget titles</li>
      *   <li>Verify titles match expected values</li>
@@ -101,15 +111,10 @@ public class DashboardWidgetsTest extends BaseTest {
      *   <li>All expected widget titles are present</li>
      *   <li>No unexpected widgets are displayed</li>
      * </ul>
-     *
-     * <p><b>Note:</b> This test extends BaseTest but could also extend LoggedInBaseTest
-     * for automatic login. For demonstration, using LoginSetup01 here.</p>
      */
     @Test(groups = {"e2e", "dashboard"})
     public void testDashboardWidgetsHaveExpectedTitles() {
-        // Login
-        LoginSetup01.loginToOrangeHrm(driver);
-
+        WebDriver driver = getDriver();
         // Find all widgets and extract titles
         List<WebElement> widgets = driver.findElements(OrangeHrmDashboard.DASHBOARD_WIDGET);
         List<String> actualTitles = widgets.stream()
@@ -148,9 +153,9 @@ public class DashboardWidgetsTest extends BaseTest {
 
     @Test(groups = {"e2e", "pim"})
     public void testAddEmployeeInPIM() throws InterruptedException {
+        WebDriver driver = getDriver();
 
-        // Step 1: Login
-        LoginSetup01.loginToOrangeHrm(driver);
+        // Step 1: Login (done by the @LoggedIn fixture, driver is on the dashboard)
 
         // Step 2: Click PIM Menu
         clickElement(driver, PIM.PIM_MENU, 10);
@@ -182,21 +187,18 @@ public class DashboardWidgetsTest extends BaseTest {
 
 
 
-    @Test(groups = {"e2e", "leave"})
+    @Test(groups = {"e2e", "leave"}, dependsOnMethods = "testAddEmployeeInPIM")
     public void testAssignLeaveToEmployee() throws InterruptedException {
+        WebDriver driver = getDriver();
 
-    // Login
-    LoginSetup01.loginToOrangeHrm(driver);
     Thread.sleep(3000);
 
     WebDriverWait wait = new WebDriverWait(driver, java.time.Duration.ofSeconds(10));
 
-    // Navigate to Leave → Assign Leave
-    Thread.sleep(2000);
-    driver.get("https://opensource-demo.orangehrmlive.com/web/index.php/leave/assignLeave");
+    // Navigate to Leave → Assign Leave (returns as soon as the form is usable)
+    navigateTo(driver, AssignLeavePage.URL, AssignLeavePage.READY, 10);
     // clickElement(driver, AssignLeavePage.LEAVE_MENU, 10);
     // clickElement(driver, AssignLeavePage.ASSIGN_LEAVE, 10);
-    Thread.sleep(3000);
 
     // ----------------- EMPLOYEE NAME -----------------
   // after typing employee name
@@ -350,14 +352,14 @@ public class DashboardWidgetsTest extends BaseTest {
 
 
 
-    @Test(groups = {"e2e", "leave"})
+    @Test(groups = {"e2e", "leave"}, dependsOnMethods = "testAssignLeaveToEmployee")
     public void testSearchLeaveForEmployee() throws InterruptedException {
+        WebDriver driver = getDriver();
 
-        // Step 1: Login
-        LoginSetup01.loginToOrangeHrm(driver);
+        // Step 1: Login (done by the @LoggedIn fixture, driver is on the dashboard)
 
         // Step 2: Navigate to Leave -> Leave List
-         driver.get("https://opensource-demo.orangehrmlive.com/web/index.php/leave/viewLeaveList");
+         navigateTo(driver, LeavePage.URL, LeavePage.READY, 10);
       
         // clickElement(driver, LeavePage.LEAVE_MENU1, 10);
         // clickElement(driver, LeavePage.LEAVE_LIST_SUBMENU, 10);
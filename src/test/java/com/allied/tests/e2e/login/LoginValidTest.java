@@ -5,12 +5,13 @@ import static com.allied.framework.utils.SeleniumUtils.clickElement;
 import static com.allied.framework.utils.SeleniumUtils.sendKeysToElement;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.Test;
 
 import com.allied.framework.core.Env;
-import com.allied.framework.pages.PIM;
+import com.allied.framework.pages.PIM.PIM;
 import com.allied.framework.pages.dashboardpage.OrangeHrmDashboard;
 import com.allied.framework.pages.loginpagedemo.OrangeHrmLogin;
 import com.allied.tests.BaseTest;
@@ -71,6 +72,7 @@ public class LoginValidTest extends BaseTest {
      */
     @Test(groups = { "e2e", "login", "smoke" })
     public void testOrangeHrmLoginHappyPath() {
+        WebDriver driver = getDriver();
         // Navigate to login page
         driver.get(OrangeHrmLogin.URL);
 
@@ -90,6 +92,7 @@ public class LoginValidTest extends BaseTest {
 
     @Test(groups = { "e2e", "login", "smoke" })
     public void PIM_ADD ()throws InterruptedException {
+        WebDriver driver = getDriver();
         // Navigate to login page
         driver.get(OrangeHrmLogin.URL);
 
@@ -155,6 +158,7 @@ public class LoginValidTest extends BaseTest {
      */
     @Test(groups = { "smoke" })
     public void testExample() {
+        WebDriver driver = getDriver();
         driver.get("https://opensource-demo.orangehrmlive.com/");
         assert driver.getTitle().contains("OrangeHRM") : "Page title should contain 'OrangeHRM'";
     }
@@ -0,0 +1,277 @@
+package com.allied.tests.grid;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.net.PortProber;
+import org.slf4j.Logger;
+
+import com.allied.framework.core.DriverFactory;
+import com.allied.framework.core.OptionalEnv;
+
+/**
+ * Launches a Selenium Grid on this machine for the duration of the suite.
+ *
+ * <p>
+ * The remote path of DriverFactory (remote client settings, GridBalancer) can
+ * otherwise only be exercised against a grid someone else runs. With
+ * LOCAL_GRID set, {@link #startIfConfigured()} starts the grid as child
+ * processes of the test JVM (using the test-scoped {@code selenium-grid}
+ * dependency, no network access needed) and exports its URL as the
+ * {@code SELENIUM_REMOTE_URL} system property and reloads
+ * {@code DriverFactory.getDriverConfigFromEnv()} so that it picks it up. The grid is stopped
+ * by {@link #stop()} or, at the latest, at JVM shutdown.
+ * </p>
+ *
+ * <p>
+ * <b>Modes:</b>
+ * </p>
+ * <ul>
+ * <li>hub - one hub plus LOCAL_GRID_NODES nodes; the hub URL is exported
+ * (server-side distribution)</li>
+ * <li>standalone - LOCAL_GRID_NODES standalone servers; all of their URLs are
+ * exported comma-separated (client-side balancing via GridBalancer)</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Configuration via Environment Variables:</b>
+ * </p>
+ * <ul>
+ * <li>LOCAL_GRID = "hub" | "standalone" (default: unset, no local grid)</li>
+ * <li>LOCAL_GRID_NODES = integer - nodes / standalone servers (default: 2)</li>
+ * <li>LOCAL_GRID_MAX_SESSIONS = integer - sessions per node (default: 2)</li>
+ * <li>LOCAL_GRID_STARTUP_TIMEOUT = integer seconds (default: 60)</li>
+ * </ul>
+ *
+ * <p>
+ * Process output goes to {@code target/local-grid/*.log}. An explicitly set
+ * SELENIUM_REMOTE_URL takes precedence; the local grid is then not started.
+ * </p>
+ *
+ * <pre>
+ * LOCAL_GRID=hub LOCAL_GRID_NODES=3 mvn test
+ * LOCAL_GRID=standalone mvn test -Dtest=RemoteCommandLatencyBenchmark
+ * </pre>
+ */
+public class LocalGrid {
+    private static final Logger logger = com.allied.framework.core.Logger.getLogger(LocalGrid.class);
+
+    private static final Path LOG_DIR = Paths.get("target", "local-grid");
+
+    private static final Json JSON = new Json();
+
+    private static final List<Process> PROCESSES = new ArrayList<>();
+
+    private static String exportedUrl;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocalGrid::stop, "local-grid-shutdown"));
+    }
+
+    /**
+     * Starts the grid configured by LOCAL_GRID, once per JVM.
+     *
+     * @return The exported SELENIUM_REMOTE_URL, or null if no local grid is
+     *         configured
+     * @throws IllegalStateException if the grid does not become ready in time
+     */
+    public static synchronized String startIfConfigured() {
+        if (exportedUrl != null) {
+            return exportedUrl;
+        }
+        String mode = OptionalEnv.get("LOCAL_GRID", "").trim().toLowerCase();
+        if (mode.isEmpty() || mode.equals("false")) {
+            return null;
+        }
+        if (OptionalEnv.get("SELENIUM_REMOTE_URL", null) != null) {
+            logger.info("SELENIUM_REMOTE_URL is set; not starting a local grid");
+            return null;
+        }
+
+        int nodes = Math.max(1, envInt("LOCAL_GRID_NODES", 2));
+        int maxSessions = Math.max(1, envInt("LOCAL_GRID_MAX_SESSIONS", 2));
+        Duration timeout = Duration.ofSeconds(envInt("LOCAL_GRID_STARTUP_TIMEOUT", 60));
+
+        List<String> urls = new ArrayList<>();
+        switch (mode) {
+            case "hub":
+                int hubPort = PortProber.findFreePort();
+                int publishPort = PortProber.findFreePort();
+                int subscribePort = PortProber.findFreePort();
+                launch("hub", "hub", "--port", String.valueOf(hubPort),
+                        "--publish-events", "tcp://*:" + publishPort,
+                        "--subscribe-events", "tcp://*:" + subscribePort);
+                for (int i = 1; i <= nodes; i++) {
+                    launch("node-" + i, "node", "--port", String.valueOf(PortProber.findFreePort()),
+                            "--publish-events", "tcp://localhost:" + publishPort,
+                            "--subscribe-events", "tcp://localhost:" + subscribePort,
+                            "--max-sessions", String.valueOf(maxSessions),
+                            "--override-max-sessions", "true",
+                            "--selenium-manager", "true");
+                }
+                urls.add("http://localhost:" + hubPort);
+                awaitReady(urls.get(0), nodes, timeout);
+                break;
+            case "standalone":
+                for (int i = 1; i <= nodes; i++) {
+                    int port = PortProber.findFreePort();
+                    launch("standalone-" + i, "standalone", "--port", String.valueOf(port),
+                            "--max-sessions", String.valueOf(maxSessions),
+                            "--override-max-sessions", "true",
+                            "--selenium-manager", "true");
+                    urls.add("http://localhost:" + port);
+                }
+                for (String url : urls) {
+                    awaitReady(url, 1, timeout);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported LOCAL_GRID='" + mode + "' (use hub or standalone)");
+        }
+
+        exportedUrl = String.join(",", urls);
+        System.setProperty("SELENIUM_REMOTE_URL", exportedUrl);
+        DriverFactory.reloadDriverConfigFromEnv();
+        logger.info("Local grid ({}, {} node(s) x {} session(s)) ready at {}", mode, nodes, maxSessions, exportedUrl);
+        return exportedUrl;
+    }
+
+    /**
+     * Stops every grid process (and the drivers/browsers they started) and
+     * removes the exported URL.
+     */
+    public static synchronized void stop() {
+        if (PROCESSES.isEmpty()) {
+            return;
+        }
+        logger.info("Stopping local grid ({} process(es))", PROCESSES.size());
+        for (Process process : PROCESSES) {
+            List<ProcessHandle> descendants = process.descendants().collect(Collectors.toList());
+            process.destroy();
+            descendants.forEach(ProcessHandle::destroy);
+        }
+        for (Process process : PROCESSES) {
+            try {
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.descendants().forEach(ProcessHandle::destroyForcibly);
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroyForcibly();
+            }
+        }
+        PROCESSES.clear();
+        if (exportedUrl != null && exportedUrl.equals(System.getProperty("SELENIUM_REMOTE_URL"))) {
+            System.clearProperty("SELENIUM_REMOTE_URL");
+            DriverFactory.reloadDriverConfigFromEnv();
+        }
+        exportedUrl = null;
+    }
+
+    /**
+     * Starts {@code org.openqa.selenium.grid.Main <role> <args>} on this JVM's
+     * classpath.
+     */
+    private static void launch(String name, String... args) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("org.openqa.selenium.grid.Main");
+        command.addAll(List.of(args));
+        try {
+            Files.createDirectories(LOG_DIR);
+            Path log = LOG_DIR.resolve(name + ".log");
+            Process process = new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            PROCESSES.add(process);
+            logger.debug("Started local grid {} (pid {}), log: {}", name, process.pid(), log);
+        } catch (IOException e) {
+            stop();
+            throw new UncheckedIOException("Could not start local grid " + name, e);
+        }
+    }
+
+    /**
+     * Polls {@code /status} until the grid is ready with the expected number of
+     * nodes.
+     *
+     * <p>
+     * Uses {@link HttpURLConnection} rather than a JDK {@code HttpClient}: the
+     * first {@code HttpClient} fixes the JVM-wide connection pool settings, which
+     * must come from REMOTE_KEEP_ALIVE / REMOTE_MAX_CONNECTIONS when the first
+     * remote session is created.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    private static void awaitReady(String url, int expectedNodes, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (PROCESSES.stream().anyMatch(process -> !process.isAlive())) {
+                stop();
+                throw new IllegalStateException("A local grid process exited during startup; see "
+                        + LOG_DIR.toAbsolutePath());
+            }
+            try {
+                HttpURLConnection connection = (HttpURLConnection) URI.create(url + "/status").toURL().openConnection();
+                connection.setConnectTimeout(2000);
+                connection.setReadTimeout(2000);
+                String body;
+                try (InputStream in = connection.getInputStream()) {
+                    body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                } finally {
+                    connection.disconnect();
+                }
+                Map<String, Object> status = JSON.toType(body, Json.MAP_TYPE);
+                Map<String, Object> value = (Map<String, Object>) status.get("value");
+                Object nodes = value == null ? null : value.get("nodes");
+                if (value != null && Boolean.TRUE.equals(value.get("ready"))
+                        && nodes instanceof List && ((List<?>) nodes).size() >= expectedNodes) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            try {
+                Thread.sleep(250);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        stop();
+        throw new IllegalStateException("Local grid at " + url + " was not ready within " + timeout.getSeconds()
+                + "s; see " + LOG_DIR.toAbsolutePath());
+    }
+
+    private static int envInt(String name, int defaultValue) {
+        try {
+            return Integer.parseInt(OptionalEnv.get(name, String.valueOf(defaultValue)).trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid {}; using {}", name, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private LocalGrid() {
+        throw new AssertionError("LocalGrid should not be instantiated");
+    }
+}
@@ -0,0 +1,117 @@
+package com.allied.tests.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.DriverConfig;
+import com.allied.framework.core.DriverFactory;
+import com.allied.framework.core.DriverMetrics;
+import com.allied.framework.core.ProcessStats;
+
+/**
+ * Startup time and memory benchmark for the DriverConfig performance profiles.
+ *
+ * <p>
+ * For each profile ("default", "fast", "lean-memory") this launches the
+ * configured browser several times and records the time until
+ * {@code createDriver} returns and the resident memory of all processes the
+ * JVM started (driver service plus browser tree) after loading a page.
+ * </p>
+ *
+ * <p>
+ * Results are logged and written to
+ * {@code target/benchmarks/driver-startup.csv}; the per-phase breakdown of
+ * the startup time (see {@link DriverMetrics}) goes to
+ * {@code target/benchmarks/driver-startup-phases.csv}. The benchmark is
+ * excluded from the default suite because it must run alone to measure memory
+ * correctly:
+ * </p>
+ *
+ * <pre>
+ * mvn test -Dtest=DriverStartupBenchmark
+ * BENCHMARK_ITERATIONS=10 BROWSER=firefox mvn test -Dtest=DriverStartupBenchmark
+ * </pre>
+ *
+ * @see DriverConfig.Builder#performanceProfile(String)
+ * @see ProcessStats
+ */
+public class DriverStartupBenchmark {
+    private static final Logger logger = com.allied.framework.core.Logger.getLogger(DriverStartupBenchmark.class);
+
+    private static final Path RESULTS = Paths.get("target", "benchmarks", "driver-startup.csv");
+
+    private static final Path PHASE_RESULTS = Paths.get("target", "benchmarks", "driver-startup-phases.csv");
+
+    @Test(groups = { "benchmark" })
+    public void benchmarkPerformanceProfiles() throws IOException {
+        int iterations = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_ITERATIONS", "5"));
+        List<String> rows = new ArrayList<>();
+        rows.add("browser,profile,iteration,startup_ms,rss_kb");
+        List<String> phaseRows = new ArrayList<>();
+        phaseRows.add("profile,group,phase,count,p50_ms,p90_ms,max_ms");
+
+        for (String profile : DriverConfig.PERFORMANCE_PROFILES) {
+            DriverMetrics.reset();
+            List<Long> startups = new ArrayList<>();
+            List<Long> rss = new ArrayList<>();
+
+            for (int i = 1; i <= iterations; i++) {
+                DriverConfig config = DriverFactory.getDriverConfigFromEnv().toBuilder()
+                        .performanceProfile(profile)
+                        .build();
+
+                long start = System.nanoTime();
+                WebDriver driver = DriverFactory.createDriver(config);
+                long startupMs = (System.nanoTime() - start) / 1_000_000;
+
+                try {
+                    driver.get("data:text/html,<h1>benchmark</h1>");
+                    long rssKb = childrenRssKb();
+                    startups.add(startupMs);
+                    rss.add(rssKb);
+                    rows.add(String.join(",", config.getBrowser(), profile, String.valueOf(i),
+                            String.valueOf(startupMs), String.valueOf(rssKb)));
+                } finally {
+                    DriverFactory.quitCurrent();
+                }
+            }
+
+            logger.info("profile={} startup median={} ms max={} ms | rss median={} KB max={} KB",
+                    profile, median(startups), Collections.max(startups), median(rss), Collections.max(rss));
+            logger.info("profile={} startup phases:\n{}", profile, DriverMetrics.summary());
+            for (DriverMetrics.PhaseStats stat : DriverMetrics.snapshot()) {
+                phaseRows.add(String.format(Locale.ROOT, "%s,%s,%s,%d,%.1f,%.1f,%.1f", profile, stat.getGroup(),
+                        stat.getPhase(), stat.getCount(), stat.percentile(50), stat.percentile(90), stat.getMax()));
+            }
+        }
+
+        Files.createDirectories(RESULTS.getParent());
+        Files.write(RESULTS, rows);
+        Files.write(PHASE_RESULTS, phaseRows);
+        logger.info("Benchmark results written to {}", RESULTS.toAbsolutePath());
+    }
+
+    /**
+     * Resident memory of every process started by this JVM.
+     */
+    private static long childrenRssKb() {
+        ProcessHandle self = ProcessHandle.current();
+        return ProcessStats.treeRssKb(self) - Math.max(0, ProcessStats.rssKb(self.pid()));
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,137 @@
+package com.allied.tests.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.DriverConfig;
+import com.allied.framework.core.DriverFactory;
+import com.allied.tests.grid.LocalGrid;
+
+/**
+ * Per-command latency benchmark for remote (Selenium Grid) sessions under load.
+ *
+ * <p>
+ * Opens BENCHMARK_SESSIONS sessions in parallel against SELENIUM_REMOTE_URL and
+ * has each of them issue BENCHMARK_COMMANDS cheap commands
+ * ({@code getWindowHandle}, {@code getTitle}, {@code findElement}). The
+ * latency percentiles of all commands show the effect of the remote client
+ * settings (REMOTE_* variables): connection churn shows up as a long p99/max
+ * tail.
+ * </p>
+ *
+ * <p>
+ * Results are logged and written to
+ * {@code target/benchmarks/remote-latency.csv}. Run it against a local
+ * standalone grid, once per client setting to compare, or let LOCAL_GRID
+ * start one beside the JVM:
+ * </p>
+ *
+ * <pre>
+ * LOCAL_GRID=hub LOCAL_GRID_NODES=2 mvn test -Dtest=RemoteCommandLatencyBenchmark
+ * docker run -d -p 4444:4444 --shm-size=2g -e SE_NODE_MAX_SESSIONS=4 -e SE_NODE_OVERRIDE_MAX_SESSIONS=true selenium/standalone-chrome
+ * SELENIUM_REMOTE_URL=http://localhost:4444 mvn test -Dtest=RemoteCommandLatencyBenchmark
+ * SELENIUM_REMOTE_URL=http://localhost:4444 REMOTE_KEEP_ALIVE=0 mvn test -Dtest=RemoteCommandLatencyBenchmark
+ * </pre>
+ *
+ * @see DriverConfig.Builder#remoteKeepAlive(int)
+ */
+public class RemoteCommandLatencyBenchmark {
+    private static final Logger logger = com.allied.framework.core.Logger.getLogger(RemoteCommandLatencyBenchmark.class);
+
+    private static final Path RESULTS = Paths.get("target", "benchmarks", "remote-latency.csv");
+
+    @Test(groups = { "benchmark" })
+    public void benchmarkRemoteCommandLatency() throws Exception {
+        LocalGrid.startIfConfigured();
+        DriverConfig config = DriverFactory.getDriverConfigFromEnv();
+        if (config.getRemoteUrl() == null || config.getRemoteUrl().trim().isEmpty()) {
+            throw new SkipException("Neither SELENIUM_REMOTE_URL nor LOCAL_GRID is set");
+        }
+        int sessions = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_SESSIONS", "4"));
+        int commands = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_COMMANDS", "200"));
+
+        ExecutorService workers = Executors.newFixedThreadPool(sessions);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < sessions; i++) {
+                results.add(workers.submit(() -> runSession(config, commands)));
+            }
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> result : results) {
+                latencies.addAll(result.get());
+            }
+            report(config, sessions, latencies);
+        } finally {
+            workers.shutdownNow();
+            LocalGrid.stop();
+        }
+    }
+
+    /**
+     * Issues {@code commands} commands on a new session and returns their latencies in microseconds.
+     */
+    private static List<Long> runSession(DriverConfig config, int commands) {
+        WebDriver driver = DriverFactory.createDriver(config);
+        List<Long> latencies = new ArrayList<>(commands);
+        try {
+            driver.get("data:text/html,<title>benchmark</title><h1 id='h'>benchmark</h1>");
+            for (int i = 0; i < commands; i++) {
+                long start = System.nanoTime();
+                switch (i % 3) {
+                    case 0:
+                        driver.getWindowHandle();
+                        break;
+                    case 1:
+                        driver.getTitle();
+                        break;
+                    default:
+                        driver.findElement(By.id("h"));
+                        break;
+                }
+                latencies.add((System.nanoTime() - start) / 1_000);
+            }
+        } finally {
+            DriverFactory.quitCurrent();
+        }
+        return latencies;
+    }
+
+    private static void report(DriverConfig config, int sessions, List<Long> latencies) throws IOException {
+        Collections.sort(latencies);
+        long p50 = percentile(latencies, 50);
+        long p95 = percentile(latencies, 95);
+        long p99 = percentile(latencies, 99);
+        long max = latencies.get(latencies.size() - 1);
+
+        logger.info("sessions={} commands={} keepAlive={}s | p50={} us p95={} us p99={} us max={} us",
+                sessions, latencies.size(), config.getRemoteKeepAlive(), p50, p95, p99, max);
+
+        List<String> rows = new ArrayList<>();
+        rows.add("browser,sessions,commands,keep_alive_s,max_connections,p50_us,p95_us,p99_us,max_us");
+        rows.add(String.join(",", config.getBrowser(), String.valueOf(sessions), String.valueOf(latencies.size()),
+                String.valueOf(config.getRemoteKeepAlive()), String.valueOf(config.getRemoteMaxConnections()),
+                String.valueOf(p50), String.valueOf(p95), String.valueOf(p99), String.valueOf(max)));
+        Files.createDirectories(RESULTS.getParent());
+        Files.write(RESULTS, rows);
+        logger.info("Benchmark results written to {}", RESULTS.toAbsolutePath());
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.allied.tests.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.DriverFactory;
+import com.allied.framework.core.WaitEngine;
+
+/**
+ * Before/after benchmark of element waits: a fixed 500 ms
+ * {@code WebDriverWait} against {@link WaitEngine}'s adaptive polling and its
+ * MutationObserver-based observe mode.
+ *
+ * <p>
+ * Loads the local fixture {@code fixtures/delayed-element.html} (inlined as a
+ * data URL, so it also works on a grid) and, for BENCHMARK_WAITS waits per
+ * mode, schedules a button to appear after a random delay of 50-1000 ms and
+ * waits for it to be visible. The modes alternate so both see the same load.
+ * For every wait it records the overshoot - the time between the button's
+ * insertion and the wait returning - and the number of WebDriver commands
+ * the wait sent.
+ * </p>
+ *
+ * <p>
+ * Results are logged and written to {@code target/benchmarks/wait-latency.csv}:
+ * </p>
+ *
+ * <pre>
+ * mvn test -Dtest=WaitLatencyBenchmark
+ * BENCHMARK_WAITS=100 WAIT_POLL_MAX_MS=100 mvn test -Dtest=WaitLatencyBenchmark
+ * </pre>
+ *
+ * @see WaitEngine
+ */
+public class WaitLatencyBenchmark {
+    private static final Logger logger = com.allied.framework.core.Logger.getLogger(WaitLatencyBenchmark.class);
+
+    private static final Path RESULTS = Paths.get("target", "benchmarks", "wait-latency.csv");
+
+    private static final String FIXTURE = "/fixtures/delayed-element.html";
+
+    @Test(groups = { "benchmark" })
+    public void benchmarkWaitLatency() throws IOException {
+        int waits = Integer.parseInt(System.getenv().getOrDefault("BENCHMARK_WAITS", "40"));
+        Random random = new Random(42);
+
+        AtomicLong commands = new AtomicLong();
+        WebDriver original = DriverFactory.createDriver();
+        WebDriver driver = new EventFiringDecorator<>(new WebDriverListener() {
+            @Override
+            public void beforeAnyWebDriverCall(WebDriver target, Method method, Object[] args) {
+                commands.incrementAndGet();
+            }
+
+            @Override
+            public void beforeAnyWebElementCall(WebElement element, Method method, Object[] args) {
+                commands.incrementAndGet();
+            }
+        }).decorate(original);
+
+        Map<String, BiConsumer<WebDriver, By>> modes = new LinkedHashMap<>();
+        modes.put("webdriverwait-500ms", (d, locator) -> new WebDriverWait(d, Duration.ofSeconds(10))
+                .until(ExpectedConditions.visibilityOfElementLocated(locator)));
+        modes.put("wait-engine", (d, locator) -> WaitEngine.forDriver(d)
+                .until(ExpectedConditions.visibilityOfElementLocated(locator), Duration.ofSeconds(10)));
+        WaitEngine observer = WaitEngine.builder(driver).observeDom(true).build();
+        modes.put("wait-engine-observe", (d, locator) -> observer
+                .untilElement(locator, WaitEngine.ElementState.VISIBLE, Duration.ofSeconds(10)));
+
+        Map<String, List<Long>> overshoots = new LinkedHashMap<>();
+        Map<String, Long> commandCounts = new LinkedHashMap<>();
+        modes.keySet().forEach(mode -> {
+            overshoots.put(mode, new ArrayList<>());
+            commandCounts.put(mode, 0L);
+        });
+
+        try {
+            driver.get("data:text/html;base64," + Base64.getEncoder().encodeToString(fixture()));
+            for (int i = 0; i < waits; i++) {
+                int delay = 50 + random.nextInt(951);
+                for (Map.Entry<String, BiConsumer<WebDriver, By>> mode : modes.entrySet()) {
+                    String id = mode.getKey() + "-" + i;
+                    ((JavascriptExecutor) original).executeScript("window.scheduleElement(arguments[0], arguments[1]);",
+                            id, delay);
+
+                    long before = commands.get();
+                    mode.getValue().accept(driver, By.id(id));
+                    long returnedAt = System.currentTimeMillis();
+                    commandCounts.merge(mode.getKey(), commands.get() - before, Long::sum);
+
+                    Number insertedAt = (Number) ((JavascriptExecutor) original)
+                            .executeScript("return window.insertedAt[arguments[0]];", id);
+                    overshoots.get(mode.getKey()).add(Math.max(0, returnedAt - insertedAt.longValue()));
+                }
+            }
+        } finally {
+            WaitEngine.release(driver);
+            DriverFactory.quitCurrent();
+        }
+        report(waits, overshoots, commandCounts);
+    }
+
+    private static byte[] fixture() throws IOException {
+        try (InputStream in = WaitLatencyBenchmark.class.getResourceAsStream(FIXTURE)) {
+            if (in == null) {
+                throw new IOException("Missing test resource " + FIXTURE);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    private static void report(int waits, Map<String, List<Long>> overshoots, Map<String, Long> commandCounts)
+            throws IOException {
+        List<String> rows = new ArrayList<>();
+        rows.add("mode,waits,p50_overshoot_ms,p95_overshoot_ms,max_overshoot_ms,commands_per_wait");
+        for (Map.Entry<String, List<Long>> entry : overshoots.entrySet()) {
+            List<Long> sorted = new ArrayList<>(entry.getValue());
+            Collections.sort(sorted);
+            long p50 = percentile(sorted, 50);
+            long p95 = percentile(sorted, 95);
+            long max = sorted.get(sorted.size() - 1);
+            double perWait = commandCounts.get(entry.getKey()) / (double) waits;
+
+            logger.info("{}: waits={} | overshoot p50={} ms p95={} ms max={} ms | {} commands/wait",
+                    entry.getKey(), waits, p50, p95, max, String.format("%.1f", perWait));
+            rows.add(String.join(",", entry.getKey(), String.valueOf(waits), String.valueOf(p50),
+                    String.valueOf(p95), String.valueOf(max), String.format("%.1f", perWait)));
+        }
+        Files.createDirectories(RESULTS.getParent());
+        Files.write(RESULTS, rows);
+        logger.info("Benchmark results written to {}", RESULTS.toAbsolutePath());
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
@@ -2,6 +2,7 @@ package com.allied.tests.smoke;
 
 import com.allied.framework.pages.loginpagedemo.OrangeHrmLogin;
 import com.allied.tests.BaseTest;
+import org.openqa.selenium.WebDriver;
 import org.testng.annotations.Test;
 
 /**
@@ -33,6 +34,7 @@ public class SmokeHomepageTest extends BaseTest {
      */
     @Test(groups = {"smoke"})
     public void testHomepageAccessible() {
+        WebDriver driver = getDriver();
         driver.get(OrangeHrmLogin.URL);
         assert driver.getTitle().contains("OrangeHRM") :
             "Homepage title should contain 'OrangeHRM'";
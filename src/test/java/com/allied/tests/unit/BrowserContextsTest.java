@@ -0,0 +1,97 @@
+package com.allied.tests.unit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.BrowserContexts;
+
+/**
+ * Tests for {@link BrowserContexts#closeOtherWindows(WebDriver, String)}, which
+ * DriverPool and ScopedDrivers use to tidy up a reused session.
+ *
+ * <p>
+ * The stub driver sees the windows of a whole host browser, as an attached
+ * session does with BROWSER_ISOLATION=context: the host's own window, its own
+ * windows and another session's window, each in their CDP browser context.
+ * </p>
+ *
+ * @see BrowserContexts
+ */
+public class BrowserContextsTest {
+
+    private static final Map<String, String> TARGETS = Map.of(
+            "HOST", "default",
+            "A-HOME", "context-a",
+            "A-POPUP", "context-a",
+            "B-HOME", "context-b");
+
+    @Test(groups = { "unit" })
+    public void testOnlyWindowsOfTheOwnContextAreClosed() {
+        StubHost browser = new StubHost(true);
+
+        BrowserContexts.closeOtherWindows(browser.driver(), "A-HOME");
+
+        assert browser.closed.equals(List.of("A-POPUP")) : "Unexpected windows closed: " + browser.closed;
+        assert browser.current.equals("A-HOME") : "Session left on " + browser.current;
+        assert browser.handles.containsAll(List.of("HOST", "B-HOME")) : "Foreign windows closed: " + browser.handles;
+    }
+
+    @Test(groups = { "unit" })
+    public void testWithoutCdpEveryOtherWindowIsClosed() {
+        StubHost browser = new StubHost(false);
+
+        BrowserContexts.closeOtherWindows(browser.driver(), null);
+
+        assert browser.closed.equals(List.of("A-HOME", "A-POPUP", "B-HOME")) : "Unexpected windows closed: "
+                + browser.closed;
+        assert browser.current.equals("HOST") : "Session left on " + browser.current;
+    }
+
+    /**
+     * Browser with four windows in three contexts; the session starts on its
+     * popup.
+     */
+    private static final class StubHost {
+        private final boolean cdp;
+        private final Set<String> handles = new LinkedHashSet<>(List.of("HOST", "A-HOME", "A-POPUP", "B-HOME"));
+        private final List<String> closed = new ArrayList<>();
+        private String current = "A-POPUP";
+
+        private StubHost(boolean cdp) {
+            this.cdp = cdp;
+        }
+
+        private WebDriver driver() {
+            WebDriver[] driver = new WebDriver[1];
+            WebDriver.TargetLocator locator = Stubs.stub(WebDriver.TargetLocator.class, "StubTargetLocator", Map.of(
+                    "window", args -> {
+                        current = (String) args[0];
+                        return driver[0];
+                    }));
+            Map<String, Stubs.Answer> answers = Map.of(
+                    "getWindowHandles", args -> new LinkedHashSet<>(handles),
+                    "switchTo", args -> locator,
+                    "close", args -> {
+                        handles.remove(current);
+                        closed.add(current);
+                        return null;
+                    },
+                    "executeCdpCommand", args -> {
+                        List<Map<String, Object>> infos = new ArrayList<>();
+                        TARGETS.forEach((id, context) -> infos.add(Map.of("targetId", id, "type", "page",
+                                "browserContextId", context)));
+                        return Map.of("targetInfos", infos);
+                    });
+            driver[0] = cdp ? Stubs.stub(WebDriver.class, "StubHostSession", answers, HasCdp.class)
+                    : Stubs.stub(WebDriver.class, "StubSession", answers);
+            return driver[0];
+        }
+    }
+}
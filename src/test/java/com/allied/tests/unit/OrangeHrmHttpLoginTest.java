@@ -0,0 +1,163 @@
+package com.allied.tests.unit;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpCookie;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.allied.framework.pages.loginpagedemo.OrangeHrmHttpLogin;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link OrangeHrmHttpLogin} against a local stub of OrangeHRM's
+ * login endpoints.
+ *
+ * <p>
+ * The stub mimics the real flow: {@code GET auth/login} starts an anonymous
+ * session cookie and embeds a per-session CSRF token in the login component;
+ * {@code POST auth/validate} accepts the token and credentials of that session,
+ * re-issues the cookie and redirects to the dashboard, or redirects back to the
+ * login page.
+ * </p>
+ *
+ * <p>
+ * No browser is needed.
+ * </p>
+ *
+ * @see OrangeHrmHttpLogin
+ */
+public class OrangeHrmHttpLoginTest {
+
+    private static final String USERNAME = "Admin";
+    private static final String PASSWORD = "admin123";
+
+    /** CSRF token per anonymous session id. */
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    /** Session ids that completed a login. */
+    private final Map<String, String> authenticated = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private String loginUrl;
+
+    @BeforeClass(alwaysRun = true)
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/web/index.php/auth/login", exchange -> loginPage(exchange, true));
+        server.createContext("/web/index.php/auth/validate", this::validate);
+        // Same flow, but the login page carries no CSRF token
+        server.createContext("/broken/web/index.php/auth/login", exchange -> loginPage(exchange, false));
+        server.start();
+        loginUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/web/index.php/auth/login";
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStub() {
+        server.stop(0);
+    }
+
+    @Test(groups = { "unit" })
+    public void testLoginReturnsAuthenticatedSessionCookie() throws Exception {
+        List<HttpCookie> cookies = OrangeHrmHttpLogin.login(loginUrl, USERNAME, PASSWORD);
+
+        HttpCookie session = cookies.stream()
+                .filter(cookie -> cookie.getName().equals("orangehrm"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No orangehrm cookie in " + cookies));
+        assert authenticated.containsKey(session.getValue())
+                : "Cookie " + session.getValue() + " is not an authenticated session";
+        assert session.getPath().equals("/web") : "Unexpected cookie path " + session.getPath();
+    }
+
+    @Test(groups = { "unit" }, expectedExceptions = IOException.class,
+            expectedExceptionsMessageRegExp = ".*rejected.*")
+    public void testWrongPasswordIsRejected() throws Exception {
+        OrangeHrmHttpLogin.login(loginUrl, USERNAME, "wrong");
+    }
+
+    @Test(groups = { "unit" }, expectedExceptions = IOException.class,
+            expectedExceptionsMessageRegExp = "No CSRF token.*")
+    public void testMissingCsrfTokenFails() throws Exception {
+        OrangeHrmHttpLogin.login(loginUrl.replace("/web/", "/broken/web/"), USERNAME, PASSWORD);
+    }
+
+    @Test(groups = { "unit" }, expectedExceptions = IOException.class)
+    public void testUnreachableLoginPageFails() throws Exception {
+        OrangeHrmHttpLogin.login(loginUrl.replace("auth/login", "auth/missing/auth/login"), USERNAME, PASSWORD);
+    }
+
+    private void loginPage(HttpExchange exchange, boolean withToken) throws IOException {
+        String session = UUID.randomUUID().toString();
+        String token = UUID.randomUUID().toString().replace("-", "");
+        tokens.put(session, token);
+        exchange.getResponseHeaders().add("Set-Cookie", "orangehrm=" + session + "; path=/web; HttpOnly");
+        String component = !withToken ? "<auth-login></auth-login>"
+                : "<auth-login :token=\"&quot;" + token + "&quot;\" :login-logo-src=\"&quot;/logo.png&quot;\"></auth-login>";
+        respond(exchange, 200, "<html><body><div id=\"app\">" + component + "</div></body></html>");
+    }
+
+    private void validate(HttpExchange exchange) throws IOException {
+        String session = cookie(exchange, "orangehrm");
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+        boolean valid = "POST".equals(exchange.getRequestMethod())
+                && session != null
+                && tokens.containsKey(session)
+                && tokens.get(session).equals(form.get("_token"))
+                && USERNAME.equals(form.get("username"))
+                && PASSWORD.equals(form.get("password"));
+        if (valid) {
+            // Like OrangeHRM, the session id is regenerated on login
+            String loggedIn = UUID.randomUUID().toString();
+            authenticated.put(loggedIn, USERNAME);
+            exchange.getResponseHeaders().add("Set-Cookie", "orangehrm=" + loggedIn + "; path=/web; HttpOnly");
+            exchange.getResponseHeaders().add("Location", "/web/index.php/dashboard/index");
+        } else {
+            exchange.getResponseHeaders().add("Location", "/web/index.php/auth/login");
+        }
+        respond(exchange, 302, "");
+    }
+
+    private static String cookie(HttpExchange exchange, String name) {
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String pair : header.split(";\\s*")) {
+                if (pair.startsWith(name + "=")) {
+                    return pair.substring(name.length() + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
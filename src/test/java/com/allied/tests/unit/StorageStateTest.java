@@ -0,0 +1,181 @@
+package com.allied.tests.unit;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.StorageState;
+
+/**
+ * Tests for {@link StorageState} against a stub driver that keeps cookies and
+ * web storage in memory.
+ *
+ * <p>
+ * The in-memory stub is not a Chromium driver, so it exercises the portable
+ * restore path (open the page, replace cookies and storage, open it again); a
+ * second stub that implements {@link HasCdp} records the Chromium path. No
+ * browser or OrangeHRM credentials are needed.
+ * </p>
+ *
+ * @see StorageState
+ */
+public class StorageStateTest {
+
+    private static final String URL = "https://hrm.example.com/web/index.php/dashboard/index";
+
+    @Test(groups = { "unit" })
+    public void testSavedStateIsRestoredIntoAnotherSession() throws Exception {
+        StubBrowser source = new StubBrowser();
+        source.url = URL;
+        source.cookies.add(new Cookie.Builder("orangehrm", "abc123")
+                .domain("hrm.example.com").path("/web").isHttpOnly(true).isSecure(true)
+                .sameSite("Lax").expiresOn(new Date(4102444800000L)).build());
+        source.cookies.add(new Cookie("theme", "dark", "/"));
+        source.local.put("token", "{\"jwt\":\"x.y.z\"}");
+        source.session.put("tab", "3");
+
+        Path file = Files.createTempDirectory("storage-state").resolve("dashboard.json");
+        StorageState.capture(source.driver()).save(file);
+
+        StubBrowser target = new StubBrowser();
+        target.cookies.add(new Cookie("stale", "1", "/"));
+        target.local.put("stale", "1");
+        StorageState state = StorageState.load(file);
+        state.restore(target.driver());
+
+        assert state.getUrl().equals(URL) : "Unexpected URL " + state.getUrl();
+        assert target.url.equals(URL) : "Restored browser is on " + target.url;
+        assert target.visited.equals(List.of(URL, URL)) : "Unexpected navigations " + target.visited;
+        assert target.local.equals(source.local) : "localStorage " + target.local;
+        assert target.session.equals(source.session) : "sessionStorage " + target.session;
+
+        Cookie session = target.cookies.stream().filter(c -> c.getName().equals("orangehrm")).findFirst()
+                .orElseThrow(() -> new AssertionError("Session cookie not restored: " + target.cookies));
+        assert target.cookies.size() == 2 : "Stale cookies kept: " + target.cookies;
+        assert session.getValue().equals("abc123") && session.getPath().equals("/web")
+                && session.isHttpOnly() && session.isSecure() && "Lax".equals(session.getSameSite())
+                : "Cookie attributes lost: " + session;
+        assert session.getExpiry().getTime() == 4102444800000L : "Expiry lost: " + session.getExpiry();
+    }
+
+    @Test(groups = { "unit" })
+    public void testMissingCheckpointIsAMiss() {
+        StubBrowser browser = new StubBrowser();
+        boolean restored = StorageState.restoreCheckpoint(browser.driver(), "no-such-checkpoint-" + System.nanoTime(),
+                org.openqa.selenium.By.id("ready"), 1);
+
+        assert !restored : "A missing checkpoint must not be reported as restored";
+        assert browser.visited.isEmpty() : "Browser navigated for a missing checkpoint: " + browser.visited;
+    }
+
+    @Test(groups = { "unit" })
+    @SuppressWarnings("unchecked")
+    public void testChromiumRestoreUsesCdpAndOneNavigation() throws Exception {
+        Map<String, Object> sessionCookie = new LinkedHashMap<>(Map.of("name", "orangehrm", "value", "abc123",
+                "domain", "hrm.example.com", "path", "/web", "secure", true, "httpOnly", true,
+                "expires", 4102444800L));
+        Path file = Files.createTempDirectory("storage-state").resolve("cdp.json");
+        Files.writeString(file, new org.openqa.selenium.json.Json().toJson(Map.of(
+                "url", URL,
+                "savedAt", System.currentTimeMillis(),
+                "cookies", List.of(sessionCookie, Map.of("name", "theme", "value", "dark", "path", "/")),
+                "localStorage", Map.of("token", "x.y.z"),
+                "sessionStorage", Map.of())));
+
+        List<String> commands = new ArrayList<>();
+        List<Map<String, Object>> parameters = new ArrayList<>();
+        List<String> visited = new ArrayList<>();
+        WebDriver driver = Stubs.stub(WebDriver.class, "StubChromiumDriver", Map.of(
+                "executeCdpCommand", args -> {
+                    commands.add((String) args[0]);
+                    parameters.add((Map<String, Object>) args[1]);
+                    return "Page.addScriptToEvaluateOnNewDocument".equals(args[0])
+                            ? Map.of("identifier", "7") : Map.of();
+                },
+                "get", args -> {
+                    commands.add("get");
+                    visited.add((String) args[0]);
+                    return null;
+                }), JavascriptExecutor.class, HasCdp.class);
+
+        StorageState.load(file).restore(driver);
+
+        assert commands.equals(List.of("Network.clearBrowserCookies", "Network.setCookies",
+                "Page.addScriptToEvaluateOnNewDocument", "get", "Page.removeScriptToEvaluateOnNewDocument"))
+                : "Unexpected CDP sequence " + commands;
+        assert visited.equals(List.of(URL)) : "Expected one navigation, got " + visited;
+
+        List<Map<String, Object>> cookies = (List<Map<String, Object>>) parameters.get(1).get("cookies");
+        assert cookies.get(0).equals(sessionCookie) : "Cookie attributes lost: " + cookies.get(0);
+        assert URL.equals(cookies.get(1).get("url")) : "Cookie without domain not bound to the page: " + cookies.get(1);
+
+        String source = (String) parameters.get(2).get("source");
+        assert source.startsWith("if (window.location.origin === ") && source.contains("hrm.example.com")
+                && source.contains("x.y.z")
+                : "Storage script not guarded by origin or missing storage: " + source;
+        assert parameters.get(3).equals(Map.of("identifier", "7")) : "Wrong script removed: " + parameters.get(3);
+    }
+
+    /**
+     * In-memory browser: one page, its cookies and web storage.
+     */
+    private static final class StubBrowser {
+        private String url = "about:blank";
+        private final List<String> visited = new ArrayList<>();
+        private final Set<Cookie> cookies = new LinkedHashSet<>();
+        private final Map<String, String> local = new LinkedHashMap<>();
+        private final Map<String, String> session = new LinkedHashMap<>();
+
+        private WebDriver driver() {
+            WebDriver.Options options = Stubs.stub(WebDriver.Options.class, "StubOptions", Map.of(
+                    "getCookies", args -> new LinkedHashSet<>(cookies),
+                    "addCookie", args -> {
+                        cookies.add((Cookie) args[0]);
+                        return null;
+                    },
+                    "deleteAllCookies", args -> {
+                        cookies.clear();
+                        return null;
+                    }));
+            return Stubs.stub(WebDriver.class, "StubBrowserDriver", Map.of(
+                    "get", args -> {
+                        url = (String) args[0];
+                        visited.add(url);
+                        return null;
+                    },
+                    "getCurrentUrl", args -> url,
+                    "manage", args -> options,
+                    "executeScript", args -> executeScript((String) args[0], (Object[]) args[1])),
+                    JavascriptExecutor.class);
+        }
+
+        /**
+         * Understands StorageState's capture script (no arguments) and restore
+         * script (one state argument).
+         */
+        @SuppressWarnings("unchecked")
+        private Object executeScript(String script, Object[] args) {
+            if (args == null || args.length == 0) {
+                return Map.of("local", new LinkedHashMap<>(local), "session", new LinkedHashMap<>(session));
+            }
+            Map<String, Map<String, String>> state = (Map<String, Map<String, String>>) args[0];
+            local.clear();
+            local.putAll(state.get("local"));
+            session.clear();
+            session.putAll(state.get("session"));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.allied.tests.unit;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.allied.framework.core.WaitEngine;
+
+/**
+ * Test doubles shared by the unit tests: proxy stubs of Selenium interfaces
+ * and a fake clock for {@link WaitEngine}.
+ *
+ * <p>
+ * <b>Usage Example:</b>
+ * </p>
+ *
+ * <pre>{@code
+ * WebDriver driver = Stubs.stub(WebDriver.class, "StubDriver", Map.of(
+ *         "getCurrentUrl", args -> "https://hrm.example.com/"));
+ * FakeTime time = new FakeTime();
+ * WaitEngine engine = time.install(WaitEngine.builder(driver)).build();
+ * }</pre>
+ */
+final class Stubs {
+
+    /**
+     * Answers one method of a stub.
+     */
+    @FunctionalInterface
+    interface Answer {
+        /**
+         * @param args The call's arguments, or null for a method without any
+         * @return The method's result
+         */
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    /**
+     * Creates a proxy that answers the given methods by name. hashCode and
+     * equals use identity, toString returns the name, and every other method
+     * throws {@link UnsupportedOperationException}, so a stub can be used as a
+     * map key (e.g. by {@link WaitEngine#forDriver}) and fails loudly on calls a
+     * test did not expect.
+     *
+     * @param type    The main interface, e.g. WebDriver
+     * @param name    The stub's toString
+     * @param answers Answers keyed by method name
+     * @param more    Further interfaces, e.g. JavascriptExecutor
+     * @return The stub
+     */
+    static <T> T stub(Class<T> type, String name, Map<String, Answer> answers, Class<?>... more) {
+        Class<?>[] interfaces = new Class<?>[more.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(more, 0, interfaces, 1, more.length);
+        return type.cast(Proxy.newProxyInstance(Stubs.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+            Answer answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.answer(args);
+            }
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return name;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+    }
+
+    /**
+     * Clock that advances only by the engine's sleeps, which it records in ms.
+     */
+    static final class FakeTime extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        final List<Long> sleeps = new ArrayList<>();
+
+        /**
+         * Makes an engine use this clock and sleep on it.
+         *
+         * @param builder The engine builder
+         * @return The builder
+         */
+        WaitEngine.Builder install(WaitEngine.Builder builder) {
+            return builder.clock(this).sleeper(this::sleep);
+        }
+
+        void sleep(Duration duration) {
+            sleeps.add(duration.toMillis());
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+
+    // Private constructor to prevent instantiation
+    private Stubs() {
+        throw new AssertionError("Stubs should not be instantiated");
+    }
+}
@@ -0,0 +1,196 @@
+package com.allied.tests.unit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.WaitEngine;
+import com.allied.tests.unit.Stubs.FakeTime;
+
+/**
+ * Tests for {@link WaitEngine} with a fake clock that only advances when the
+ * engine sleeps, so polling schedules are checked exactly and instantly.
+ *
+ * <p>
+ * No browser is needed; conditions do not touch the driver, and the observe
+ * mode tests use a stub page whose element appears after a number of lookups.
+ * </p>
+ *
+ * @see WaitEngine
+ */
+public class WaitEngineTest {
+
+    private static final WebDriver DRIVER = Stubs.stub(WebDriver.class, "StubDriver", Map.of());
+
+    @Test(groups = { "unit" })
+    public void testPollingBacksOffExponentiallyToTheCap() {
+        FakeTime time = new FakeTime();
+        AtomicInteger checks = new AtomicInteger();
+
+        String result = engine(time).until(driver -> checks.incrementAndGet() == 7 ? "ready" : null,
+                Duration.ofSeconds(10));
+
+        assert "ready".equals(result) : "Unexpected result " + result;
+        assert time.sleeps.equals(List.of(20L, 40L, 80L, 160L, 250L, 250L)) : "Unexpected sleeps " + time.sleeps;
+    }
+
+    @Test(groups = { "unit" })
+    public void testConditionMetAtOnceDoesNotSleep() {
+        FakeTime time = new FakeTime();
+
+        Boolean result = engine(time).until(driver -> Boolean.TRUE, Duration.ofSeconds(1));
+
+        assert result : "Condition result lost";
+        assert time.sleeps.isEmpty() : "Slept although the condition was met: " + time.sleeps;
+    }
+
+    @Test(groups = { "unit" })
+    public void testTimeoutKeepsLastIgnoredExceptionAndStopsOnTime() {
+        FakeTime time = new FakeTime();
+        try {
+            engine(time).until(driver -> {
+                throw new NoSuchElementException("not there");
+            }, Duration.ofMillis(1000));
+            throw new AssertionError("Expected a TimeoutException");
+        } catch (TimeoutException e) {
+            assert e.getCause() instanceof NoSuchElementException : "Unexpected cause " + e.getCause();
+        }
+        long slept = time.sleeps.stream().mapToLong(Long::longValue).sum();
+        assert slept == 1000 : "Waited " + slept + " ms instead of the 1000 ms timeout";
+    }
+
+    @Test(groups = { "unit" }, expectedExceptions = ElementNotInteractableException.class)
+    public void testOtherExceptionsAreThrownAtOnce() {
+        engine(new FakeTime()).until(driver -> {
+            throw new ElementNotInteractableException("hidden");
+        }, Duration.ofSeconds(10));
+    }
+
+    @Test(groups = { "unit" })
+    public void testAdditionalIgnoredExceptions() {
+        FakeTime time = new FakeTime();
+        AtomicInteger checks = new AtomicInteger();
+        WaitEngine engine = engine(time).toBuilder().ignoring(ElementNotInteractableException.class).build();
+
+        Integer result = engine.until(driver -> {
+            if (checks.incrementAndGet() < 3) {
+                throw new ElementNotInteractableException("hidden");
+            }
+            return checks.get();
+        }, Duration.ofSeconds(10));
+
+        assert result == 3 : "Unexpected result " + result;
+    }
+
+    @Test(groups = { "unit" })
+    public void testForDriverIsCachedUntilReleased() {
+        WaitEngine first = WaitEngine.forDriver(DRIVER);
+        assert WaitEngine.forDriver(DRIVER) == first : "Engine was not cached per driver";
+
+        WaitEngine custom = first.toBuilder().initialPolling(Duration.ofMillis(5)).build();
+        WaitEngine.install(custom);
+        assert WaitEngine.forDriver(DRIVER) == custom : "Installed engine was not used";
+
+        WaitEngine.release(DRIVER);
+        assert WaitEngine.forDriver(DRIVER) != custom : "Released engine is still cached";
+        WaitEngine.release(DRIVER);
+    }
+
+    @Test(groups = { "unit" })
+    public void testObserveModeWaitsInTheBrowserInsteadOfPolling() {
+        FakeTime time = new FakeTime();
+        StubPage page = new StubPage(3);
+        WaitEngine engine = engine(time, page.driver()).toBuilder().observeDom(true).build();
+
+        WebElement element = engine.untilElement(By.id("save"), WaitEngine.ElementState.VISIBLE,
+                Duration.ofSeconds(5));
+
+        assert element == page.element : "Unexpected element " + element;
+        assert page.scripts.equals(List.of("id=save")) : "Unexpected observe scripts " + page.scripts;
+        assert time.sleeps.isEmpty() : "Polled although the DOM was observed: " + time.sleeps;
+    }
+
+    @Test(groups = { "unit" })
+    public void testObserveModePollsXPathLocators() {
+        FakeTime time = new FakeTime();
+        StubPage page = new StubPage(3);
+        WaitEngine engine = engine(time, page.driver()).toBuilder().observeDom(true).build();
+
+        engine.untilElement(By.xpath("//button"), WaitEngine.ElementState.PRESENT, Duration.ofSeconds(5));
+
+        assert page.scripts.isEmpty() : "XPath locator was observed: " + page.scripts;
+        assert time.sleeps.equals(List.of(20L, 40L)) : "Unexpected sleeps " + time.sleeps;
+    }
+
+    @Test(groups = { "unit" })
+    public void testObserveModeFallsBackToPollingWhenTheScriptFails() {
+        FakeTime time = new FakeTime();
+        StubPage page = new StubPage(3);
+        page.scriptFails = true;
+        WaitEngine engine = engine(time, page.driver()).toBuilder().observeDom(true).build();
+
+        WebElement element = engine.untilElement(By.cssSelector("button.save"), WaitEngine.ElementState.PRESENT,
+                Duration.ofSeconds(5));
+
+        assert element == page.element : "Unexpected element " + element;
+        assert page.scripts.equals(List.of("css selector=button.save")) : "Unexpected observe scripts " + page.scripts;
+        assert time.sleeps.equals(List.of(20L, 40L)) : "Unexpected sleeps " + time.sleeps;
+    }
+
+    private static WaitEngine engine(FakeTime time) {
+        return engine(time, DRIVER);
+    }
+
+    private static WaitEngine engine(FakeTime time, WebDriver driver) {
+        return time.install(WaitEngine.builder(driver)).build();
+    }
+
+    /**
+     * Page with one displayed element that findElement only returns from the
+     * given lookup on; the observe script resolves with the element at once.
+     */
+    private static final class StubPage {
+        private final int foundFrom;
+        private int lookups;
+        private boolean scriptFails;
+        private final List<String> scripts = new ArrayList<>();
+        private final WebElement element = Stubs.stub(WebElement.class, "StubElement", Map.of(
+                "isDisplayed", args -> true,
+                "isEnabled", args -> true));
+
+        private StubPage(int foundFrom) {
+            this.foundFrom = foundFrom;
+        }
+
+        private WebDriver driver() {
+            return Stubs.stub(WebDriver.class, "StubPageDriver", Map.of(
+                    "findElement", args -> {
+                        if (++lookups < foundFrom) {
+                            throw new NoSuchElementException("not yet");
+                        }
+                        return element;
+                    },
+                    "executeAsyncScript", args -> {
+                        Object[] scriptArgs = (Object[]) args[1];
+                        scripts.add(scriptArgs[0] + "=" + scriptArgs[1]);
+                        if (scriptFails) {
+                            throw new JavascriptException("document unloaded while waiting for result");
+                        }
+                        lookups = foundFrom;
+                        return element;
+                    }), JavascriptExecutor.class);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.allied.tests.unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.Test;
+
+import com.allied.framework.core.WaitEngine;
+import com.allied.framework.utils.ElementBatch;
+import com.allied.framework.utils.ElementExpectation;
+import com.allied.framework.utils.SeleniumUtils;
+import com.allied.tests.unit.Stubs.FakeTime;
+
+/**
+ * Tests for {@link SeleniumUtils#waitForAll(WebDriver, List, int)} against a
+ * stub page that answers the batch script with scripted results per poll.
+ *
+ * <p>
+ * The driver's {@link WaitEngine} is replaced by one whose sleeps only advance
+ * a fake clock, so no browser or real waiting is needed.
+ * </p>
+ */
+public class WaitForAllTest {
+
+    private static final ElementExpectation TABLE = ElementExpectation.visible(By.id("table"));
+    private static final ElementExpectation STATUS = ElementExpectation.text(By.cssSelector("td.status"))
+            .describedAs("Status cell");
+    private static final ElementExpectation NOTICE = ElementExpectation.text(By.xpath("//p[@class='notice']"))
+            .optional();
+
+    @Test(groups = { "unit" })
+    public void testRenderedPageIsVerifiedInOneScriptCall() {
+        WebElement table = element("table");
+        WebElement status = element("status");
+        StubPage page = new StubPage(Arrays.asList(List.of(table, "ignored"), List.of(status, "Intake Review"), null));
+
+        ElementBatch batch = SeleniumUtils.waitForAll(page.driver, List.of(TABLE, STATUS, NOTICE), 10);
+
+        assert page.calls == 1 : "Expected one script call, got " + page.calls;
+        assert batch.getElement(TABLE) == table && batch.getElement(STATUS) == status : "Elements lost";
+        assert batch.getText(STATUS).equals("Intake Review") : "Unexpected text " + batch.getText(STATUS);
+        assert !batch.isFound(NOTICE) && batch.getText(NOTICE).isEmpty() : "Missing optional element was found";
+        assert page.specs.equals(List.of(List.of("id", "table", "visible"),
+                List.of("css selector", "td.status", "text"), List.of("xpath", "//p[@class='notice']", "text")))
+                : "Unexpected specs " + page.specs;
+    }
+
+    @Test(groups = { "unit" })
+    public void testPollsUntilRequiredExpectationsAreMet() {
+        StubPage page = new StubPage(Arrays.asList(List.of(element("table"), "x"), null, null));
+        page.readyFromCall = 3;
+
+        ElementBatch batch = SeleniumUtils.waitForAll(page.driver, List.of(TABLE, STATUS, NOTICE), 10);
+
+        assert page.calls == 3 : "Expected three script calls, got " + page.calls;
+        assert batch.getText(STATUS).equals("ready") : "Unexpected text " + batch.getText(STATUS);
+    }
+
+    @Test(groups = { "unit" })
+    public void testTimeoutNamesUnmetExpectations() {
+        StubPage page = new StubPage(Arrays.asList(List.of(element("table"), "x"), null, null));
+        page.readyFromCall = Integer.MAX_VALUE;
+        try {
+            SeleniumUtils.waitForAll(page.driver, List.of(TABLE, STATUS, NOTICE), 1);
+            throw new AssertionError("Expected a TimeoutException");
+        } catch (TimeoutException e) {
+            assert e.getMessage().contains("Status cell (text)") : "Unmet expectation not named: " + e.getMessage();
+            assert !e.getMessage().contains("By.id: table") : "Met expectation named: " + e.getMessage();
+        }
+    }
+
+    private static WebElement element(String name) {
+        return Stubs.stub(WebElement.class, name, Map.of());
+    }
+
+    /**
+     * Page that returns fixed script results; the status cell (index 1) is
+     * missing until call {@code readyFromCall}.
+     */
+    private static final class StubPage {
+        private final List<Object> results;
+        private final WebDriver driver;
+        private final WebElement statusCell = element("status");
+        private int readyFromCall = 1;
+        private int calls;
+        private List<?> specs;
+
+        private StubPage(List<Object> results) {
+            this.results = results;
+            this.driver = Stubs.stub(WebDriver.class, "StubPageDriver", Map.of(
+                    "executeScript", args -> {
+                        specs = (List<?>) ((Object[]) args[1])[0];
+                        return script();
+                    }), JavascriptExecutor.class);
+            WaitEngine.install(new FakeTime().install(WaitEngine.builder(driver)).build());
+        }
+
+        private List<Object> script() {
+            calls++;
+            List<Object> answer = new ArrayList<>(results);
+            if (answer.get(1) == null && calls >= readyFromCall) {
+                answer.set(1, List.of(statusCell, "ready"));
+            }
+            return answer;
+        }
+    }
+}